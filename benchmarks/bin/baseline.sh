@@ -0,0 +1,19 @@
+#!/bin/bash
+#
+# Records a new baseline. Run this on the reference machine, with nothing else running, and commit the result together
+# with the change which justified it.
+
+set -e
+cd "$(dirname "$0")/.."
+
+mvn -q clean package
+java -jar target/benchmarks.jar -prof gc -rf json -rff baseline/baseline.json "$@"
+
+# Remember where the numbers came from
+{
+    echo "commit: $(git rev-parse --short HEAD)"
+    echo "date: $(date -u +%Y-%m-%dT%H:%M:%SZ)"
+    echo "java: $(java -version 2>&1 | head -n 1)"
+    echo "os: $(uname -srm)"
+    echo "cpu: $(grep -m 1 'model name' /proc/cpuinfo 2>/dev/null | cut -d: -f2 | xargs)"
+} > baseline/environment.txt
@@ -0,0 +1,43 @@
+#!/bin/bash
+#
+# Runs the benchmarks and compares them with the checked-in baseline. Any benchmark whose score or normalized
+# allocation rate is more than THRESHOLD percent worse than the baseline is reported, and the script exits with a
+# non-zero status. Requires jq.
+
+set -e
+cd "$(dirname "$0")/.."
+
+THRESHOLD=${THRESHOLD:-10}
+
+if [[ ! -f baseline/baseline.json ]]; then
+    echo "No baseline has been recorded. Run bin/baseline.sh first."
+    exit 1
+fi
+
+mkdir -p results
+mvn -q clean package
+java -jar target/benchmarks.jar -prof gc -rf json -rff results/current.json "$@"
+
+# Flatten each result into: name, mode, score, bytes allocated per operation
+flatten='.[] | [
+    (.benchmark + (if .params then "(" + (.params | to_entries | map(.key + "=" + .value) | join(",")) + ")" else "" end)),
+    .mode,
+    .primaryMetric.score,
+    (.secondaryMetrics["gc.alloc.rate.norm"].score // 0)
+] | @tsv'
+
+join -t $'\t' \
+    <(jq -r "$flatten" baseline/baseline.json | sort) \
+    <(jq -r "$flatten" results/current.json | sort) \
+| awk -F '\t' -v threshold="$THRESHOLD" '
+    {
+        # Throughput is better when higher, every other mode is better when lower
+        change = ($6 - $3) / $3 * 100
+        if ($2 == "thrpt") change = -change
+        allocation = $4 > 0 ? ($7 - $4) / $4 * 100 : 0
+        status = (change > threshold || allocation > threshold) ? "REGRESSION" : "ok"
+        if (status == "REGRESSION") failed = 1
+        printf "%-10s %+7.1f%% score %+7.1f%% alloc  %s\n", status, change, allocation, $1
+    }
+    END { exit failed }
+'
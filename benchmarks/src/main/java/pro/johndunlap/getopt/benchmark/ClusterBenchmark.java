@@ -0,0 +1,78 @@
+package pro.johndunlap.getopt.benchmark;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.johndunlap.getopt.GetOpt;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Measures short options which have been combined into clusters, such as {@code -vqdfn}.
+ *
+ * @author John Dunlap
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ClusterBenchmark {
+    private GetOpt getOpt;
+    private String[] separateArgs;
+    private String[] clusteredArgs;
+
+    /**
+     * Creates the same options once as separate arguments and once as clusters.
+     */
+    @Setup
+    public void setup() {
+        getOpt = new GetOpt();
+        separateArgs = new String[]{"-v", "-q", "-d", "-f", "-n", "-t", "8", "input", "output"};
+        clusteredArgs = new String[]{"-vqdfnt8", "input", "output"};
+    }
+
+    @Benchmark
+    public MediumOptions separate() throws ParseException {
+        return getOpt.read(MediumOptions.class, separateArgs);
+    }
+
+    @Benchmark
+    public MediumOptions clustered() throws ParseException {
+        return getOpt.read(MediumOptions.class, clusteredArgs);
+    }
+}
@@ -0,0 +1,109 @@
+package pro.johndunlap.getopt.benchmark;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.johndunlap.getopt.GetOpt;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Measures repeated named options which are collected into lists and arrays.
+ *
+ * @author John Dunlap
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CollectionBenchmark {
+    @Param({"10", "1000"})
+    private int count;
+
+    private GetOpt getOpt;
+    private String[] args;
+
+    /**
+     * Repeats the same option the configured number of times.
+     */
+    @Setup
+    public void setup() {
+        getOpt = new GetOpt();
+        args = new String[count * 2];
+
+        for (int i = 0; i < count; i++) {
+            args[i * 2] = "-i";
+            args[i * 2 + 1] = String.valueOf(i);
+        }
+    }
+
+    @Benchmark
+    public IntegerList list() throws ParseException {
+        return getOpt.read(IntegerList.class, args);
+    }
+
+    @Benchmark
+    public IntArray array() throws ParseException {
+        return getOpt.read(IntArray.class, args);
+    }
+
+    /**
+     * Collects the values into a list of boxed integers.
+     */
+    public static class IntegerList {
+        @Arg(code = 'i', collectionType = Integer.class)
+        private List<Integer> values;
+
+        public IntegerList() {
+        }
+    }
+
+    /**
+     * Collects the values into a primitive array.
+     */
+    public static class IntArray {
+        @Arg(code = 'i', collectionType = int.class)
+        private int[] values;
+
+        public IntArray() {
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package pro.johndunlap.getopt.benchmark;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.johndunlap.getopt.GetOpt;
+import pro.johndunlap.getopt.TypeConverter;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Measures custom {@link TypeConverter} dispatch, both for converters declared on the annotation and for converters
+ * registered with {@link GetOpt}.
+ *
+ * @author John Dunlap
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+    private GetOpt getOpt;
+    private GetOpt registeredGetOpt;
+    private String[] args;
+
+    /**
+     * Creates one instance with a registered converter and one without.
+     */
+    @Setup
+    public void setup() {
+        getOpt = new GetOpt();
+        registeredGetOpt = new GetOpt().register(Point.class, new PointConverter());
+        args = new String[]{"--origin", "1,2", "--target", "3,4"};
+    }
+
+    @Benchmark
+    public AnnotatedPoints annotated() throws ParseException {
+        return getOpt.read(AnnotatedPoints.class, args);
+    }
+
+    @Benchmark
+    public RegisteredPoints registered() throws ParseException {
+        return registeredGetOpt.read(RegisteredPoints.class, args);
+    }
+
+    /**
+     * A simple value type which requires a converter.
+     */
+    public static class Point {
+        private final int x;
+        private final int y;
+
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * Converts strings such as {@code 1,2} into points.
+     */
+    public static class PointConverter implements TypeConverter<Point> {
+        public PointConverter() {
+        }
+
+        @Override
+        public Class<Point> getType() {
+            return Point.class;
+        }
+
+        @Override
+        public Point read(String value) {
+            int comma = value.indexOf(',');
+            return new Point(Integer.parseInt(value.substring(0, comma)), Integer.parseInt(value.substring(comma + 1)));
+        }
+
+        @Override
+        public String write(Point value) {
+            return value.x + "," + value.y;
+        }
+    }
+
+    /**
+     * Declares the converter on the annotation.
+     */
+    public static class AnnotatedPoints {
+        @Arg(converter = PointConverter.class)
+        private Point origin;
+
+        @Arg(converter = PointConverter.class)
+        private Point target;
+
+        public AnnotatedPoints() {
+        }
+    }
+
+    /**
+     * Relies on the converter which has been registered with {@link GetOpt}.
+     */
+    public static class RegisteredPoints {
+        @Arg
+        private Point origin;
+
+        @Arg
+        private Point target;
+
+        public RegisteredPoints() {
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package pro.johndunlap.getopt.benchmark;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.math.BigDecimal;
+import java.util.List;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.annotation.Help;
+
+/**
+ * A command with a couple of dozen options of mixed types, including collections and descriptions for help output.
+ *
+ * @author John Dunlap
+ */
+@Help(
+        openingText = "Usage: simulate [options] input output",
+        closingText = "See the manual for more information."
+)
+public class MediumOptions {
+    @Arg(code = 'v', description = "Print progress information")
+    private boolean verbose;
+
+    @Arg(code = 'q', description = "Suppress all output")
+    private boolean quiet;
+
+    @Arg(code = 'd', description = "Print debugging information")
+    private boolean debug;
+
+    @Arg(code = 'f', description = "Overwrite existing output")
+    private boolean force;
+
+    @Arg(code = 'n', description = "Do not write any output")
+    private boolean dryRun;
+
+    @Arg(code = 't', description = "The number of worker threads")
+    private int threads;
+
+    @Arg(code = 's', description = "The random seed")
+    private long seed;
+
+    @Arg(description = "The number of iterations")
+    private int iterations;
+
+    @Arg(description = "The time step in seconds")
+    private double timeStep;
+
+    @Arg(description = "The damping coefficient")
+    private double damping;
+
+    @Arg(description = "The tolerance which ends the simulation")
+    private BigDecimal tolerance;
+
+    @Arg(description = "The gravitational constant")
+    private float gravity;
+
+    @Arg(description = "The maximum number of bodies")
+    private short maxBodies;
+
+    @Arg(description = "The compression level of the output")
+    private byte compression;
+
+    @Arg(description = "The separator used in the output")
+    private char separator;
+
+    @Arg(code = 'c', description = "The configuration file")
+    private String config;
+
+    @Arg(description = "The name of the run")
+    private String name;
+
+    @Arg(description = "The directory for temporary files")
+    private String tempDir;
+
+    @Arg(description = "The log file")
+    private String logFile;
+
+    @Arg(code = 'D', description = "A property definition", collectionType = String.class)
+    private List<String> properties;
+
+    @Arg(code = 'x', description = "A body to exclude", collectionType = Integer.class)
+    private List<Integer> excludes;
+
+    @GetOptOrdered(order = 0, description = "The input file")
+    private String input;
+
+    @GetOptOrdered(order = 1, description = "The output file")
+    private String output;
+
+    public MediumOptions() {
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+}
@@ -0,0 +1,116 @@
+package pro.johndunlap.getopt.benchmark;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.johndunlap.getopt.GetOpt;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Measures long lists of positional arguments, such as the file names produced by a shell glob, bound to a trailing
+ * array or list.
+ *
+ * @author John Dunlap
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PositionalBenchmark {
+    @Param({"100", "10000", "100000"})
+    private int count;
+
+    private GetOpt getOpt;
+    private String[] args;
+
+    /**
+     * Creates the file names once so that only binding is measured.
+     */
+    @Setup
+    public void setup() {
+        getOpt = new GetOpt();
+        args = new String[count + 1];
+        args[0] = "copy";
+
+        for (int i = 1; i < args.length; i++) {
+            args[i] = "file" + i + ".txt";
+        }
+    }
+
+    @Benchmark
+    public ArrayFiles array() throws ParseException {
+        return getOpt.read(ArrayFiles.class, args);
+    }
+
+    @Benchmark
+    public ListFiles list() throws ParseException {
+        return getOpt.read(ListFiles.class, args);
+    }
+
+    /**
+     * Binds the file names to an array.
+     */
+    public static class ArrayFiles {
+        @GetOptOrdered(order = 0)
+        private String command;
+
+        @GetOptOrdered(order = 1, collectionType = String.class)
+        private String[] files;
+
+        public ArrayFiles() {
+        }
+    }
+
+    /**
+     * Binds the file names to a list.
+     */
+    public static class ListFiles {
+        @GetOptOrdered(order = 0)
+        private String command;
+
+        @GetOptOrdered(order = 1, collectionType = String.class)
+        private List<String> files;
+
+        public ListFiles() {
+        }
+    }
+}
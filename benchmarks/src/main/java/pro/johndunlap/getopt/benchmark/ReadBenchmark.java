@@ -0,0 +1,105 @@
+package pro.johndunlap.getopt.benchmark;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.johndunlap.getopt.GetOpt;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Measures {@link GetOpt#read(Class, String[])} on small, medium and wide option classes.
+ *
+ * @author John Dunlap
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+    private GetOpt getOpt;
+    private String[] smallArgs;
+    private String[] mediumArgs;
+    private String[] wideArgs;
+
+    /**
+     * Creates the arguments once so that only binding is measured.
+     */
+    @Setup
+    public void setup() {
+        getOpt = new GetOpt();
+        smallArgs = new String[]{"-v", "-p", "8080", "-H", "localhost", "start"};
+        mediumArgs = new String[]{
+            "-v", "-f", "-t", "8", "-s", "12345", "--iterations", "1000", "--time-step", "0.01",
+            "--damping", "0.25", "--tolerance", "0.000001", "--gravity", "9.81", "--max-bodies", "500",
+            "--compression", "6", "--separator", ",", "-c", "simulate.conf", "--name", "run-1",
+            "-D", "a=1", "-D", "b=2", "-x", "3", "-x", "4", "input.dat", "output.dat"
+        };
+
+        // Set every fourth option of the wide class
+        String[] values = {"1", "2", "3.5", null, "value"};
+        List<String> args = new ArrayList<>();
+
+        for (int i = 0; i < 200; i += 4) {
+            args.add(String.format("--option%03d", i));
+
+            if (values[i % 5] != null) {
+                args.add(values[i % 5]);
+            }
+        }
+
+        wideArgs = args.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public SmallOptions small() throws ParseException {
+        return getOpt.read(SmallOptions.class, smallArgs);
+    }
+
+    @Benchmark
+    public MediumOptions medium() throws ParseException {
+        return getOpt.read(MediumOptions.class, mediumArgs);
+    }
+
+    @Benchmark
+    public WideOptions wide() throws ParseException {
+        return getOpt.read(WideOptions.class, wideArgs);
+    }
+}
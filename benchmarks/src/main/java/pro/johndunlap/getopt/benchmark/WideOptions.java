@@ -0,0 +1,644 @@
+package pro.johndunlap.getopt.benchmark;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import pro.johndunlap.getopt.annotation.Arg;
+
+/**
+ * A very wide command with 200 options, cycling through int, long, double, boolean and String fields. Generated rather
+ * than written by hand.
+ *
+ * @author John Dunlap
+ */
+public class WideOptions {
+    @Arg(description = "Option 0")
+    private int option000;
+
+    @Arg(description = "Option 1")
+    private long option001;
+
+    @Arg(description = "Option 2")
+    private double option002;
+
+    @Arg(description = "Option 3")
+    private boolean option003;
+
+    @Arg(description = "Option 4")
+    private String option004;
+
+    @Arg(description = "Option 5")
+    private int option005;
+
+    @Arg(description = "Option 6")
+    private long option006;
+
+    @Arg(description = "Option 7")
+    private double option007;
+
+    @Arg(description = "Option 8")
+    private boolean option008;
+
+    @Arg(description = "Option 9")
+    private String option009;
+
+    @Arg(description = "Option 10")
+    private int option010;
+
+    @Arg(description = "Option 11")
+    private long option011;
+
+    @Arg(description = "Option 12")
+    private double option012;
+
+    @Arg(description = "Option 13")
+    private boolean option013;
+
+    @Arg(description = "Option 14")
+    private String option014;
+
+    @Arg(description = "Option 15")
+    private int option015;
+
+    @Arg(description = "Option 16")
+    private long option016;
+
+    @Arg(description = "Option 17")
+    private double option017;
+
+    @Arg(description = "Option 18")
+    private boolean option018;
+
+    @Arg(description = "Option 19")
+    private String option019;
+
+    @Arg(description = "Option 20")
+    private int option020;
+
+    @Arg(description = "Option 21")
+    private long option021;
+
+    @Arg(description = "Option 22")
+    private double option022;
+
+    @Arg(description = "Option 23")
+    private boolean option023;
+
+    @Arg(description = "Option 24")
+    private String option024;
+
+    @Arg(description = "Option 25")
+    private int option025;
+
+    @Arg(description = "Option 26")
+    private long option026;
+
+    @Arg(description = "Option 27")
+    private double option027;
+
+    @Arg(description = "Option 28")
+    private boolean option028;
+
+    @Arg(description = "Option 29")
+    private String option029;
+
+    @Arg(description = "Option 30")
+    private int option030;
+
+    @Arg(description = "Option 31")
+    private long option031;
+
+    @Arg(description = "Option 32")
+    private double option032;
+
+    @Arg(description = "Option 33")
+    private boolean option033;
+
+    @Arg(description = "Option 34")
+    private String option034;
+
+    @Arg(description = "Option 35")
+    private int option035;
+
+    @Arg(description = "Option 36")
+    private long option036;
+
+    @Arg(description = "Option 37")
+    private double option037;
+
+    @Arg(description = "Option 38")
+    private boolean option038;
+
+    @Arg(description = "Option 39")
+    private String option039;
+
+    @Arg(description = "Option 40")
+    private int option040;
+
+    @Arg(description = "Option 41")
+    private long option041;
+
+    @Arg(description = "Option 42")
+    private double option042;
+
+    @Arg(description = "Option 43")
+    private boolean option043;
+
+    @Arg(description = "Option 44")
+    private String option044;
+
+    @Arg(description = "Option 45")
+    private int option045;
+
+    @Arg(description = "Option 46")
+    private long option046;
+
+    @Arg(description = "Option 47")
+    private double option047;
+
+    @Arg(description = "Option 48")
+    private boolean option048;
+
+    @Arg(description = "Option 49")
+    private String option049;
+
+    @Arg(description = "Option 50")
+    private int option050;
+
+    @Arg(description = "Option 51")
+    private long option051;
+
+    @Arg(description = "Option 52")
+    private double option052;
+
+    @Arg(description = "Option 53")
+    private boolean option053;
+
+    @Arg(description = "Option 54")
+    private String option054;
+
+    @Arg(description = "Option 55")
+    private int option055;
+
+    @Arg(description = "Option 56")
+    private long option056;
+
+    @Arg(description = "Option 57")
+    private double option057;
+
+    @Arg(description = "Option 58")
+    private boolean option058;
+
+    @Arg(description = "Option 59")
+    private String option059;
+
+    @Arg(description = "Option 60")
+    private int option060;
+
+    @Arg(description = "Option 61")
+    private long option061;
+
+    @Arg(description = "Option 62")
+    private double option062;
+
+    @Arg(description = "Option 63")
+    private boolean option063;
+
+    @Arg(description = "Option 64")
+    private String option064;
+
+    @Arg(description = "Option 65")
+    private int option065;
+
+    @Arg(description = "Option 66")
+    private long option066;
+
+    @Arg(description = "Option 67")
+    private double option067;
+
+    @Arg(description = "Option 68")
+    private boolean option068;
+
+    @Arg(description = "Option 69")
+    private String option069;
+
+    @Arg(description = "Option 70")
+    private int option070;
+
+    @Arg(description = "Option 71")
+    private long option071;
+
+    @Arg(description = "Option 72")
+    private double option072;
+
+    @Arg(description = "Option 73")
+    private boolean option073;
+
+    @Arg(description = "Option 74")
+    private String option074;
+
+    @Arg(description = "Option 75")
+    private int option075;
+
+    @Arg(description = "Option 76")
+    private long option076;
+
+    @Arg(description = "Option 77")
+    private double option077;
+
+    @Arg(description = "Option 78")
+    private boolean option078;
+
+    @Arg(description = "Option 79")
+    private String option079;
+
+    @Arg(description = "Option 80")
+    private int option080;
+
+    @Arg(description = "Option 81")
+    private long option081;
+
+    @Arg(description = "Option 82")
+    private double option082;
+
+    @Arg(description = "Option 83")
+    private boolean option083;
+
+    @Arg(description = "Option 84")
+    private String option084;
+
+    @Arg(description = "Option 85")
+    private int option085;
+
+    @Arg(description = "Option 86")
+    private long option086;
+
+    @Arg(description = "Option 87")
+    private double option087;
+
+    @Arg(description = "Option 88")
+    private boolean option088;
+
+    @Arg(description = "Option 89")
+    private String option089;
+
+    @Arg(description = "Option 90")
+    private int option090;
+
+    @Arg(description = "Option 91")
+    private long option091;
+
+    @Arg(description = "Option 92")
+    private double option092;
+
+    @Arg(description = "Option 93")
+    private boolean option093;
+
+    @Arg(description = "Option 94")
+    private String option094;
+
+    @Arg(description = "Option 95")
+    private int option095;
+
+    @Arg(description = "Option 96")
+    private long option096;
+
+    @Arg(description = "Option 97")
+    private double option097;
+
+    @Arg(description = "Option 98")
+    private boolean option098;
+
+    @Arg(description = "Option 99")
+    private String option099;
+
+    @Arg(description = "Option 100")
+    private int option100;
+
+    @Arg(description = "Option 101")
+    private long option101;
+
+    @Arg(description = "Option 102")
+    private double option102;
+
+    @Arg(description = "Option 103")
+    private boolean option103;
+
+    @Arg(description = "Option 104")
+    private String option104;
+
+    @Arg(description = "Option 105")
+    private int option105;
+
+    @Arg(description = "Option 106")
+    private long option106;
+
+    @Arg(description = "Option 107")
+    private double option107;
+
+    @Arg(description = "Option 108")
+    private boolean option108;
+
+    @Arg(description = "Option 109")
+    private String option109;
+
+    @Arg(description = "Option 110")
+    private int option110;
+
+    @Arg(description = "Option 111")
+    private long option111;
+
+    @Arg(description = "Option 112")
+    private double option112;
+
+    @Arg(description = "Option 113")
+    private boolean option113;
+
+    @Arg(description = "Option 114")
+    private String option114;
+
+    @Arg(description = "Option 115")
+    private int option115;
+
+    @Arg(description = "Option 116")
+    private long option116;
+
+    @Arg(description = "Option 117")
+    private double option117;
+
+    @Arg(description = "Option 118")
+    private boolean option118;
+
+    @Arg(description = "Option 119")
+    private String option119;
+
+    @Arg(description = "Option 120")
+    private int option120;
+
+    @Arg(description = "Option 121")
+    private long option121;
+
+    @Arg(description = "Option 122")
+    private double option122;
+
+    @Arg(description = "Option 123")
+    private boolean option123;
+
+    @Arg(description = "Option 124")
+    private String option124;
+
+    @Arg(description = "Option 125")
+    private int option125;
+
+    @Arg(description = "Option 126")
+    private long option126;
+
+    @Arg(description = "Option 127")
+    private double option127;
+
+    @Arg(description = "Option 128")
+    private boolean option128;
+
+    @Arg(description = "Option 129")
+    private String option129;
+
+    @Arg(description = "Option 130")
+    private int option130;
+
+    @Arg(description = "Option 131")
+    private long option131;
+
+    @Arg(description = "Option 132")
+    private double option132;
+
+    @Arg(description = "Option 133")
+    private boolean option133;
+
+    @Arg(description = "Option 134")
+    private String option134;
+
+    @Arg(description = "Option 135")
+    private int option135;
+
+    @Arg(description = "Option 136")
+    private long option136;
+
+    @Arg(description = "Option 137")
+    private double option137;
+
+    @Arg(description = "Option 138")
+    private boolean option138;
+
+    @Arg(description = "Option 139")
+    private String option139;
+
+    @Arg(description = "Option 140")
+    private int option140;
+
+    @Arg(description = "Option 141")
+    private long option141;
+
+    @Arg(description = "Option 142")
+    private double option142;
+
+    @Arg(description = "Option 143")
+    private boolean option143;
+
+    @Arg(description = "Option 144")
+    private String option144;
+
+    @Arg(description = "Option 145")
+    private int option145;
+
+    @Arg(description = "Option 146")
+    private long option146;
+
+    @Arg(description = "Option 147")
+    private double option147;
+
+    @Arg(description = "Option 148")
+    private boolean option148;
+
+    @Arg(description = "Option 149")
+    private String option149;
+
+    @Arg(description = "Option 150")
+    private int option150;
+
+    @Arg(description = "Option 151")
+    private long option151;
+
+    @Arg(description = "Option 152")
+    private double option152;
+
+    @Arg(description = "Option 153")
+    private boolean option153;
+
+    @Arg(description = "Option 154")
+    private String option154;
+
+    @Arg(description = "Option 155")
+    private int option155;
+
+    @Arg(description = "Option 156")
+    private long option156;
+
+    @Arg(description = "Option 157")
+    private double option157;
+
+    @Arg(description = "Option 158")
+    private boolean option158;
+
+    @Arg(description = "Option 159")
+    private String option159;
+
+    @Arg(description = "Option 160")
+    private int option160;
+
+    @Arg(description = "Option 161")
+    private long option161;
+
+    @Arg(description = "Option 162")
+    private double option162;
+
+    @Arg(description = "Option 163")
+    private boolean option163;
+
+    @Arg(description = "Option 164")
+    private String option164;
+
+    @Arg(description = "Option 165")
+    private int option165;
+
+    @Arg(description = "Option 166")
+    private long option166;
+
+    @Arg(description = "Option 167")
+    private double option167;
+
+    @Arg(description = "Option 168")
+    private boolean option168;
+
+    @Arg(description = "Option 169")
+    private String option169;
+
+    @Arg(description = "Option 170")
+    private int option170;
+
+    @Arg(description = "Option 171")
+    private long option171;
+
+    @Arg(description = "Option 172")
+    private double option172;
+
+    @Arg(description = "Option 173")
+    private boolean option173;
+
+    @Arg(description = "Option 174")
+    private String option174;
+
+    @Arg(description = "Option 175")
+    private int option175;
+
+    @Arg(description = "Option 176")
+    private long option176;
+
+    @Arg(description = "Option 177")
+    private double option177;
+
+    @Arg(description = "Option 178")
+    private boolean option178;
+
+    @Arg(description = "Option 179")
+    private String option179;
+
+    @Arg(description = "Option 180")
+    private int option180;
+
+    @Arg(description = "Option 181")
+    private long option181;
+
+    @Arg(description = "Option 182")
+    private double option182;
+
+    @Arg(description = "Option 183")
+    private boolean option183;
+
+    @Arg(description = "Option 184")
+    private String option184;
+
+    @Arg(description = "Option 185")
+    private int option185;
+
+    @Arg(description = "Option 186")
+    private long option186;
+
+    @Arg(description = "Option 187")
+    private double option187;
+
+    @Arg(description = "Option 188")
+    private boolean option188;
+
+    @Arg(description = "Option 189")
+    private String option189;
+
+    @Arg(description = "Option 190")
+    private int option190;
+
+    @Arg(description = "Option 191")
+    private long option191;
+
+    @Arg(description = "Option 192")
+    private double option192;
+
+    @Arg(description = "Option 193")
+    private boolean option193;
+
+    @Arg(description = "Option 194")
+    private String option194;
+
+    @Arg(description = "Option 195")
+    private int option195;
+
+    @Arg(description = "Option 196")
+    private long option196;
+
+    @Arg(description = "Option 197")
+    private double option197;
+
+    @Arg(description = "Option 198")
+    private boolean option198;
+
+    @Arg(description = "Option 199")
+    private String option199;
+
+    public WideOptions() {
+    }
+
+    public int getOption000() {
+        return option000;
+    }
+}
@@ -0,0 +1,209 @@
+package pro.johndunlap.getopt.maven;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import pro.johndunlap.getopt.PlanDescriptor;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Writes a {@link PlanDescriptor} for every options class in the build output into
+ * {@code META-INF/getopt/<class name>.bin}. At runtime, {@code GetOpt} loads the descriptor of a class with a single
+ * resource read and binds the class without scanning its annotations or rendering its help text. Each field's long
+ * name is written as well, so option sources are matched to fields without scanning the annotations either.
+ *
+ * <p>Options classes are recognized by {@link PlanDescriptor#isOptionsClass(Class)}. Descriptors which were written
+ * by an earlier build are deleted first, so that a descriptor never outlives the class it describes.</p>
+ *
+ * @author John Dunlap
+ */
+@Mojo(name = "descriptors", defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+        requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class DescriptorMojo extends AbstractMojo {
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    /**
+     * The directory which holds the compiled classes, and into which the descriptors are written.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File outputDirectory;
+
+    /**
+     * The class path which the compiled classes are loaded with.
+     */
+    @Parameter(defaultValue = "${project.compileClasspathElements}", readonly = true, required = true)
+    private List<String> classpathElements;
+
+    /**
+     * The packages whose classes are described. Every class in the build output is described when this is empty.
+     */
+    @Parameter(property = "getopt.packages")
+    private List<String> packages;
+
+    /**
+     * Skips writing descriptors.
+     */
+    @Parameter(property = "getopt.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping getopt descriptors");
+            return;
+        }
+
+        if (!outputDirectory.isDirectory()) {
+            getLog().info("No classes to describe in " + outputDirectory);
+            return;
+        }
+
+        Path root = outputDirectory.toPath();
+        Path resources = root.resolve(PlanDescriptor.RESOURCE_DIRECTORY);
+        int count = 0;
+
+        try {
+            deleteDescriptors(resources);
+
+            try (URLClassLoader loader = new URLClassLoader(urls(), getClass().getClassLoader())) {
+                for (String className : classNames(root)) {
+                    if (!isIncluded(className)) {
+                        continue;
+                    }
+
+                    Class<?> type = load(className, loader);
+
+                    if (type != null && PlanDescriptor.isOptionsClass(type)) {
+                        write(resources, PlanDescriptor.of(type));
+                        count++;
+                    }
+                }
+            }
+        } catch (ParseException e) {
+            throw new MojoFailureException("Options class cannot be bound: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to write getopt descriptors to " + resources, e);
+        }
+
+        getLog().info("Wrote " + count + " getopt descriptor(s) to " + resources);
+    }
+
+    private static void write(Path resources, PlanDescriptor descriptor) throws IOException {
+        Files.createDirectories(resources);
+        Path file = resources.resolve(descriptor.getClassName() + PlanDescriptor.RESOURCE_SUFFIX);
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            descriptor.write(out);
+        }
+    }
+
+    private static void deleteDescriptors(Path resources) throws IOException {
+        if (!Files.isDirectory(resources)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.list(resources)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                if (file.getFileName().toString().endsWith(PlanDescriptor.RESOURCE_SUFFIX)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads a class without initializing it, or returns null if it cannot be linked against the class path.
+     */
+    private Class<?> load(String className, ClassLoader loader) {
+        try {
+            return Class.forName(className, false, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            getLog().debug("Skipping " + className + ": " + e);
+            return null;
+        }
+    }
+
+    private URL[] urls() throws MojoExecutionException {
+        List<URL> urls = new ArrayList<>();
+
+        try {
+            urls.add(outputDirectory.toURI().toURL());
+
+            for (String element : classpathElements) {
+                urls.add(new File(element).toURI().toURL());
+            }
+        } catch (MalformedURLException e) {
+            throw new MojoExecutionException("Invalid class path element", e);
+        }
+
+        return urls.toArray(new URL[0]);
+    }
+
+    private static List<String> classNames(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files
+                    .map(file -> root.relativize(file).toString().replace('\\', '/'))
+                    .filter(path -> path.endsWith(CLASS_SUFFIX) && !path.startsWith("META-INF/"))
+                    .filter(path -> !path.endsWith("module-info.class") && !path.endsWith("package-info.class"))
+                    .map(path -> path.substring(0, path.length() - CLASS_SUFFIX.length()).replace('/', '.'))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private boolean isIncluded(String className) {
+        if (packages == null || packages.isEmpty()) {
+            return true;
+        }
+
+        for (String name : packages) {
+            if (className.startsWith(name.trim() + ".")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
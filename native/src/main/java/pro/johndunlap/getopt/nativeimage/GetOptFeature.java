@@ -0,0 +1,242 @@
+package pro.johndunlap.getopt.nativeimage;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.nativeimage.hosted.RuntimeClassInitialization;
+import org.graalvm.nativeimage.hosted.RuntimeReflection;
+import pro.johndunlap.getopt.BindingPlan;
+import pro.johndunlap.getopt.DefaultValueParser;
+import pro.johndunlap.getopt.FieldBinding;
+import pro.johndunlap.getopt.PlanDescriptor;
+import pro.johndunlap.getopt.TypeConverter;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * A GraalVM native image feature which finds every options class on the application class path while the image is
+ * being built and compiles its {@link BindingPlan} into the image heap. Options classes are recognized by
+ * {@link PlanDescriptor#isOptionsClass(Class)}.
+ *
+ * <p>The feature is enabled by the {@code native-image.properties} file of this module, so it is enough to put the
+ * module on the class path of {@code native-image}. The classes which are scanned can be limited to a comma separated
+ * list of packages with {@code -Dpro.johndunlap.getopt.packages=com.example.cli}.</p>
+ *
+ * <p>Options classes, their fields, constructors and methods, and the converters which they declare are registered
+ * for reflection, which is what {@code GetOpt.help} and reflective field access need. Classes which have a binder
+ * generated by {@link pro.johndunlap.getopt.processor.BinderProcessor} are bound without any reflection at all.</p>
+ *
+ * @author John Dunlap
+ */
+public final class GetOptFeature implements Feature {
+
+    /**
+     * The system property which limits the packages that are scanned for options classes.
+     */
+    public static final String PACKAGES_PROPERTY = "pro.johndunlap.getopt.packages";
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    @Override
+    public String getDescription() {
+        return "Compiles the binding plans of getopt-databind options classes into the image";
+    }
+
+    @Override
+    public void beforeAnalysis(BeforeAnalysisAccess access) {
+        List<String> packages = packages();
+
+        for (Path entry : access.getApplicationClassPath()) {
+            for (String className : classNames(entry)) {
+                if (!isIncluded(className, packages)) {
+                    continue;
+                }
+
+                Class<?> type = access.findClassByName(className);
+
+                if (type != null && PlanDescriptor.isOptionsClass(type)) {
+                    register(type);
+                }
+            }
+        }
+    }
+
+    /**
+     * Registers an options class for reflection and compiles its binding plan.
+     */
+    private static void register(Class<?> type) {
+        RuntimeReflection.register(type);
+        RuntimeReflection.register(type.getDeclaredConstructors());
+        RuntimeReflection.register(type.getDeclaredMethods());
+        RuntimeReflection.register(type.getDeclaredFields());
+
+        for (Field field : type.getDeclaredFields()) {
+            // Arrays are created reflectively from their component type
+            if (field.getType().isArray()) {
+                RuntimeReflection.register(field.getType());
+            }
+
+            Arg named = field.getAnnotation(Arg.class);
+            GetOptOrdered ordered = field.getAnnotation(GetOptOrdered.class);
+
+            if (named != null) {
+                registerConverter(named.converter());
+            } else if (ordered != null) {
+                registerConverter(ordered.converter());
+            }
+        }
+
+        BindingPlan<?> plan;
+
+        try {
+            plan = BindingPlan.precompile(type);
+        } catch (ParseException e) {
+            String message = "Options class " + type.getName() + " cannot be bound: " + e.getMessage();
+            throw new IllegalStateException(message, e);
+        }
+
+        // Binders and converters are instantiated by the plan, so they become part of the image heap
+        if (plan.getBinder() != null) {
+            RuntimeClassInitialization.initializeAtBuildTime(plan.getBinder().getClass());
+        }
+
+        for (FieldBinding binding : plan.getNamedBindings().values()) {
+            initializeConverter(binding);
+        }
+
+        for (FieldBinding binding : plan.getOrderedBindings()) {
+            initializeConverter(binding);
+        }
+    }
+
+    private static void registerConverter(Class<? extends TypeConverter<?>> converterType) {
+        if (!converterType.equals(DefaultValueParser.class)) {
+            RuntimeReflection.register(converterType);
+            RuntimeReflection.registerForReflectiveInstantiation(converterType);
+        }
+    }
+
+    private static void initializeConverter(FieldBinding binding) {
+        if (binding.getConverter() != null) {
+            RuntimeClassInitialization.initializeAtBuildTime(binding.getConverter().getClass());
+        }
+    }
+
+    /**
+     * Returns the names of the classes in a directory or jar on the class path.
+     */
+    static List<String> classNames(Path entry) {
+        try {
+            if (Files.isDirectory(entry)) {
+                try (Stream<Path> files = Files.walk(entry)) {
+                    return files
+                            .filter(file -> file.getFileName().toString().endsWith(CLASS_SUFFIX))
+                            .map(file -> className(entry.relativize(file).toString().replace('\\', '/')))
+                            .filter(name -> name != null)
+                            .collect(Collectors.toList());
+                }
+            }
+
+            if (Files.isRegularFile(entry)) {
+                List<String> names = new ArrayList<>();
+
+                try (JarFile jar = new JarFile(entry.toFile())) {
+                    Enumeration<JarEntry> entries = jar.entries();
+
+                    while (entries.hasMoreElements()) {
+                        String name = className(entries.nextElement().getName());
+
+                        if (name != null) {
+                            names.add(name);
+                        }
+                    }
+                }
+
+                return names;
+            }
+
+            return Collections.emptyList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to scan " + entry + " for options classes", e);
+        }
+    }
+
+    /**
+     * Converts the path of a class file into the name of the class, or returns null if the file does not hold a class
+     * which could be an options class.
+     */
+    private static String className(String path) {
+        if (!path.endsWith(CLASS_SUFFIX) || path.startsWith("META-INF/") || path.endsWith("module-info.class")
+                || path.endsWith("package-info.class")) {
+            return null;
+        }
+
+        return path.substring(0, path.length() - CLASS_SUFFIX.length()).replace('/', '.');
+    }
+
+    private static List<String> packages() {
+        String property = System.getProperty(PACKAGES_PROPERTY);
+
+        if (property == null || property.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return Arrays.stream(property.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    static boolean isIncluded(String className, List<String> packages) {
+        if (packages.isEmpty()) {
+            return true;
+        }
+
+        for (String name : packages) {
+            if (className.startsWith(name + ".")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
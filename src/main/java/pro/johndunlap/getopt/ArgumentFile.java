@@ -0,0 +1,162 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import pro.johndunlap.getopt.exception.ArgumentFileException;
+
+/**
+ * Tokenizes an argument file, which is named on the command line as {@code @path}, one argument at a time. The file is
+ * decoded as UTF-8 in small chunks while it is being tokenized, so the arguments it contains are never all held in
+ * memory at once. Small files are read onto the heap, while larger files are memory-mapped so that their contents
+ * stay off the heap as well. Arguments are quoted as described by {@link ShellTokenizer}.
+ *
+ * <p>Argument files are not thread-safe. Each {@link TokenCursor} opens its own.</p>
+ *
+ * @author John Dunlap
+ */
+public final class ArgumentFile extends ShellTokenizer {
+
+    /**
+     * Files which are larger than this number of bytes are memory-mapped instead of being read onto the heap.
+     */
+    public static final int MAPPING_THRESHOLD = 1 << 20;
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Path path;
+    private final ByteBuffer bytes;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer chars;
+    private boolean flushed;
+
+    private ArgumentFile(Path path, ByteBuffer bytes) {
+        this.path = path;
+        this.bytes = bytes;
+        this.chars = CharBuffer.allocate(Math.min(CHUNK_SIZE, Math.max(1, bytes.remaining())));
+        this.chars.flip();
+    }
+
+    /**
+     * Opens an argument file. The channel is closed before this method returns, because neither a heap buffer nor a
+     * mapping depends on it.
+     *
+     * @param path The path of the argument file
+     * @param maxSize The largest number of bytes which the file may contain
+     * @return The opened argument file, positioned before its first argument
+     * @throws ArgumentFileException If the file cannot be read or is larger than the given size
+     */
+    public static ArgumentFile open(Path path, long maxSize) throws ArgumentFileException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size > maxSize || size > Integer.MAX_VALUE) {
+                String message = format("Argument file %s is %d bytes, which exceeds the limit of %d bytes",
+                        path, size, Math.min(maxSize, Integer.MAX_VALUE));
+                throw new ArgumentFileException(path, message);
+            }
+
+            if (size > MAPPING_THRESHOLD) {
+                return new ArgumentFile(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+
+            // Stop early if the file has been truncated since its size was read
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+
+            buffer.flip();
+            return new ArgumentFile(path, buffer);
+        } catch (IOException e) {
+            throw new ArgumentFileException(path, format("Failed to read argument file %s", path), e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    protected ArgumentFileException unterminated(char quote) {
+        return new ArgumentFileException(path, format("Argument file %s ends inside of a %s", path, quoteName(quote)));
+    }
+
+    @Override
+    protected int read() {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+
+        return chars.get();
+    }
+
+    @Override
+    protected int peek() {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+
+        return chars.get(chars.position());
+    }
+
+    /**
+     * Decodes the next chunk of the file. Multi-byte sequences which are split across chunks are left in the byte
+     * buffer by the decoder until the following chunk.
+     */
+    private boolean fill() {
+        if (flushed) {
+            return false;
+        }
+
+        chars.clear();
+        decoder.decode(bytes, chars, true);
+
+        if (!bytes.hasRemaining()) {
+            decoder.flush(chars);
+            flushed = true;
+        }
+
+        chars.flip();
+        return chars.hasRemaining();
+    }
+}
@@ -0,0 +1,97 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.lang.reflect.Array;
+
+/**
+ * Collects the values of an array-typed option while arguments are being parsed. Values are appended to a backing
+ * array of the exact component type, which doubles in size when it is full, and the array assigned to the field is
+ * created once when parsing has finished. Appending N values therefore takes linear time, and primitive arrays such as
+ * {@code int[]} are supported.
+ *
+ * @author John Dunlap
+ */
+public final class ArrayBuilder {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final Class<?> componentType;
+    private Object elements;
+    private int size;
+
+    /**
+     * Creates a builder which starts with the elements of the given array.
+     *
+     * @param componentType The component type of the array which will be built
+     * @param initial The array whose elements should come first, or null
+     */
+    public ArrayBuilder(Class<?> componentType, Object initial) {
+        this.componentType = componentType;
+
+        int initialSize = initial == null ? 0 : Array.getLength(initial);
+        this.elements = Array.newInstance(componentType, Math.max(INITIAL_CAPACITY, initialSize * 2));
+
+        if (initialSize > 0) {
+            System.arraycopy(initial, 0, elements, 0, initialSize);
+            this.size = initialSize;
+        }
+    }
+
+    /**
+     * Appends a value. Boxed values are unboxed when the component type is primitive.
+     *
+     * @param value The value to append
+     * @return This builder
+     */
+    public ArrayBuilder add(Object value) {
+        int capacity = Array.getLength(elements);
+
+        if (size == capacity) {
+            Object grown = Array.newInstance(componentType, capacity * 2);
+            System.arraycopy(elements, 0, grown, 0, size);
+            elements = grown;
+        }
+
+        Array.set(elements, size++, value);
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a new array of the exact component type which contains the values appended so far.
+     *
+     * @return The array
+     */
+    public Object build() {
+        Object array = Array.newInstance(componentType, size);
+        System.arraycopy(elements, 0, array, 0, size);
+        return array;
+    }
+}
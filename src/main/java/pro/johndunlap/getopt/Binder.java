@@ -0,0 +1,62 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * Creates instances of an options class and accesses its fields without reflection. Binders are generated at compile
+ * time by {@link pro.johndunlap.getopt.processor.BinderProcessor}, in the package of the options class, and are
+ * discovered by {@link BindingPlan} through their name. A binder for {@code com.example.Outer.Options} is named
+ * {@code com.example.Outer_Options_GetOptBinder}. When a class has no binder, or a binder cannot access one of its
+ * fields, reflection is used instead.
+ *
+ * @param <T> The type of the options class
+ * @author John Dunlap
+ */
+public interface Binder<T> {
+    /**
+     * The suffix which is appended to the flattened name of the options class to form the name of its binder.
+     */
+    String SUFFIX = "_GetOptBinder";
+
+    Class<T> getType();
+
+    /**
+     * Creates a new instance of the options class by calling its no-arg constructor.
+     *
+     * @return A new instance
+     */
+    T newInstance();
+
+    /**
+     * Returns an accessor for the field with the given name, or null if the field cannot be accessed without
+     * reflection, for example because it is private and has no accessible getter and setter.
+     *
+     * @param fieldName The name of the field
+     * @return An accessor for the field, or null
+     */
+    FieldAccessor accessor(String fieldName);
+}
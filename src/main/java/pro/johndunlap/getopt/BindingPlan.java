@@ -0,0 +1,550 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import pro.johndunlap.getopt.annotation.Ignore;
+import pro.johndunlap.getopt.exception.InaccessibleFieldException;
+import pro.johndunlap.getopt.exception.ParseException;
+import pro.johndunlap.getopt.exception.RethrownException;
+
+/**
+ * An immutable description of how command line arguments are bound to a class. Plans are compiled once per class and
+ * cached, which means that annotations are only read the first time a class is bound. Instances are safe to share
+ * between threads. All per-invocation state lives in {@link ParseContext}.
+ *
+ * @param <T> The type of the class which arguments are bound to
+ * @author John Dunlap
+ */
+public final class BindingPlan<T> {
+
+    /**
+     * Compiled plans keyed by class and then by accessor strategy. A {@link ClassValue} is used so that the cache does
+     * not prevent the classes it describes, or their class loaders, from being unloaded.
+     */
+    private static final ClassValue<Map<AccessorStrategy, BindingPlan<?>>> PLANS = new ClassValue<>() {
+        @Override
+        protected Map<AccessorStrategy, BindingPlan<?>> computeValue(Class<?> type) {
+            Map<AccessorStrategy, BindingPlan<?>> plans = new ConcurrentHashMap<>(2);
+            BindingPlan<?> precompiled = PRECOMPILED.get(type);
+
+            if (precompiled != null) {
+                plans.put(MethodHandleAccessorStrategy.INSTANCE, precompiled);
+            }
+
+            return plans;
+        }
+    };
+
+    /**
+     * Plans which have been compiled ahead of time by {@link #precompile(Class)}, such as while a native image is
+     * being built. They are held strongly, unlike the plans in {@link #PLANS}, so that they survive into the image
+     * heap and are found without compiling anything.
+     */
+    private static final Map<Class<?>, BindingPlan<?>> PRECOMPILED = new ConcurrentHashMap<>();
+
+    private static final Map<String, Class<?>> PRIMITIVES = Map.of(
+            "boolean", boolean.class, "byte", byte.class, "char", char.class, "short", short.class,
+            "int", int.class, "long", long.class, "float", float.class, "double", double.class);
+
+    private final Class<T> classType;
+    private final Constructor<T> constructor;
+    private final Binder<T> binder;
+    private final SlotConstructor<T> slotConstructor;
+    private final Set<String> helpTokens;
+    private final String helpCodes;
+    private final Map<String, FieldBinding> namedBindings;
+    private final Map<String, FieldBinding> longNameBindings;
+    private final OptionTrie optionTrie;
+    private final List<FieldBinding> orderedBindings;
+    private final List<FieldBinding> requiredBindings;
+    private final List<FieldBinding> booleanBindings;
+    private final List<FieldBinding> resettableBindings;
+    private final List<Field> requiredFields;
+    private final FieldBinding[] asciiCodeBindings = new FieldBinding[128];
+    private final Map<Character, FieldBinding> codeBindings = new HashMap<>();
+
+    private BindingPlan(Class<T> classType, AccessorStrategy accessorStrategy) throws ParseException {
+        this(classType, accessorStrategy, PlanDescriptor.load(classType));
+    }
+
+    /**
+     * Links a plan from the given descriptor, or from the class's annotations if the descriptor is null.
+     */
+    BindingPlan(Class<T> classType, AccessorStrategy accessorStrategy, PlanDescriptor descriptor)
+            throws ParseException {
+        this.classType = classType;
+        this.constructor = findConstructor(classType);
+
+        // Generated binders replace reflection, unless reflection has been asked for explicitly
+        this.binder = accessorStrategy == MethodHandleAccessorStrategy.INSTANCE ? findBinder(classType) : null;
+
+        // Records and classes with an @ArgsConstructor collect their values in slots instead of fields
+        this.slotConstructor = SlotConstructor.of(classType);
+
+        // Descriptors which were written at build time spare reading the annotations
+        if (descriptor == null) {
+            descriptor = PlanDescriptor.describe(classType, slotConstructor != null);
+        }
+
+        Map<String, FieldBinding> named = new HashMap<>();
+        Map<String, FieldBinding> longNames = new LinkedHashMap<>();
+        List<FieldBinding> ordered = new ArrayList<>();
+        Map<FieldBinding, Integer> orders = new IdentityHashMap<>();
+        List<FieldBinding> required = new ArrayList<>();
+        List<FieldBinding> booleans = new ArrayList<>();
+        List<FieldBinding> resettable = new ArrayList<>();
+
+        for (PlanDescriptor.FieldDescriptor fieldDescriptor : descriptor.getFields()) {
+            Field field = declaredField(classType, fieldDescriptor.getFieldName());
+            FieldBinding binding;
+
+            if (slotConstructor != null) {
+                binding = bindSlot(field, slotConstructor, fieldDescriptor);
+            } else {
+                binding = bind(field, accessorStrategy, binder, fieldDescriptor);
+            }
+
+            // Consumers receive values rather than holding them, so they are never reset, and neither is state which
+            // is shared by every instance
+            if (slotConstructor == null && !binding.isConsumer() && !Modifier.isFinal(field.getModifiers())
+                    && !Modifier.isStatic(field.getModifiers())) {
+                resettable.add(binding);
+            }
+
+            // Remember required fields
+            if (fieldDescriptor.isRequired()) {
+                required.add(binding);
+            }
+
+            if (fieldDescriptor.isOrdered()) {
+                ordered.add(binding);
+                orders.put(binding, fieldDescriptor.getOrder());
+            } else {
+                // Remember boolean fields so that they can be initialized to false by default
+                if (field.getType().equals(Boolean.class) || field.getType().equals(boolean.class)) {
+                    booleans.add(binding);
+                }
+
+                for (String name : fieldDescriptor.getNames()) {
+                    named.put(name, binding);
+                }
+
+                // A field whose only name is its code has no long name
+                if (fieldDescriptor.getLongName() != null) {
+                    longNames.put(fieldDescriptor.getLongName(), binding);
+                }
+            }
+        }
+
+        // Sort the ordered fields
+        ordered.sort(Comparator.comparingInt(orders::get));
+
+        this.helpTokens = Collections.unmodifiableSet(new HashSet<>(descriptor.getHelpTokens()));
+
+        // Single character names are also indexed by character so that short option clusters can be resolved in
+        // place, without creating a string for each character
+        for (Map.Entry<String, FieldBinding> entry : named.entrySet()) {
+            if (entry.getKey().length() == 1) {
+                char code = entry.getKey().charAt(0);
+
+                if (code < asciiCodeBindings.length) {
+                    asciiCodeBindings[code] = entry.getValue();
+                } else {
+                    codeBindings.put(code, entry.getValue());
+                }
+            }
+        }
+
+        StringBuilder helpCodes = new StringBuilder();
+
+        for (String token : helpTokens) {
+            if (token.length() == 2 && token.charAt(0) == '-' && token.charAt(1) != '-') {
+                helpCodes.append(token.charAt(1));
+            }
+        }
+
+        this.helpCodes = helpCodes.toString();
+        this.namedBindings = Collections.unmodifiableMap(named);
+        this.longNameBindings = Collections.unmodifiableMap(longNames);
+        this.optionTrie = new OptionTrie(named);
+        this.orderedBindings = Collections.unmodifiableList(ordered);
+        this.requiredBindings = Collections.unmodifiableList(required);
+        this.booleanBindings = Collections.unmodifiableList(booleans);
+        this.resettableBindings = Collections.unmodifiableList(resettable);
+        this.requiredFields = required.stream()
+                .map(FieldBinding::getField)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Returns the binding plan for the given class, compiling it if this is the first time that the class has been
+     * bound. Fields are accessed through {@link MethodHandleAccessorStrategy}.
+     *
+     * @param classType The class type for which a plan is needed
+     * @param <T> The type of the class
+     * @return The binding plan for the class
+     * @throws ParseException If the class cannot be bound to, for example because it declares duplicate options
+     */
+    public static <T> BindingPlan<T> of(Class<T> classType) throws ParseException {
+        return of(classType, MethodHandleAccessorStrategy.INSTANCE);
+    }
+
+    /**
+     * Returns the binding plan for the given class and accessor strategy, compiling it if this is the first time that
+     * the class has been bound with the strategy. Two threads may occasionally compile the same plan at the same time,
+     * in which case both receive the plan which was cached first.
+     *
+     * @param classType The class type for which a plan is needed
+     * @param accessorStrategy The strategy used to read and write fields
+     * @param <T> The type of the class
+     * @return The binding plan for the class
+     * @throws ParseException If the class cannot be bound to, for example because it declares duplicate options
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BindingPlan<T> of(Class<T> classType, AccessorStrategy accessorStrategy)
+            throws ParseException {
+        Map<AccessorStrategy, BindingPlan<?>> plans = PLANS.get(classType);
+        BindingPlan<?> plan = plans.get(accessorStrategy);
+
+        if (plan == null) {
+            plan = new BindingPlan<>(classType, accessorStrategy);
+            BindingPlan<?> existing = plans.putIfAbsent(accessorStrategy, plan);
+
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+
+        return (BindingPlan<T>) plan;
+    }
+
+    /**
+     * Compiles the binding plan for the given class and keeps it for as long as this class is loaded, which prevents
+     * the class from being unloaded. This is meant for build tools, such as the GraalVM native image feature in the
+     * getopt-databind-native module, which compile the plans of every options class before the program runs so that
+     * binding never reads annotations or resolves fields at run time.
+     *
+     * @param classType The class type for which a plan is needed
+     * @param <T> The type of the class
+     * @return The binding plan for the class
+     * @throws ParseException If the class cannot be bound to, for example because it declares duplicate options
+     */
+    public static <T> BindingPlan<T> precompile(Class<T> classType) throws ParseException {
+        BindingPlan<T> plan = of(classType);
+        PRECOMPILED.put(classType, plan);
+        return plan;
+    }
+
+    /**
+     * Resolves everything about a field which does not change from one invocation to the next.
+     */
+    private static FieldBinding bind(Field field, AccessorStrategy accessorStrategy, Binder<?> binder,
+                                     PlanDescriptor.FieldDescriptor descriptor) throws ParseException {
+        FieldAccessor accessor = binder == null ? null : binder.accessor(field.getName());
+
+        if (accessor == null) {
+            accessor = resolve(accessorStrategy, field);
+        }
+
+        return bind(field, accessor, descriptor);
+    }
+
+    private static FieldBinding bind(Field field, FieldAccessor accessor, PlanDescriptor.FieldDescriptor descriptor)
+            throws ParseException {
+        ClassLoader classLoader = field.getDeclaringClass().getClassLoader();
+        Class<?> collectionType = typeOf(descriptor.getCollectionType(), classLoader, field);
+        TypeConverter<?> converter = null;
+
+        // Converters are shared by every invocation, which is why TypeConverter requires them to be stateless
+        if (descriptor.getConverter() != null) {
+            converter = ReflectionUtil.instantiate(typeOf(descriptor.getConverter(), classLoader, field));
+        }
+
+        return new FieldBinding(field, accessor, collectionType, converter);
+    }
+
+    /**
+     * Binds a field of an immutable class to the slot of the constructor parameter which receives its value.
+     */
+    private static FieldBinding bindSlot(Field field, SlotConstructor<?> slotConstructor,
+                                         PlanDescriptor.FieldDescriptor descriptor) throws ParseException {
+        int slot = slotConstructor.slotOf(field.getName());
+        Class<?> declaringClass = field.getDeclaringClass();
+
+        if (slot < 0) {
+            throw new ParseException(field, format("Field %s of %s is not a parameter of its constructor."
+                    + " Mark it with @Ignore if it should not be bound", field.getName(), declaringClass.getName()));
+        }
+
+        if (!slotConstructor.getConstructor().getParameterTypes()[slot].equals(field.getType())) {
+            throw new ParseException(field, format("Parameter %d of the constructor of %s does not have the"
+                    + " type of field %s", slot, declaringClass.getName(), field.getName()));
+        }
+
+        return bind(field, SlotConstructor.slotAccessor(slot), descriptor);
+    }
+
+    /**
+     * Loads a type which a descriptor names.
+     */
+    private static Class<?> typeOf(String name, ClassLoader classLoader, Field field) throws ParseException {
+        if (name == null) {
+            return null;
+        }
+
+        Class<?> primitive = PRIMITIVES.get(name);
+
+        if (primitive != null) {
+            return primitive;
+        }
+
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new RethrownException(format("Could not load %s, which is declared by field %s of %s", name,
+                    field.getName(), field.getDeclaringClass().getName()), e);
+        }
+    }
+
+    /**
+     * Returns the field which a descriptor names. A descriptor which names a missing field was written for an older
+     * version of the class.
+     */
+    private static Field declaredField(Class<?> classType, String name) throws ParseException {
+        try {
+            return classType.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            throw new RethrownException(format("Class %s has no field %s. Its descriptor in %s is out of date",
+                    classType.getName(), name, PlanDescriptor.resourceName(classType)), e);
+        }
+    }
+
+    private static FieldAccessor resolve(AccessorStrategy accessorStrategy, Field field) throws ParseException {
+        try {
+            return accessorStrategy.resolve(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            String message = "Could not access field " + field.getName();
+            throw new InaccessibleFieldException(message, e, field.getDeclaringClass());
+        }
+    }
+
+    /**
+     * Returns the generated binder for the given class, or null if the class does not have one.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Binder<T> findBinder(Class<T> classType) {
+        String packageName = classType.getPackageName();
+        String flattenedName = classType.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                .replace('$', '_');
+        String binderName = (packageName.isEmpty() ? "" : packageName + ".") + flattenedName + Binder.SUFFIX;
+
+        try {
+            Class<?> binderType = Class.forName(binderName, true, classType.getClassLoader());
+
+            if (!Binder.class.isAssignableFrom(binderType)) {
+                return null;
+            }
+
+            Binder<T> binder = (Binder<T>) binderType.getConstructor().newInstance();
+            return binder.getType() == classType ? binder : null;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static <T> Constructor<T> findConstructor(Class<T> classType) {
+        try {
+            return classType.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    public Class<T> getClassType() {
+        return classType;
+    }
+
+    /**
+     * Returns the no-arg constructor of the class, or null if it does not declare one.
+     *
+     * @return The no-arg constructor of the class
+     */
+    public Constructor<T> getConstructor() {
+        return constructor;
+    }
+
+    /**
+     * Returns the generated binder which is used to create instances and access fields, or null if the class does not
+     * have one.
+     *
+     * @return The generated binder of the class
+     */
+    public Binder<T> getBinder() {
+        return binder;
+    }
+
+    /**
+     * Creates a new instance of the class through its generated binder, if it has one, or its no-arg constructor.
+     *
+     * @return A new instance of the class
+     * @throws ReflectiveOperationException If the constructor cannot be invoked
+     * @throws NullPointerException If the class has neither a binder nor a no-arg constructor
+     */
+    public T newInstance() throws ReflectiveOperationException {
+        if (binder != null) {
+            return binder.newInstance();
+        }
+
+        return constructor.newInstance();
+    }
+
+    /**
+     * Returns the constructor which creates instances from slots, or null if the class is bound through its fields.
+     * The accessors of a class with a slot constructor read and write an array of slots instead of an instance.
+     *
+     * @return The slot constructor of the class
+     */
+    public SlotConstructor<T> getSlotConstructor() {
+        return slotConstructor;
+    }
+
+    /**
+     * Returns the trie which resolves option names, and their abbreviations, directly from raw arguments.
+     *
+     * @return The option trie
+     */
+    public OptionTrie getOptionTrie() {
+        return optionTrie;
+    }
+
+    public Set<String> getHelpTokens() {
+        return helpTokens;
+    }
+
+    /**
+     * Returns true if the given single character option code is one of the help tokens.
+     *
+     * @param code The option code, without the leading hyphen
+     * @return True if the code requests the help message
+     */
+    public boolean isHelpCode(char code) {
+        return helpCodes.indexOf(code) >= 0;
+    }
+
+    /**
+     * Returns the binding for the given single character option code, or null if there is no such option.
+     *
+     * @param code The option code, without the leading hyphen
+     * @return The binding for the option code
+     */
+    public FieldBinding getCodeBinding(char code) {
+        if (code < asciiCodeBindings.length) {
+            return asciiCodeBindings[code];
+        }
+
+        return codeBindings.get(code);
+    }
+
+    public Map<String, FieldBinding> getNamedBindings() {
+        return namedBindings;
+    }
+
+    /**
+     * Returns the named bindings keyed by their long name, without leading hyphens, in the order in which their fields
+     * are declared. Unlike {@link #getNamedBindings()}, each binding appears once, and fields which are only named by
+     * a single character code are left out.
+     *
+     * @return The bindings of the named fields which have a long name
+     */
+    public Map<String, FieldBinding> getLongNameBindings() {
+        return longNameBindings;
+    }
+
+    public List<FieldBinding> getOrderedBindings() {
+        return orderedBindings;
+    }
+
+    public List<FieldBinding> getRequiredBindings() {
+        return requiredBindings;
+    }
+
+    public List<FieldBinding> getBooleanBindings() {
+        return booleanBindings;
+    }
+
+    /**
+     * Returns the bindings which {@link #reset(Object)} assigns, which excludes final, static and consumer fields.
+     *
+     * @return The bindings of the fields which are reset
+     */
+    public List<FieldBinding> getResettableBindings() {
+        return resettableBindings;
+    }
+
+    /**
+     * Returns the bound fields of the given instance to the values which they would have after parsing no arguments,
+     * ignoring field initializers: booleans are false, other primitives are zero and everything else is null. This is
+     * how an instance is prepared to be bound again. Final, static and consumer fields are left as they are.
+     *
+     * @param instance The instance whose fields should be reset
+     * @throws InaccessibleFieldException If a field cannot be written
+     */
+    public void reset(T instance) throws ParseException {
+        try {
+            for (FieldBinding binding : resettableBindings) {
+                binding.getAccessor().set(instance, binding.getZeroValue());
+            }
+
+            for (FieldBinding binding : booleanBindings) {
+                binding.getAccessor().setBoolean(instance, false);
+            }
+        } catch (RuntimeException e) {
+            throw new InaccessibleFieldException("Failed to reset an instance of " + classType.getName(), e, classType);
+        }
+    }
+
+    public List<Field> getRequiredFields() {
+        return requiredFields;
+    }
+}
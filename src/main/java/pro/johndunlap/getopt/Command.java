@@ -0,0 +1,75 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * A command line which was dispatched by a {@link CommandRegistry}, which holds the name of the command and the
+ * instance of its options class which the remaining arguments were bound to.
+ *
+ * @param <T> The type of the command's options class
+ * @author John Dunlap
+ */
+public final class Command<T> {
+    private final String name;
+    private final Class<T> optionsClass;
+    private final T options;
+    private final boolean helpRequested;
+
+    Command(String name, Class<T> optionsClass, T options, boolean helpRequested) {
+        this.name = name;
+        this.optionsClass = optionsClass;
+        this.options = options;
+        this.helpRequested = helpRequested;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<T> getOptionsClass() {
+        return optionsClass;
+    }
+
+    public T getOptions() {
+        return options;
+    }
+
+    /**
+     * Returns true if the arguments of the command asked for its help message, in which case required options may
+     * not have been set.
+     *
+     * @return True if the help message was requested
+     */
+    public boolean isHelpRequested() {
+        return helpRequested;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + options;
+    }
+}
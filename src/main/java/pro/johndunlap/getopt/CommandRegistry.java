@@ -0,0 +1,381 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import pro.johndunlap.getopt.exception.ErrorCode;
+import pro.johndunlap.getopt.exception.ParseException;
+import pro.johndunlap.getopt.exception.RethrownException;
+
+/**
+ * Dispatches command lines of the form {@code tool <command> [arguments]} to one options class per command, in the
+ * way that {@code git} dispatches to its subcommands. The first argument names the command, and the remaining
+ * arguments are bound to the command's options class by the {@link GetOpt} which the registry was built with.
+ *
+ * <p>Commands are registered by the name of their options class, by the class itself or by a supplier of the class.
+ * Registering a command neither loads its class nor compiles its {@link BindingPlan}; both happen the first time that
+ * the command is invoked, so starting a tool costs the same however many commands it has. Command names are resolved
+ * through a map which is built once, when the registry is built.</p>
+ *
+ * <p>Registries are immutable and thread-safe. A registry uses the configuration which its {@link GetOpt} has when a
+ * command is invoked.</p>
+ *
+ * @author John Dunlap
+ */
+public final class CommandRegistry {
+    private static final String[] HELP_TOKENS = {"-h", "--help"};
+
+    private final GetOpt getOpt;
+    private final Map<String, Entry> commands;
+    private final List<String> commandNames;
+
+    private CommandRegistry(GetOpt getOpt, Map<String, Entry> commands, List<String> commandNames) {
+        this.getOpt = getOpt;
+        this.commands = commands;
+        this.commandNames = commandNames;
+    }
+
+    private CommandRegistry(Builder builder) {
+        this.getOpt = builder.getOpt;
+        this.commands = Map.copyOf(builder.commands);
+
+        List<String> names = new ArrayList<>(builder.commands.keySet());
+        Collections.sort(names);
+        this.commandNames = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Returns a builder of registries which bind the arguments of their commands with the given instance.
+     *
+     * @param getOpt The instance which binds the arguments of each command
+     * @return A new builder
+     */
+    public static Builder builder(GetOpt getOpt) {
+        return new Builder(getOpt);
+    }
+
+    /**
+     * Returns a registry with the same commands which binds their arguments with the given instance. Options classes
+     * which either registry has loaded are shared with the other.
+     *
+     * @param getOpt The instance which binds the arguments of each command
+     * @return A new registry
+     */
+    public CommandRegistry using(GetOpt getOpt) {
+        return new CommandRegistry(getOpt, commands, commandNames);
+    }
+
+    /**
+     * Returns the names of the registered commands, in alphabetical order.
+     *
+     * @return The names of the commands
+     */
+    public List<String> getCommandNames() {
+        return commandNames;
+    }
+
+    public boolean contains(String name) {
+        return commands.containsKey(name);
+    }
+
+    /**
+     * Returns the options class of the given command, loading it if the command has not been invoked yet.
+     *
+     * @param name The name of the command
+     * @return The options class, or null if there is no such command
+     * @throws ParseException If the options class cannot be loaded
+     */
+    public Class<?> getOptionsClass(String name) throws ParseException {
+        Entry entry = commands.get(name);
+        return entry == null ? null : entry.resolve();
+    }
+
+    /**
+     * Returns true if the options class of the given command has already been loaded.
+     *
+     * @param name The name of the command
+     * @return True if the command's options class has been loaded
+     */
+    public boolean isLoaded(String name) {
+        Entry entry = commands.get(name);
+        return entry != null && entry.type != null;
+    }
+
+    /**
+     * Binds the arguments which follow the command name to a new instance of the command's options class. Token
+     * indices in exceptions count the command name, so they are indices into the given arguments.
+     *
+     * @param args The command name followed by the command's arguments
+     * @return The command, with its bound options
+     * @throws ParseException If no command or an unknown command is named, or the arguments could not be bound
+     */
+    public Command<?> read(String[] args) throws ParseException {
+        return dispatch(new TokenCursor(args));
+    }
+
+    /**
+     * Same as {@link #read(String[])}, except that the command line is split as it is parsed, as by
+     * {@link GetOpt#read(Class, CharSequence)}.
+     *
+     * @param commandLine The command line to split and dispatch, such as {@code commit -m "Fix the build"}
+     * @return The command, with its bound options
+     * @throws ParseException If no command or an unknown command is named, or the command line could not be split or
+     *     bound
+     */
+    public Command<?> read(CharSequence commandLine) throws ParseException {
+        return dispatch(new TokenCursor(ShellTokenizer.of(commandLine)));
+    }
+
+    private Command<?> dispatch(TokenCursor cursor) throws ParseException {
+        if (!cursor.hasNext()) {
+            throw new ParseException("No command was given").withErrorCode(ErrorCode.MISSING_REQUIRED);
+        }
+
+        String name = cursor.pop();
+        Entry entry = commands.get(name);
+
+        if (entry == null) {
+            throw unknownCommand(name);
+        }
+
+        return bind(name, entry.resolve(), cursor);
+    }
+
+    private <T> Command<T> bind(String name, Class<T> optionsClass, TokenCursor cursor) throws ParseException {
+        ParseContext<T> context = getOpt.readContext(getOpt.plan(optionsClass), cursor);
+        return new Command<>(name, optionsClass, context.getInstance(), context.isHelpRequested());
+    }
+
+    /**
+     * Same as {@link GetOpt#run(Class, String[])}, except that the first argument selects the options class. The list
+     * of commands is printed to stdout if no command is named or the first argument is {@code -h} or
+     * {@code --help}, and an unknown command is reported on stderr.
+     *
+     * @param args The command name followed by the command's arguments
+     * @return The command, or null if it was not run because help was shown or the arguments were rejected
+     */
+    public Command<?> run(String[] args) {
+        if (args.length == 0 || Arrays.asList(HELP_TOKENS).contains(args[0])) {
+            getOpt.getOut().println(help());
+            getOpt.getExitMechanism().exit(0);
+            return null;
+        }
+
+        String name = args[0];
+        Entry entry = commands.get(name);
+
+        try {
+            if (entry == null) {
+                throw unknownCommand(name);
+            }
+
+            return run(name, entry.resolve(), Arrays.copyOfRange(args, 1, args.length));
+        } catch (ParseException e) {
+            getOpt.getErr().println(e.getMessage());
+            getOpt.getExitMechanism().exit(e.getExitStatus());
+            return null;
+        }
+    }
+
+    private <T> Command<T> run(String name, Class<T> optionsClass, String[] args) {
+        T options = getOpt.run(optionsClass, args);
+        return options == null ? null : new Command<>(name, optionsClass, options, false);
+    }
+
+    /**
+     * Returns a help message which lists the registered commands. The help message of a command is shown by passing
+     * {@code --help} to it. No options class is loaded to render this message.
+     *
+     * @return The list of commands
+     */
+    public String help() {
+        StringBuilder builder = new StringBuilder("Commands:");
+
+        for (String name : commandNames) {
+            builder.append(System.lineSeparator()).append("  ").append(name);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Returns the help message of the given command.
+     *
+     * @param name The name of the command
+     * @return The help message of the command's options class
+     * @throws ParseException If there is no such command or its options class cannot be loaded
+     */
+    public String help(String name) throws ParseException {
+        Entry entry = commands.get(name);
+
+        if (entry == null) {
+            throw unknownCommand(name);
+        }
+
+        return getOpt.help(entry.resolve());
+    }
+
+    private ParseException unknownCommand(String name) {
+        return new ParseException(format("Unknown command %s. Commands are: %s", name, String.join(", ", commandNames)))
+                .withValue(name)
+                .withTokenIndex(0)
+                .withErrorCode(ErrorCode.UNKNOWN_COMMAND);
+    }
+
+    /**
+     * A registered command, whose options class is loaded the first time that it is needed. Loading a class more than
+     * once is harmless, so concurrent first invocations are not serialized.
+     */
+    private static final class Entry {
+        private final String name;
+        private final Supplier<Class<?>> supplier;
+        private volatile Class<?> type;
+
+        Entry(String name, Supplier<Class<?>> supplier) {
+            this.name = name;
+            this.supplier = supplier;
+        }
+
+        Class<?> resolve() throws ParseException {
+            Class<?> resolved = type;
+
+            if (resolved == null) {
+                try {
+                    resolved = supplier.get();
+                } catch (RuntimeException | LinkageError e) {
+                    throw new RethrownException("Could not load the options class of command " + name, e)
+                            .withErrorCode(ErrorCode.INVALID_DEFINITION);
+                }
+
+                if (resolved == null) {
+                    throw new ParseException("The options class of command " + name + " is null")
+                            .withErrorCode(ErrorCode.INVALID_DEFINITION);
+                }
+
+                type = resolved;
+            }
+
+            return resolved;
+        }
+    }
+
+    /**
+     * Collects the commands of a registry. Builders are not thread-safe, but the registries which they build are.
+     */
+    public static final class Builder {
+        private final GetOpt getOpt;
+        private final Map<String, Entry> commands = new HashMap<>();
+        private ClassLoader classLoader;
+
+        private Builder(GetOpt getOpt) {
+            this.getOpt = getOpt;
+        }
+
+        /**
+         * Registers a command whose options class is loaded by name the first time that the command is invoked.
+         *
+         * @param name The name of the command
+         * @param className The fully qualified name of the command's options class
+         * @return This builder
+         * @throws IllegalArgumentException If a command with the same name has already been registered
+         */
+        public Builder command(String name, String className) {
+            ClassLoader loader = classLoader();
+            return command(name, () -> load(className, loader));
+        }
+
+        /**
+         * Registers a command whose options class has already been loaded.
+         *
+         * @param name The name of the command
+         * @param optionsClass The command's options class
+         * @return This builder
+         * @throws IllegalArgumentException If a command with the same name has already been registered
+         */
+        public Builder command(String name, Class<?> optionsClass) {
+            return command(name, () -> optionsClass);
+        }
+
+        /**
+         * Registers a command whose options class is obtained from the given supplier the first time that the
+         * command is invoked.
+         *
+         * @param name The name of the command
+         * @param supplier Supplies the command's options class
+         * @return This builder
+         * @throws IllegalArgumentException If a command with the same name has already been registered
+         */
+        public Builder command(String name, Supplier<Class<?>> supplier) {
+            if (commands.putIfAbsent(name, new Entry(name, supplier)) != null) {
+                throw new IllegalArgumentException("Command " + name + " is already registered");
+            }
+
+            return this;
+        }
+
+        /**
+         * Sets the class loader which loads options classes that are registered by name. The context class loader of
+         * the thread which registers a command is used by default.
+         *
+         * @param classLoader The class loader
+         * @return This builder
+         */
+        public Builder classLoader(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+            return this;
+        }
+
+        private ClassLoader classLoader() {
+            if (classLoader != null) {
+                return classLoader;
+            }
+
+            ClassLoader context = Thread.currentThread().getContextClassLoader();
+            return context != null ? context : CommandRegistry.class.getClassLoader();
+        }
+
+        public CommandRegistry build() {
+            return new CommandRegistry(this);
+        }
+
+        private static Class<?> load(String className, ClassLoader loader) {
+            try {
+                return Class.forName(className, true, loader);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Class " + className + " was not found", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An {@link OptionSource} which reads prefixed environment variables. The environment of a process does not change,
+ * so the variables are translated into option names once, when the source is created.
+ *
+ * @author John Dunlap
+ */
+final class EnvironmentSource implements OptionSource {
+    private final String prefix;
+    private final Map<String, String> values;
+
+    EnvironmentSource(String prefix, Map<String, String> environment) {
+        this.prefix = prefix;
+
+        Map<String, String> values = new HashMap<>();
+
+        for (Map.Entry<String, String> variable : environment.entrySet()) {
+            String name = variable.getKey();
+
+            if (name.length() > prefix.length() && name.startsWith(prefix)) {
+                values.put(optionName(name.substring(prefix.length())), variable.getValue());
+            }
+        }
+
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    private static String optionName(String variable) {
+        return variable.toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    @Override
+    public String describe(String name) {
+        return "environment variable " + prefix + name.toUpperCase(Locale.ROOT).replace('-', '_');
+    }
+
+    @Override
+    public Map<String, String> values() {
+        return values;
+    }
+
+    @Override
+    public OptionSource withEnvironment(Map<String, String> environment) {
+        return new EnvironmentSource(prefix, environment);
+    }
+}
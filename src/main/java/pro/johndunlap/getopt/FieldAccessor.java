@@ -0,0 +1,135 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * Reads and writes the value of a single field. Accessors are resolved once per field by an {@link AccessorStrategy}
+ * and cached in the {@link BindingPlan} of the declaring class, so implementations must be immutable and safe to
+ * share between threads.
+ *
+ * <p>The primitive setters exist so that primitive values can be stored without being boxed. Their default
+ * implementations box the value and delegate to {@link #set(Object, Object)}.</p>
+ *
+ * @author John Dunlap
+ */
+public interface FieldAccessor {
+    /**
+     * Returns the value of the field in the given instance.
+     *
+     * @param instance The instance from which the value should be taken
+     * @return The value of the field
+     */
+    Object get(Object instance);
+
+    /**
+     * Sets the value of the field in the given instance.
+     *
+     * @param instance The instance to which the value should be set
+     * @param value The value to set
+     */
+    void set(Object instance, Object value);
+
+    /**
+     * Sets an int value without boxing it, if the accessor supports it.
+     *
+     * @param instance The instance to which the value should be set
+     * @param value The value to set
+     */
+    default void setInt(Object instance, int value) {
+        set(instance, value);
+    }
+
+    /**
+     * Sets a long value without boxing it, if the accessor supports it.
+     *
+     * @param instance The instance to which the value should be set
+     * @param value The value to set
+     */
+    default void setLong(Object instance, long value) {
+        set(instance, value);
+    }
+
+    /**
+     * Sets a short value without boxing it, if the accessor supports it.
+     *
+     * @param instance The instance to which the value should be set
+     * @param value The value to set
+     */
+    default void setShort(Object instance, short value) {
+        set(instance, value);
+    }
+
+    /**
+     * Sets a byte value without boxing it, if the accessor supports it.
+     *
+     * @param instance The instance to which the value should be set
+     * @param value The value to set
+     */
+    default void setByte(Object instance, byte value) {
+        set(instance, value);
+    }
+
+    /**
+     * Sets a float value without boxing it, if the accessor supports it.
+     *
+     * @param instance The instance to which the value should be set
+     * @param value The value to set
+     */
+    default void setFloat(Object instance, float value) {
+        set(instance, value);
+    }
+
+    /**
+     * Sets a double value without boxing it, if the accessor supports it.
+     *
+     * @param instance The instance to which the value should be set
+     * @param value The value to set
+     */
+    default void setDouble(Object instance, double value) {
+        set(instance, value);
+    }
+
+    /**
+     * Sets a char value without boxing it, if the accessor supports it.
+     *
+     * @param instance The instance to which the value should be set
+     * @param value The value to set
+     */
+    default void setChar(Object instance, char value) {
+        set(instance, value);
+    }
+
+    /**
+     * Sets a boolean value without boxing it, if the accessor supports it.
+     *
+     * @param instance The instance to which the value should be set
+     * @param value The value to set
+     */
+    default void setBoolean(Object instance, boolean value) {
+        set(instance, value);
+    }
+}
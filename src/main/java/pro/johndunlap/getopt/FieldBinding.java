@@ -0,0 +1,151 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * The compiled form of a single bindable field. Everything which can be worked out ahead of time is resolved when the
+ * {@link BindingPlan} is compiled so that binding a value requires no further lookups.
+ *
+ * @author John Dunlap
+ */
+public final class FieldBinding {
+    private final Field field;
+    private final FieldAccessor accessor;
+    private final TypeConverter<?> converter;
+    private final Class<?> valueType;
+    private final boolean collection;
+    private final boolean consumer;
+    private final ScalarType scalarType;
+    private final Object zeroValue;
+
+    FieldBinding(Field field, FieldAccessor accessor, Class<?> collectionType, TypeConverter<?> converter) {
+        this.field = field;
+        this.accessor = accessor;
+        this.converter = converter;
+        this.consumer = Consumer.class.isAssignableFrom(field.getType());
+        this.collection = Collection.class.isAssignableFrom(field.getType()) || field.getType().isArray() || consumer;
+        this.valueType = collection ? elementType(field, collectionType) : field.getType();
+        this.scalarType = ScalarType.of(valueType);
+        this.zeroValue = field.getType().isPrimitive() ? Array.get(Array.newInstance(field.getType(), 1), 0) : null;
+    }
+
+    /**
+     * Arrays declare their element type, so it is used whenever the annotation does not declare a collection type.
+     * Consumers which do not declare a collection type receive the raw strings.
+     */
+    private static Class<?> elementType(Field field, Class<?> collectionType) {
+        boolean undeclared = collectionType == null || collectionType.equals(Object.class);
+
+        if (field.getType().isArray() && undeclared) {
+            return field.getType().getComponentType();
+        }
+
+        if (Consumer.class.isAssignableFrom(field.getType()) && undeclared) {
+            return String.class;
+        }
+
+        return collectionType;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    /**
+     * Returns the converter declared by the field's annotation, or null if the field does not declare one. The
+     * converter is instantiated once, when the binding plan is compiled.
+     *
+     * @return The converter declared for the field
+     */
+    public TypeConverter<?> getConverter() {
+        return converter;
+    }
+
+    /**
+     * Returns the type which each string value is converted into. This is the field type, except for collections and
+     * arrays, where it is the declared collection type. Arrays which do not declare a collection type use their
+     * component type, while other collections which do not declare one through an annotation have no value type.
+     *
+     * @return The type which each string value is converted into
+     */
+    public Class<?> getValueType() {
+        return valueType;
+    }
+
+    /**
+     * Returns the scalar type of the value type, which is {@link ScalarType#OTHER} if values must be converted by a
+     * {@link TypeConverter}.
+     *
+     * @return The scalar type of the value type
+     */
+    public ScalarType getScalarType() {
+        return scalarType;
+    }
+
+    /**
+     * Returns true if the field is a collection, an array or a {@link Consumer}, which means that it accepts more than
+     * one value.
+     *
+     * @return True if the field accepts more than one value
+     */
+    public boolean isCollection() {
+        return collection;
+    }
+
+    /**
+     * Returns the value which the field holds before anything is assigned to it, which is zero or false for primitive
+     * fields and null for all others.
+     *
+     * @return The zero value of the field's type
+     */
+    public Object getZeroValue() {
+        return zeroValue;
+    }
+
+    /**
+     * Returns true if the field is a {@link Consumer}, which is handed each value as soon as it has been converted
+     * instead of storing it.
+     *
+     * @return True if the field is a consumer
+     */
+    public boolean isConsumer() {
+        return consumer;
+    }
+}
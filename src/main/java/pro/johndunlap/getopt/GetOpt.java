@@ -29,56 +29,268 @@ package pro.johndunlap.getopt;
 import static pro.johndunlap.getopt.Parser.NEUTRAL;
 import static pro.johndunlap.getopt.Parser.camelCaseToHyphenCase;
 
+import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.Field;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import pro.johndunlap.getopt.annotation.GetOptOrdered;
-import pro.johndunlap.getopt.annotation.Help;
-import pro.johndunlap.getopt.annotation.Ignore;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import pro.johndunlap.getopt.exception.ErrorCode;
 import pro.johndunlap.getopt.exception.ParseException;
+import pro.johndunlap.getopt.exception.RethrownException;
 
 /**
  * The main entry point for the getopt-databind library.
  *
+ * <p>Instances created by {@link #builder()} are frozen: their configuration cannot change after
+ * {@link Builder#build()} returns, so a single instance may be shared by any number of threads and
+ * {@link #read(Class, String[])} may be called concurrently without any locking. This relies on registered
+ * {@link TypeConverter} implementations being stateless, as that interface requires. Instances created with the
+ * public constructor remain configurable for compatibility. Their configuration is still published safely, and
+ * registering a converter never corrupts a concurrent read, but a read which overlaps a change may observe either the
+ * old or the new configuration.</p>
+ *
  * @author John Dunlap
  */
 public class GetOpt {
 
+    /**
+     * The default largest size of an argument file, which is the largest file that can be memory-mapped.
+     */
+    public static final long DEFAULT_MAX_ARGUMENT_FILE_SIZE = Integer.MAX_VALUE;
+
     /**
      * This allows unit tests to override the exit mechanism.
      */
-    private ExitMechanism exitMechanism = System::exit;
+    private volatile ExitMechanism exitMechanism = System::exit;
 
     /**
      * This allows unit tests to override the output stream.
      */
-    private PrintStream out = System.out;
+    private volatile PrintStream out = System.out;
 
     /**
      * This allows unit tests to override the error stream.
      */
-    private PrintStream err = System.err;
+    private volatile PrintStream err = System.err;
+
+    /**
+     * An unmodifiable map which is replaced, rather than modified, when a converter is registered so that readers
+     * never need to lock.
+     */
+    private volatile Map<Class<?>, TypeConverter<?>> typeConverters = Collections.emptyMap();
+
+    private volatile AccessorStrategy accessorStrategy = MethodHandleAccessorStrategy.INSTANCE;
+
+    private volatile boolean abbreviations = false;
+
+    private volatile boolean argumentFiles = false;
+
+    private volatile long maxArgumentFileSize = DEFAULT_MAX_ARGUMENT_FILE_SIZE;
+
+    private volatile Path argumentFileDirectory;
+
+    private volatile boolean stackTraces = true;
+
+    private volatile List<OptionSource> optionSources = Collections.emptyList();
+
+    private final boolean frozen;
+
+    /**
+     * Whether a subclass overrides {@link #extract(Class)}, in which case help messages are rendered from the options
+     * which it returns, rather than taken from the cache which is shared by every instance.
+     */
+    private final boolean customExtract;
 
-    private final Map<Class<?>, TypeConverter<?>> typeConverters = new HashMap<>();
+    /**
+     * Help messages rendered from {@link #extract(Class)}, which is only used when {@link #customExtract} is set.
+     * Copies made by {@link #redirect(PrintStream, PrintStream, ExitMechanism)} share the cache of the instance which
+     * they were made from, so they render help through its {@code extract} method.
+     */
+    private final ClassValue<String> extractedHelp;
 
+    /**
+     * Creates an instance which remains configurable. Use {@link #builder()} to create a frozen, thread-safe one.
+     */
     public GetOpt() {
+        this.frozen = false;
+        this.customExtract = overridesExtract(getClass());
+        this.extractedHelp = newExtractedHelp();
     }
 
-    public GetOpt register(Class<?> type, TypeConverter<?> typeConverter) {
-        typeConverters.put(type, typeConverter);
-        return this;
+    /**
+     * Creates a frozen instance from the given builder. If a prototype is given, help messages are rendered through
+     * its {@link #extract(Class)} method.
+     */
+    private GetOpt(Builder builder, GetOpt prototype) {
+        this.exitMechanism = builder.exitMechanism;
+        this.out = builder.out;
+        this.err = builder.err;
+        this.typeConverters = Collections.unmodifiableMap(new HashMap<>(builder.typeConverters));
+        this.accessorStrategy = builder.accessorStrategy;
+        this.abbreviations = builder.abbreviations;
+        this.argumentFiles = builder.argumentFiles;
+        this.maxArgumentFileSize = builder.maxArgumentFileSize;
+        this.argumentFileDirectory = builder.argumentFileDirectory;
+        this.stackTraces = builder.stackTraces;
+        this.optionSources = List.copyOf(builder.optionSources);
+        this.frozen = true;
+        this.customExtract = prototype != null && prototype.customExtract;
+        this.extractedHelp = prototype != null ? prototype.extractedHelp : newExtractedHelp();
+    }
+
+    private ClassValue<String> newExtractedHelp() {
+        return new ClassValue<>() {
+            @Override
+            protected String computeValue(Class<?> type) {
+                return HelpText.render(type, extract(type));
+            }
+        };
+    }
+
+    private static boolean overridesExtract(Class<?> type) {
+        for (Class<?> current = type; current != GetOpt.class; current = current.getSuperclass()) {
+            try {
+                current.getDeclaredMethod("extract", Class.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // Keep looking in the superclass
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns a builder which creates frozen, thread-safe instances.
+     *
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Registers a converter for the given type.
+     *
+     * @param type The type which the converter produces
+     * @param typeConverter The converter
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     */
+    public synchronized GetOpt register(Class<?> type, TypeConverter<?> typeConverter) {
+        return register(Collections.singletonMap(type, typeConverter));
     }
 
-    public GetOpt register(Map<Class<?>, TypeConverter<?>> typeConverters) {
-        this.typeConverters.putAll(typeConverters);
+    /**
+     * Registers converters for the given types.
+     *
+     * @param typeConverters The converters, keyed by the type which they produce
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     */
+    public synchronized GetOpt register(Map<Class<?>, TypeConverter<?>> typeConverters) {
+        checkNotFrozen();
+
+        Map<Class<?>, TypeConverter<?>> copy = new HashMap<>(this.typeConverters);
+        copy.putAll(typeConverters);
+        this.typeConverters = Collections.unmodifiableMap(copy);
         return this;
     }
 
+    /**
+     * Returns a frozen copy of this instance which writes to the given streams and exits through the given exit
+     * mechanism, and is otherwise configured the same. This allows a long-running program, such as a
+     * {@link pro.johndunlap.getopt.server.CommandServer}, to give each command its own output and exit status while
+     * every command shares the same binding plans.
+     *
+     * <p>The copy is a plain {@code GetOpt}, not an instance of this object's class. Its help messages are still
+     * rendered through this instance's {@link #extract(Class)}, so a subclass which overrides it lists the same
+     * options in every copy, but other overridden methods, such as {@link #showHelp(Class)}, are not carried over.</p>
+     *
+     * @param out The stream which help messages are written to
+     * @param err The stream which errors are written to
+     * @param exitMechanism The exit mechanism
+     * @return A new, frozen instance
+     */
+    public GetOpt redirect(PrintStream out, PrintStream err, ExitMechanism exitMechanism) {
+        return copy(out, err, exitMechanism, optionSources, argumentFileDirectory);
+    }
+
+    /**
+     * Same as {@link #redirect(PrintStream, PrintStream, ExitMechanism)}, except that option sources which read the
+     * environment, such as {@link OptionSource#environment(String)}, read the given variables instead. This lets a
+     * server bind each command with the environment of the client which sent it. As with the other overload, the copy
+     * is a plain {@code GetOpt} which renders help through this instance's {@link #extract(Class)}.
+     *
+     * @param out The stream which help messages are written to
+     * @param err The stream which errors are written to
+     * @param exitMechanism The exit mechanism
+     * @param environment The environment variables which option sources read
+     * @return A new, frozen instance
+     */
+    public GetOpt redirect(PrintStream out, PrintStream err, ExitMechanism exitMechanism,
+            Map<String, String> environment) {
+        return redirect(out, err, exitMechanism, environment, argumentFileDirectory);
+    }
+
+    /**
+     * Same as {@link #redirect(PrintStream, PrintStream, ExitMechanism, Map)}, except that the relative paths of
+     * argument files are also resolved against the given directory, as by {@link #setArgumentFileDirectory(Path)}.
+     * This lets a server read the argument files of each command from the working directory of the client which sent
+     * it.
+     *
+     * @param out The stream which help messages are written to
+     * @param err The stream which errors are written to
+     * @param exitMechanism The exit mechanism
+     * @param environment The environment variables which option sources read
+     * @param argumentFileDirectory The directory which the relative paths of argument files are resolved against
+     * @return A new, frozen instance
+     */
+    public GetOpt redirect(PrintStream out, PrintStream err, ExitMechanism exitMechanism,
+            Map<String, String> environment, Path argumentFileDirectory) {
+        List<OptionSource> sources = new ArrayList<>(optionSources.size());
+
+        for (OptionSource source : optionSources) {
+            sources.add(source.withEnvironment(environment));
+        }
+
+        return copy(out, err, exitMechanism, sources, argumentFileDirectory);
+    }
+
+    private GetOpt copy(PrintStream out, PrintStream err, ExitMechanism exitMechanism,
+            List<OptionSource> optionSources, Path argumentFileDirectory) {
+        Builder builder = builder()
+                .register(typeConverters)
+                .accessorStrategy(accessorStrategy)
+                .abbreviations(abbreviations)
+                .argumentFiles(argumentFiles)
+                .maxArgumentFileSize(maxArgumentFileSize)
+                .argumentFileDirectory(argumentFileDirectory)
+                .stackTraces(stackTraces)
+                .optionSources(optionSources)
+                .out(out)
+                .err(err)
+                .exitMechanism(exitMechanism);
+
+        return new GetOpt(builder, this);
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("This GetOpt was created by a builder and cannot be modified");
+        }
+    }
+
     /**
      * Binds the given arguments to the given class type.
      *
@@ -92,6 +304,68 @@ public class GetOpt {
         return readContext(classType, args).getInstance();
     }
 
+    /**
+     * Binds a command line which has not been split into arguments to the given class type. The command line is split
+     * as it is parsed, with the quoting rules of a POSIX shell which are described by {@link ShellTokenizer}, so no
+     * array of arguments is created. This is useful when commands arrive as single strings, such as from a socket or
+     * a REPL.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param commandLine The command line to split and bind, such as {@code --name "John Dunlap" -v}
+     * @param <T> The type of the class to bind the arguments to
+     * @return An instance of the class type with the arguments bound to it
+     * @throws ParseException If the command line could not be split or bound to the class type
+     */
+    public <T> T read(Class<T> classType, CharSequence commandLine) throws ParseException {
+        TokenCursor cursor = new TokenCursor(ShellTokenizer.of(commandLine));
+        return readContext(BindingPlan.of(classType, accessorStrategy), cursor).getInstance();
+    }
+
+    /**
+     * Binds the given arguments to an existing instance instead of creating a new one. Fields which are not named by
+     * the arguments keep the values which they already have, so command line values can be laid over defaults which
+     * were loaded from elsewhere. Collections and arrays which already hold values are added to. For the same reason,
+     * {@link #setOptionSources(List) option sources} are not consulted: the values which the instance already has
+     * take precedence over them.
+     *
+     * @param target The instance to bind the arguments to
+     * @param args The arguments to bind
+     * @param <T> The type of the instance
+     * @return The given instance
+     * @throws ParseException If the arguments could not be bound to the instance
+     */
+    public <T> T readInto(T target, String[] args) throws ParseException {
+        return readInto(target, args, false);
+    }
+
+    /**
+     * Same as {@link #readInto(Object, String[])}, except that the instance may first be reset by
+     * {@link BindingPlan#reset(Object)}, which makes it possible to bind the same instance over and over again. Option
+     * sources are not consulted, whether or not the instance is reset.
+     *
+     * @param target The instance to bind the arguments to
+     * @param args The arguments to bind
+     * @param reset True if the bound fields should be reset before the arguments are bound
+     * @param <T> The type of the instance
+     * @return The given instance
+     * @throws ParseException If the instance could not be reset or the arguments could not be bound to it
+     */
+    public <T> T readInto(T target, String[] args, boolean reset) throws ParseException {
+        BindingPlan<T> plan = BindingPlan.of(classOf(target), accessorStrategy);
+
+        if (reset) {
+            plan.reset(target);
+        }
+
+        parse(newContext(plan, new TokenCursor(args), target));
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Class<T> classOf(T target) {
+        return (Class<T>) target.getClass();
+    }
+
     /**
      * Same as {@link #read(Class, String[])} except that it returns a {@link ParseContext} instead
      * of the instance.
@@ -104,8 +378,174 @@ public class GetOpt {
      * @throws ParseException If the arguments could not be bound to the class type
      */
     public <T> ParseContext<T> readContext(Class<T> classType, String[] args) throws ParseException {
-        ParseContext<T> context = new ParseContext<>(classType, args, typeConverters);
+        return readContext(BindingPlan.of(classType, accessorStrategy), new TokenCursor(args));
+    }
+
+    /**
+     * Binds the remaining tokens of the given cursor with the given plan.
+     */
+    <T> ParseContext<T> readContext(BindingPlan<T> plan, TokenCursor cursor) throws ParseException {
+        ParseContext<T> context = newContext(plan, cursor);
+        parse(context);
+        return context;
+    }
+
+    /**
+     * Binds the given arguments to the given class type, returning a failed result instead of throwing if the
+     * arguments are rejected. The exception in a failed result is created without a stack trace, whatever
+     * {@link #setStackTraces(boolean)} is set to, and its {@link ParseException#getErrorCode() error code},
+     * {@link ParseException#getField() field}, {@link ParseException#getValue() value} and
+     * {@link ParseException#getTokenIndex() token index} describe what was rejected. This makes rejecting invalid
+     * input about as cheap as binding valid input.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param args The arguments to bind to the class type
+     * @param <T> The type of the class to bind the arguments to
+     * @return The result, which holds either the bound instance or the reason that the arguments were rejected
+     * @throws ParseException If the class type itself cannot be bound, such as when two fields share an option
+     */
+    public <T> ParseResult<T> tryRead(Class<T> classType, String[] args) throws ParseException {
+        return readResult(BindingPlan.of(classType, accessorStrategy), new TokenCursor(args));
+    }
+
+    /**
+     * Same as {@link #tryRead(Class, String[])}, except that the command line is split as it is parsed, as by
+     * {@link #read(Class, CharSequence)}.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param commandLine The command line to split and bind
+     * @param <T> The type of the class to bind the arguments to
+     * @return The result, which holds either the bound instance or the reason that the command line was rejected
+     * @throws ParseException If the class type itself cannot be bound, such as when two fields share an option
+     */
+    public <T> ParseResult<T> tryRead(Class<T> classType, CharSequence commandLine) throws ParseException {
+        return readResult(BindingPlan.of(classType, accessorStrategy), new TokenCursor(ShellTokenizer.of(commandLine)));
+    }
+
+    /**
+     * Binds each of the given command lines to a new instance of the given class type, one after another. A command
+     * line which cannot be bound does not stop the others from being bound.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param commandLines The command lines to bind
+     * @param <T> The type of the class to bind the arguments to
+     * @return One result per command line, in the order in which the command lines were given
+     * @throws ParseException If the class type itself cannot be bound, such as when two fields share an option
+     */
+    public <T> List<ParseResult<T>> readAll(Class<T> classType, Iterable<String[]> commandLines)
+            throws ParseException {
+        return readAll(classType, commandLines, Runnable::run);
+    }
+
+    /**
+     * Binds each of the given command lines to a new instance of the given class type, running the bindings on the
+     * given executor. The class type is compiled into a {@link BindingPlan} once, before any command line is bound,
+     * and the command lines are then bound independently of one another, so any executor may be used, such as a
+     * {@link java.util.concurrent.ForkJoinPool} or one which starts a virtual thread per task. A command line which
+     * cannot be bound does not stop the others from being bound. As with {@link #tryRead(Class, String[])}, the
+     * exceptions of failed results have no stack traces.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param commandLines The command lines to bind
+     * @param executor The executor which binds the command lines
+     * @param <T> The type of the class to bind the arguments to
+     * @return One result per command line, in the order in which the command lines were given
+     * @throws ParseException If the class type itself cannot be bound, such as when two fields share an option
+     */
+    public <T> List<ParseResult<T>> readAll(Class<T> classType, Iterable<String[]> commandLines, Executor executor)
+            throws ParseException {
+        BindingPlan<T> plan = BindingPlan.of(classType, accessorStrategy);
+        List<CompletableFuture<ParseResult<T>>> futures = new ArrayList<>();
+
+        for (String[] args : commandLines) {
+            futures.add(CompletableFuture.supplyAsync(() -> readResult(plan, new TokenCursor(args)), executor));
+        }
+
+        List<ParseResult<T>> results = new ArrayList<>(futures.size());
+
+        for (CompletableFuture<ParseResult<T>> future : futures) {
+            results.add(future.join());
+        }
+
+        return results;
+    }
+
+    private <T> ParseResult<T> readResult(BindingPlan<T> plan, TokenCursor cursor) {
+        try {
+            ParseContext<T> context = newContext(plan, cursor).setStackTraces(false);
+            parse(context);
+            return ParseResult.success(context.getInstance());
+        } catch (ParseException e) {
+            return ParseResult.failure(e);
+        } catch (RuntimeException e) {
+            return ParseResult.failure(new RethrownException(e));
+        }
+    }
+
+    /**
+     * Returns a reusable session which binds command lines to the given class type. A session keeps its parse
+     * context, cursor and scratch buffers between reads, so repeatedly parsing with it allocates little more than the
+     * bound instances and values. Sessions are not thread-safe, so each thread should use its own, for example by
+     * keeping sessions in a {@link ThreadLocal} or a pool. A session uses the configuration which this instance had
+     * when the session was created.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param <T> The type of the class to bind the arguments to
+     * @return A new session
+     * @throws ParseException If the class type cannot be bound, such as when two fields share an option
+     */
+    public <T> ParseSession<T> session(Class<T> classType) throws ParseException {
+        return new ParseSession<>(this, BindingPlan.of(classType, accessorStrategy));
+    }
+
+    /**
+     * Returns the plan which binds the given class type with this instance's accessor strategy.
+     */
+    <T> BindingPlan<T> plan(Class<T> classType) throws ParseException {
+        return BindingPlan.of(classType, accessorStrategy);
+    }
+
+    /**
+     * Creates a parse context which is configured by this instance.
+     */
+    <T> ParseContext<T> newContext(BindingPlan<T> plan, TokenCursor cursor) throws ParseException {
+        return newContext(plan, cursor, null);
+    }
+
+    /**
+     * Creates a parse context which is configured by this instance and binds to the given target, or to a new
+     * instance if the target is null.
+     */
+    <T> ParseContext<T> newContext(BindingPlan<T> plan, TokenCursor cursor, T target) throws ParseException {
+        if (argumentFiles) {
+            cursor.expandArgumentFiles(maxArgumentFileSize, argumentFileDirectory);
+        }
+
+        return new ParseContext<>(plan, cursor, typeConverters, target)
+                .setAbbreviations(abbreviations)
+                .setStackTraces(stackTraces)
+                .setOptionSources(optionSources);
+    }
+
+    /**
+     * Parses every argument of the given context and verifies that the required fields have been set.
+     */
+    static <T> void parse(ParseContext<T> context) throws ParseException {
+        if (context.isStackTraces()) {
+            bind(context);
+            return;
+        }
+
+        boolean previous = ParseException.setStackTraces(false);
+
+        try {
+            bind(context);
+        } finally {
+            ParseException.setStackTraces(previous);
+        }
+    }
 
+    private static <T> void bind(ParseContext<T> context) throws ParseException {
         Parser state = NEUTRAL;
 
         // Continue executing the next state until all input has been processed
@@ -113,28 +553,31 @@ public class GetOpt {
             state = state.execute(context);
         }
 
-        T instance = context.getInstance();
+        // Options which the arguments did not set fall back on the option sources
+        context.applyOptionSources();
+        context.finish();
 
         // Don't throw errors if the help message was requested
         if (!context.isHelpRequested()) {
             // Verify that required fields are set
-            for (Field field : context.getRequiredFields()) {
+            for (FieldBinding binding : context.getRequiredBindings()) {
+                Field field = binding.getField();
+                Object value;
+
                 try {
-                    Object value = ReflectionUtil.getFieldValue(field, instance);
-
-                    if (value == null) {
-                        // TODO: This does not take annotations into account
-                        throw new ParseException(field, "Required argument --"
-                                + camelCaseToHyphenCase(field.getName())
-                                + " is not set");
-                    }
-                } catch (IllegalAccessException e) {
+                    value = context.getValue(binding);
+                } catch (RuntimeException e) {
                     throw new ParseException("Could not access field " + field.getName(), e);
                 }
+
+                if (value == null) {
+                    // TODO: This does not take annotations into account
+                    throw new ParseException(field, "Required argument --"
+                            + camelCaseToHyphenCase(field.getName())
+                            + " is not set").withErrorCode(ErrorCode.MISSING_REQUIRED);
+                }
             }
         }
-
-        return context;
     }
 
     protected <T> void showHelp(Class<T> classType) {
@@ -193,143 +636,190 @@ public class GetOpt {
      * @return A help message for the given class type
      */
     public <T> String help(Class<T> classType) {
-        Help help = classType.getAnnotation(Help.class);
-        StringBuilder sb = new StringBuilder();
-        String before = "";
-        String after = "";
-
-        // If there's a help annotation, grab the before and after text
-        if (help != null) {
-            before = help.openingText();
-            after = help.closingText();
-        } else {
-            before = "The following options are accepted: ";
-        }
-
-        sb.append(before);
-
-        Map<String, List<OptionInfo>> categorized = new HashMap<>();
-        int longestLongName = 0;
-
-        // Attempt to categorize the options
-        Map<String, Boolean> categoryMap = new HashMap<>();
-        for (OptionInfo optionInfo : extract(classType)) {
-            String category = optionInfo.getCategory();
-
-            if (category.equals("")) {
-                category = "default";
-            } else {
-                categoryMap.put(category, true);
-            }
-
-            List<OptionInfo> list;
-
-            // Create the list if it doesn't already exist
-            if (!categorized.containsKey(category)) {
-                list = new ArrayList<>();
-                categorized.put(category, list);
-            } else {
-                list = categorized.get(category);
-            }
-
-            list.add(optionInfo);
-
-            // Keep track of the longest long name so that we can pad the help message correctly
-            int length = optionInfo.getFlag().length();
-            if (length > longestLongName) {
-                longestLongName = length;
-            }
-        }
-
-        LinkedList<String> categoryList = new LinkedList<>(categoryMap.keySet());
-
-        // Sort the list of categories
-        Collections.sort(categoryList);
-
-        categoryList.addFirst("default");
-
-        String longestWhitespace = String.join("", Collections.nCopies(longestLongName, " "));
-
-        for (String category : categoryList) {
-            List<OptionInfo> namedOptionList = categorized.get(category);
-
-            if (!category.equals("default")) {
-                sb.append("\n\n").append(category).append(":");
-            }
-
-            for (OptionInfo nameOption : namedOptionList) {
-                sb.append("\n  ");
-
-                if (nameOption.getCode() != ' ') {
-                    sb.append('-').append(nameOption.getCode());
-                } else {
-                    sb.append(' ');
-                }
-
-                String longName = nameOption.getFlag();
-
-                // Pad the end of the long name
-                if (longName.equals("")) {
-                    sb.append(longestWhitespace);
-                } else {
-                    sb.append("  --").append(longName)
-                            .append(longestWhitespace, 0, longestLongName - longName.length());
-                }
-
-                sb.append("  ").append(nameOption.getDescription());
-
-                if (nameOption.isRequired()) {
-                    sb.append(" (required)");
-                }
-            }
-        }
-
-        if (!after.equals("")) {
-            sb.append("\n");
-        }
+        return customExtract ? extractedHelp.get(classType) : HelpText.of(classType);
+    }
 
-        return sb.append(after).toString();
+    /**
+     * Writes the help message for the given class type to the given appendable, such as a {@link PrintStream} or a
+     * {@link java.io.Writer}. This does not stream the rendering: the message is rendered into a string once per
+     * class, the first time that it is needed, and the cached string is appended. Use
+     * {@link HelpText#render(Class, List, Appendable)} to render a message straight to an appendable.
+     *
+     * @param classType The class type to generate a help message for
+     * @param out The appendable to which the help message should be written
+     * @param <T> The type of the class for which a help message should be generated
+     * @throws IOException If the appendable throws
+     */
+    public <T> void help(Class<T> classType, Appendable out) throws IOException {
+        out.append(help(classType));
     }
 
     /**
-     * This method is shared between the bind and help methods.
+     * Returns the options which are listed in help messages. Subclasses may override this to change which options are
+     * listed. Help messages are then rendered once per class and instance, instead of being shared by every instance,
+     * and copies made by {@link #redirect(PrintStream, PrintStream, ExitMechanism)} render them through this method
+     * as well.
      *
      * @param classType The class type from which metadata should be extracted
      * @param <T> The generic type of the class from which metadata is being extracted
      * @return A list of objects representing the fields which can be bound to
      */
     protected <T> List<OptionInfo> extract(Class<T> classType) {
-        List<OptionInfo> options = new ArrayList<>();
-        Field[] fields = classType.getDeclaredFields();
-
-        for (Field field : fields) {
-            // Skip ordered fields and fields which have been annotated with ignore
-            if (field.isAnnotationPresent(Ignore.class) || field.isAnnotationPresent(GetOptOrdered.class)) {
-                continue;
-            }
-
-            options.add(new OptionInfo(field));
-        }
-
-        return options;
+        return HelpText.options(classType);
     }
 
-
+    /**
+     * Sets the stream to which help messages are printed.
+     *
+     * @param out The output stream
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     */
     public GetOpt setOut(PrintStream out) {
+        checkNotFrozen();
         this.out = out;
         return this;
     }
 
+    /**
+     * Sets the stream to which error messages are printed.
+     *
+     * @param err The error stream
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     */
     public GetOpt setErr(PrintStream err) {
+        checkNotFrozen();
         this.err = err;
         return this;
     }
 
+    /**
+     * Sets the mechanism used to exit after help has been shown or binding has failed.
+     *
+     * @param exitMechanism The exit mechanism
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     */
     public GetOpt setExitMechanism(ExitMechanism exitMechanism) {
+        checkNotFrozen();
         this.exitMechanism = exitMechanism;
         return this;
     }
 
+    /**
+     * Sets the strategy used to read and write fields. Defaults to {@link MethodHandleAccessorStrategy}, in which case
+     * generated {@link Binder} classes are used for the fields which they can access. Any other strategy is used for
+     * every field.
+     *
+     * @param accessorStrategy The strategy used to read and write fields
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     */
+    public GetOpt setAccessorStrategy(AccessorStrategy accessorStrategy) {
+        checkNotFrozen();
+        this.accessorStrategy = accessorStrategy;
+        return this;
+    }
+
+    /**
+     * Enables GNU style abbreviations, which allow a long option to be given as any prefix which identifies it
+     * unambiguously, such as {@code --verb} for {@code --verbose}. An ambiguous prefix causes an
+     * {@link pro.johndunlap.getopt.exception.AmbiguousOptionException}. Abbreviations are disabled by default.
+     *
+     * @param abbreviations True if abbreviations should be accepted
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     */
+    public GetOpt setAbbreviations(boolean abbreviations) {
+        checkNotFrozen();
+        this.abbreviations = abbreviations;
+        return this;
+    }
+
+    /**
+     * Enables argument files, which allow an argument of the form {@code @path} to be replaced by the arguments in
+     * the named file. This works around the limit which operating systems place on the length of a command line.
+     * Argument files are tokenized as they are reached, with shell-like quoting, and may name further argument files.
+     * Argument files are disabled by default.
+     *
+     * @param argumentFiles True if argument files should be expanded
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     * @see ArgumentFile
+     */
+    public GetOpt setArgumentFiles(boolean argumentFiles) {
+        checkNotFrozen();
+        this.argumentFiles = argumentFiles;
+        return this;
+    }
+
+    /**
+     * Sets the largest number of bytes which an argument file may contain. Larger files cause an
+     * {@link pro.johndunlap.getopt.exception.ArgumentFileException}.
+     *
+     * @param maxArgumentFileSize The largest size of an argument file, in bytes
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     */
+    public GetOpt setMaxArgumentFileSize(long maxArgumentFileSize) {
+        checkNotFrozen();
+        this.maxArgumentFileSize = maxArgumentFileSize;
+        return this;
+    }
+
+    /**
+     * Sets the directory which the relative paths of argument files are resolved against. By default, they are
+     * resolved against the working directory of the process.
+     *
+     * @param argumentFileDirectory The directory, or null for the working directory of the process
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     */
+    public GetOpt setArgumentFileDirectory(Path argumentFileDirectory) {
+        checkNotFrozen();
+        this.argumentFileDirectory = argumentFileDirectory;
+        return this;
+    }
+
+    /**
+     * Enables or disables stack traces for the exceptions which are thrown when arguments are rejected. Filling in a
+     * stack trace usually costs more than parsing the arguments did, so disabling them makes sense when invalid input
+     * is common and is reported from the exception's {@link ParseException#getErrorCode() error code} and other
+     * details, rather than logged. Stack traces are enabled by default, and {@link #tryRead(Class, String[])} never
+     * fills them in.
+     *
+     * @param stackTraces False if rejected arguments should cause exceptions without stack traces
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     */
+    public GetOpt setStackTraces(boolean stackTraces) {
+        checkNotFrozen();
+        this.stackTraces = stackTraces;
+        return this;
+    }
+
+    /**
+     * Sets the sources which supply values for options that the arguments do not set, such as a defaults file and
+     * environment variables, in order of precedence. The arguments always take precedence over every source. Each
+     * field is converted once, from the arguments or from the first source which has a value for it. Sources only
+     * fill in new instances; {@link #readInto(Object, String[])} leaves the fields of an existing instance to the
+     * arguments and the values which it already has. No sources are consulted by default.
+     *
+     * @param optionSources The sources, highest precedence first
+     * @return This instance
+     * @throws IllegalStateException If this instance was created by a {@link Builder}
+     */
+    public GetOpt setOptionSources(List<OptionSource> optionSources) {
+        checkNotFrozen();
+        this.optionSources = List.copyOf(optionSources);
+        return this;
+    }
+
+    boolean isStackTraces() {
+        return stackTraces;
+    }
+
     public PrintStream getOut() {
         return out;
     }
@@ -337,4 +827,94 @@ public class GetOpt {
     public PrintStream getErr() {
         return err;
     }
+
+    ExitMechanism getExitMechanism() {
+        return exitMechanism;
+    }
+
+    /**
+     * Collects configuration for a frozen {@link GetOpt}. Builders are not thread-safe, but the instances which they
+     * build are. Every call to {@link #build()} copies the configuration, so changing the builder afterwards does not
+     * affect instances which have already been built.
+     */
+    public static final class Builder {
+        private final Map<Class<?>, TypeConverter<?>> typeConverters = new HashMap<>();
+        private ExitMechanism exitMechanism = System::exit;
+        private PrintStream out = System.out;
+        private PrintStream err = System.err;
+        private AccessorStrategy accessorStrategy = MethodHandleAccessorStrategy.INSTANCE;
+        private boolean abbreviations = false;
+        private boolean argumentFiles = false;
+        private long maxArgumentFileSize = DEFAULT_MAX_ARGUMENT_FILE_SIZE;
+        private Path argumentFileDirectory;
+        private boolean stackTraces = true;
+        private List<OptionSource> optionSources = Collections.emptyList();
+
+        private Builder() {
+        }
+
+        public Builder register(Class<?> type, TypeConverter<?> typeConverter) {
+            typeConverters.put(type, typeConverter);
+            return this;
+        }
+
+        public Builder register(Map<Class<?>, TypeConverter<?>> typeConverters) {
+            this.typeConverters.putAll(typeConverters);
+            return this;
+        }
+
+        public Builder out(PrintStream out) {
+            this.out = out;
+            return this;
+        }
+
+        public Builder err(PrintStream err) {
+            this.err = err;
+            return this;
+        }
+
+        public Builder exitMechanism(ExitMechanism exitMechanism) {
+            this.exitMechanism = exitMechanism;
+            return this;
+        }
+
+        public Builder accessorStrategy(AccessorStrategy accessorStrategy) {
+            this.accessorStrategy = accessorStrategy;
+            return this;
+        }
+
+        public Builder abbreviations(boolean abbreviations) {
+            this.abbreviations = abbreviations;
+            return this;
+        }
+
+        public Builder argumentFiles(boolean argumentFiles) {
+            this.argumentFiles = argumentFiles;
+            return this;
+        }
+
+        public Builder maxArgumentFileSize(long maxArgumentFileSize) {
+            this.maxArgumentFileSize = maxArgumentFileSize;
+            return this;
+        }
+
+        public Builder argumentFileDirectory(Path argumentFileDirectory) {
+            this.argumentFileDirectory = argumentFileDirectory;
+            return this;
+        }
+
+        public Builder stackTraces(boolean stackTraces) {
+            this.stackTraces = stackTraces;
+            return this;
+        }
+
+        public Builder optionSources(List<OptionSource> optionSources) {
+            this.optionSources = optionSources;
+            return this;
+        }
+
+        public GetOpt build() {
+            return new GetOpt(this, null);
+        }
+    }
 }
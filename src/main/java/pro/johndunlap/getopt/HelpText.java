@@ -0,0 +1,212 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.annotation.Help;
+import pro.johndunlap.getopt.annotation.Ignore;
+
+/**
+ * Renders the help message of a class. The message only depends on the annotations of the class, so it is rendered the
+ * first time that it is needed, or read from the class's {@link PlanDescriptor} if one was written at build time, and
+ * then cached for as long as the class is loaded. The cache holds rendered strings, so callers which need a message
+ * written straight to an {@link Appendable}, without building a string first, should call
+ * {@link #render(Class, List, Appendable)}.
+ *
+ * @author John Dunlap
+ */
+public final class HelpText {
+
+    /**
+     * Rendered help messages keyed by class. A {@link ClassValue} is used so that the cache does not prevent the
+     * classes it describes from being unloaded.
+     */
+    private static final ClassValue<String> TEXT = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            PlanDescriptor descriptor = PlanDescriptor.load(type);
+
+            // Messages which were rendered at build time spare reading the annotations
+            if (descriptor != null && descriptor.getHelpText() != null) {
+                return descriptor.getHelpText();
+            }
+
+            return render(type);
+        }
+    };
+
+    private HelpText() {
+    }
+
+    /**
+     * Returns the help message of the given class, rendering it if this is the first time that it has been requested.
+     *
+     * @param classType The class type to generate a help message for
+     * @return The help message
+     */
+    public static String of(Class<?> classType) {
+        return TEXT.get(classType);
+    }
+
+    /**
+     * Returns the options of the given class which are listed in its help message.
+     *
+     * @param classType The class type from which options should be extracted
+     * @return The options which can be bound by name
+     */
+    public static List<OptionInfo> options(Class<?> classType) {
+        List<OptionInfo> options = new ArrayList<>();
+
+        for (Field field : classType.getDeclaredFields()) {
+            // Skip ordered fields and fields which have been annotated with ignore
+            if (field.isAnnotationPresent(Ignore.class) || field.isAnnotationPresent(GetOptOrdered.class)) {
+                continue;
+            }
+
+            options.add(new OptionInfo(field));
+        }
+
+        return options;
+    }
+
+    /**
+     * Renders the help message of the given class from its annotations, without consulting the cache.
+     */
+    static String render(Class<?> classType) {
+        return render(classType, options(classType));
+    }
+
+    /**
+     * Renders the help message of the given class and options, without consulting the cache.
+     */
+    static String render(Class<?> classType, List<OptionInfo> options) {
+        StringBuilder sb = new StringBuilder();
+
+        try {
+            render(classType, options, sb);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Renders the help message of the given class and options to the given appendable.
+     *
+     * @param classType The class type whose annotations provide the opening and closing text
+     * @param options The options to list
+     * @param out The appendable to which the help message is written
+     * @throws IOException If the appendable throws
+     */
+    public static void render(Class<?> classType, List<OptionInfo> options, Appendable out) throws IOException {
+        Help help = classType.getAnnotation(Help.class);
+        String before;
+        String after = "";
+
+        // If there's a help annotation, grab the before and after text
+        if (help != null) {
+            before = help.openingText();
+            after = help.closingText();
+        } else {
+            before = "The following options are accepted: ";
+        }
+
+        out.append(before);
+
+        // The default category comes first, followed by every other category in alphabetical order
+        List<OptionInfo> uncategorized = new ArrayList<>();
+        Map<String, List<OptionInfo>> categorized = new TreeMap<>();
+        int longestLongName = 0;
+
+        for (OptionInfo optionInfo : options) {
+            String category = optionInfo.getCategory();
+
+            if (category.equals("")) {
+                uncategorized.add(optionInfo);
+            } else {
+                categorized.computeIfAbsent(category, key -> new ArrayList<>()).add(optionInfo);
+            }
+
+            // Keep track of the longest long name so that we can pad the help message correctly
+            longestLongName = Math.max(longestLongName, optionInfo.getFlag().length());
+        }
+
+        String longestWhitespace = String.join("", Collections.nCopies(longestLongName, " "));
+
+        renderOptions(uncategorized, longestWhitespace, out);
+
+        for (Map.Entry<String, List<OptionInfo>> entry : categorized.entrySet()) {
+            out.append("\n\n").append(entry.getKey()).append(":");
+            renderOptions(entry.getValue(), longestWhitespace, out);
+        }
+
+        if (!after.equals("")) {
+            out.append("\n");
+        }
+
+        out.append(after);
+    }
+
+    private static void renderOptions(List<OptionInfo> options, String longestWhitespace, Appendable out)
+            throws IOException {
+        for (OptionInfo nameOption : options) {
+            out.append("\n  ");
+
+            if (nameOption.getCode() != ' ') {
+                out.append('-').append(nameOption.getCode());
+            } else {
+                out.append(' ');
+            }
+
+            String longName = nameOption.getFlag();
+
+            // Pad the end of the long name
+            if (longName.equals("")) {
+                out.append(longestWhitespace);
+            } else {
+                out.append("  --").append(longName)
+                        .append(longestWhitespace, 0, longestWhitespace.length() - longName.length());
+            }
+
+            out.append("  ").append(nameOption.getDescription());
+
+            if (nameOption.isRequired()) {
+                out.append(" (required)");
+            }
+        }
+    }
+}
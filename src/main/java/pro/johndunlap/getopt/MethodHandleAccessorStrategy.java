@@ -0,0 +1,347 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * The default {@link AccessorStrategy}. Each field is resolved to a pair of pre-bound method handles which call the
+ * getter and setter when they are available and access the field directly otherwise. The same precedence as
+ * {@link ReflectionUtil#getFieldValue(Field, Object)} is used to choose between them.
+ *
+ * @author John Dunlap
+ */
+public class MethodHandleAccessorStrategy implements AccessorStrategy {
+    public static final MethodHandleAccessorStrategy INSTANCE = new MethodHandleAccessorStrategy();
+
+    private static final MethodType GETTER_TYPE = methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = methodType(void.class, Object.class, Object.class);
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A field which cannot be reached through a lookup, such as a private field of a class in a module which has
+     * not been opened, falls back to the {@link ReflectiveAccessorStrategy}. If reflection cannot reach it either,
+     * the accessor which is returned fails when it is used, so the rest of the class can still be bound.</p>
+     */
+    @Override
+    public FieldAccessor resolve(Field field) throws IllegalAccessException {
+        return resolve(field, lookup(field.getDeclaringClass()));
+    }
+
+    /**
+     * Resolves an accessor for the given field through the given lookup, falling back to reflection for this field
+     * alone if the lookup cannot reach it.
+     */
+    FieldAccessor resolve(Field field, MethodHandles.Lookup lookup) {
+        try {
+            return handles(field, lookup);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return reflective(field, e);
+        }
+    }
+
+    private static FieldAccessor handles(Field field, MethodHandles.Lookup lookup) throws IllegalAccessException {
+        Method getterMethod = ReflectionUtil.preferredGetter(field);
+        MethodHandle getter;
+
+        if (getterMethod != null) {
+            getter = receiver(lookup.unreflect(getterMethod), getterMethod.getModifiers());
+        } else {
+            getter = receiver(lookup.unreflectGetter(field), field.getModifiers());
+        }
+
+        Method setterMethod = ReflectionUtil.preferredSetter(field);
+        MethodHandle setter;
+
+        if (setterMethod != null) {
+            setter = receiver(lookup.unreflect(setterMethod), setterMethod.getModifiers());
+        } else if (Modifier.isFinal(field.getModifiers())) {
+            setter = finalFieldSetter(lookup, field);
+        } else {
+            setter = receiver(lookup.unreflectSetter(field), field.getModifiers());
+        }
+
+        // Primitive fields get a second setter which takes the unboxed value
+        MethodHandle primitiveSetter = null;
+
+        if (setter != null && field.getType().isPrimitive()) {
+            primitiveSetter = setter.asType(methodType(void.class, Object.class, field.getType()));
+        }
+
+        return new MethodHandleFieldAccessor(
+                field,
+                getter.asType(GETTER_TYPE),
+                setter == null ? null : setter.asType(SETTER_TYPE),
+                primitiveSetter
+        );
+    }
+
+    private static FieldAccessor reflective(Field field, Exception cause) {
+        try {
+            return ReflectiveAccessorStrategy.INSTANCE.resolve(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            e.addSuppressed(cause);
+            return new InaccessibleFieldAccessor(field, e);
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> declaringClass) {
+        try {
+            return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            // The declaring class is in a module which has not been opened to us, so only public members are usable
+            return MethodHandles.publicLookup();
+        }
+    }
+
+    /**
+     * Method handles only write to final fields which are non-static and have been made accessible. Static final
+     * fields and the fields of records cannot be written at all, in which case null is returned.
+     */
+    private static MethodHandle finalFieldSetter(MethodHandles.Lookup lookup, Field field) {
+        if (Modifier.isStatic(field.getModifiers())) {
+            return null;
+        }
+
+        try {
+            field.setAccessible(true);
+            return lookup.unreflectSetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gives handles to static members the same leading receiver parameter as handles to instance members.
+     */
+    private static MethodHandle receiver(MethodHandle handle, int modifiers) {
+        if (Modifier.isStatic(modifiers)) {
+            return MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        return handle;
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+
+        return new UndeclaredThrowableException(e);
+    }
+
+    /**
+     * A field accessor for a field which neither method handles nor reflection can reach. Resolving the field does
+     * not fail, so that the other fields of the class can still be bound, but every attempt to use it does.
+     */
+    private static class InaccessibleFieldAccessor implements FieldAccessor {
+        private final Field field;
+        private final Exception cause;
+
+        InaccessibleFieldAccessor(Field field, Exception cause) {
+            this.field = field;
+            this.cause = cause;
+        }
+
+        @Override
+        public Object get(Object instance) {
+            throw new IllegalStateException("Field " + field + " is not accessible", cause);
+        }
+
+        @Override
+        public void set(Object instance, Object value) {
+            throw new IllegalStateException("Field " + field + " is not accessible", cause);
+        }
+    }
+
+    /**
+     * A field accessor which invokes pre-bound method handles. The primitive setters invoke a handle which takes the
+     * unboxed value when the field has the matching primitive type and fall back to boxing otherwise.
+     */
+    private static class MethodHandleFieldAccessor implements FieldAccessor {
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle primitiveSetter;
+        private final Class<?> type;
+
+        MethodHandleFieldAccessor(Field field, MethodHandle getter, MethodHandle setter, MethodHandle primitiveSetter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+            this.primitiveSetter = primitiveSetter;
+            this.type = primitiveSetter == null ? null : field.getType();
+        }
+
+        @Override
+        public Object get(Object instance) {
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void set(Object instance, Object value) {
+            if (setter == null) {
+                throw new IllegalStateException("Final field " + field + " cannot be set");
+            }
+
+            try {
+                setter.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setInt(Object instance, int value) {
+            if (type != int.class) {
+                set(instance, value);
+                return;
+            }
+
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setLong(Object instance, long value) {
+            if (type != long.class) {
+                set(instance, value);
+                return;
+            }
+
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setShort(Object instance, short value) {
+            if (type != short.class) {
+                set(instance, value);
+                return;
+            }
+
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setByte(Object instance, byte value) {
+            if (type != byte.class) {
+                set(instance, value);
+                return;
+            }
+
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setFloat(Object instance, float value) {
+            if (type != float.class) {
+                set(instance, value);
+                return;
+            }
+
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setDouble(Object instance, double value) {
+            if (type != double.class) {
+                set(instance, value);
+                return;
+            }
+
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setChar(Object instance, char value) {
+            if (type != char.class) {
+                set(instance, value);
+                return;
+            }
+
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setBoolean(Object instance, boolean value) {
+            if (type != boolean.class) {
+                set(instance, value);
+                return;
+            }
+
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+    }
+}
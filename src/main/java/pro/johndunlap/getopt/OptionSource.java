@@ -0,0 +1,138 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Supplies values for options which were not given on the command line, such as from a configuration file or the
+ * environment. Sources are registered with {@link GetOpt#setOptionSources(java.util.List)} in order of precedence,
+ * and are consulted through the same {@link BindingPlan} as the command line, after it has been parsed. The command
+ * line always takes precedence, and each field is converted once, from the first source which has a value for it.
+ *
+ * <p>Values are keyed by the long names of options, without leading hyphens, such as {@code max-size}. A source
+ * supplies a single value per option, so a collection or array field receives at most one element from it.
+ * Positional fields are only bound from the command line.</p>
+ *
+ * @author John Dunlap
+ */
+public interface OptionSource {
+
+    /**
+     * Returns a description of this source for error messages, such as {@code environment variable APP_MAX_SIZE}.
+     *
+     * @param name The name of an option
+     * @return Where the value of the option came from
+     */
+    String describe(String name);
+
+    /**
+     * Returns the values which this source holds, keyed by option name. This is called once per parse, so sources
+     * which read files should cache what they read.
+     *
+     * @return The values, which must not be modified by the caller
+     * @throws ParseException If the values cannot be read
+     */
+    Map<String, String> values() throws ParseException;
+
+    /**
+     * Returns a source which reads the given environment variables instead of those which this source was created
+     * with. This lets a program which runs commands on behalf of other processes, such as a
+     * {@link pro.johndunlap.getopt.server.CommandServer}, read each command's own environment. Sources which do not
+     * read the environment return themselves.
+     *
+     * @param environment The environment variables
+     * @return A source which reads the given environment, or this source
+     */
+    default OptionSource withEnvironment(Map<String, String> environment) {
+        return this;
+    }
+
+    /**
+     * Returns a source which reads a properties file whose keys are option names. The file is parsed once and then
+     * cached by the source until its modification time or size changes, so the source should be created once and
+     * reused rather than created for every parse. A file which does not exist supplies no values, so a defaults file
+     * may be optional.
+     *
+     * @param path The properties file, which is read as UTF-8
+     * @return The source
+     */
+    static OptionSource properties(Path path) {
+        return new PropertiesFileSource(path);
+    }
+
+    /**
+     * Returns a source which reads environment variables whose names start with the given prefix. The rest of each
+     * name is the name of an option in upper case, with underscores in place of hyphens, so {@code APP_MAX_SIZE}
+     * supplies {@code --max-size} when the prefix is {@code APP_}.
+     *
+     * @param prefix The prefix of the variables, such as {@code APP_}
+     * @return The source
+     */
+    static OptionSource environment(String prefix) {
+        return environment(prefix, System.getenv());
+    }
+
+    /**
+     * Same as {@link #environment(String)}, except that the variables are read from the given map instead of the
+     * environment of this process.
+     *
+     * @param prefix The prefix of the variables
+     * @param environment The variables
+     * @return The source
+     */
+    static OptionSource environment(String prefix, Map<String, String> environment) {
+        return new EnvironmentSource(prefix, environment);
+    }
+
+    /**
+     * Returns a source which supplies the given values.
+     *
+     * @param description Describes where the values came from, such as {@code defaults}
+     * @param values The values, keyed by option name
+     * @return The source
+     */
+    static OptionSource of(String description, Map<String, String> values) {
+        Map<String, String> copy = Collections.unmodifiableMap(new HashMap<>(values));
+
+        return new OptionSource() {
+            @Override
+            public String describe(String name) {
+                return description + " " + name;
+            }
+
+            @Override
+            public Map<String, String> values() {
+                return copy;
+            }
+        };
+    }
+}
@@ -0,0 +1,192 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import pro.johndunlap.getopt.exception.AmbiguousOptionException;
+
+/**
+ * An immutable character trie which resolves option names to bindings. Names are matched directly against the raw
+ * argument, starting at an offset which skips the leading hyphens, so resolving an option allocates nothing. Every
+ * node also knows whether all of the names below it belong to the same option, which allows unambiguous prefixes to be
+ * resolved in time proportional to their length.
+ *
+ * @author John Dunlap
+ */
+public final class OptionTrie {
+    private final Node root;
+
+    /**
+     * Builds a trie from the given option names.
+     *
+     * @param bindings Bindings keyed by option name, without leading hyphens
+     */
+    public OptionTrie(Map<String, FieldBinding> bindings) {
+        NodeBuilder builder = new NodeBuilder();
+
+        for (Map.Entry<String, FieldBinding> entry : bindings.entrySet()) {
+            NodeBuilder node = builder;
+
+            for (int i = 0; i < entry.getKey().length(); i++) {
+                node = node.children.computeIfAbsent(entry.getKey().charAt(i), key -> new NodeBuilder());
+            }
+
+            node.name = entry.getKey();
+            node.binding = entry.getValue();
+        }
+
+        this.root = builder.build();
+    }
+
+    /**
+     * Returns the binding whose name is exactly the part of the token which starts at the given offset, or null if
+     * there is no such option.
+     *
+     * @param token The raw argument
+     * @param offset The index of the first character of the name
+     * @return The binding, or null
+     */
+    public FieldBinding find(String token, int offset) {
+        Node node = walk(token, offset);
+        return node == null ? null : node.binding;
+    }
+
+    /**
+     * Same as {@link #find(String, int)}, except that a name which is not found is treated as an abbreviation of the
+     * only option which starts with it.
+     *
+     * @param token The raw argument
+     * @param offset The index of the first character of the name or abbreviation
+     * @return The binding, or null if no option starts with the abbreviation
+     * @throws AmbiguousOptionException If more than one option starts with the abbreviation
+     */
+    public FieldBinding findAbbreviated(String token, int offset) throws AmbiguousOptionException {
+        Node node = walk(token, offset);
+
+        if (node == null || offset >= token.length()) {
+            return null;
+        }
+
+        if (node.binding != null) {
+            return node.binding;
+        }
+
+        if (node.only != null) {
+            return node.only;
+        }
+
+        List<String> candidates = new ArrayList<>();
+        node.collectNames(candidates);
+        throw new AmbiguousOptionException(token.substring(offset), candidates);
+    }
+
+    private Node walk(String token, int offset) {
+        Node node = root;
+
+        for (int i = offset; i < token.length() && node != null; i++) {
+            node = node.child(token.charAt(i));
+        }
+
+        return node;
+    }
+
+    /**
+     * A node whose children are kept in parallel arrays sorted by character.
+     */
+    private static final class Node {
+        private final char[] keys;
+        private final Node[] children;
+        private final String name;
+        private final FieldBinding binding;
+
+        /**
+         * The binding of every name below this node, or null if the names belong to different bindings.
+         */
+        private final FieldBinding only;
+
+        Node(char[] keys, Node[] children, String name, FieldBinding binding, FieldBinding only) {
+            this.keys = keys;
+            this.children = children;
+            this.name = name;
+            this.binding = binding;
+            this.only = only;
+        }
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        void collectNames(List<String> names) {
+            if (name != null) {
+                names.add(name);
+            }
+
+            for (Node child : children) {
+                child.collectNames(names);
+            }
+        }
+    }
+
+    /**
+     * A mutable node which is only used while the trie is being built.
+     */
+    private static final class NodeBuilder {
+        private final Map<Character, NodeBuilder> children = new TreeMap<>();
+        private String name;
+        private FieldBinding binding;
+
+        Node build() {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            FieldBinding only = binding;
+            boolean mixed = false;
+            int index = 0;
+
+            for (Map.Entry<Character, NodeBuilder> entry : children.entrySet()) {
+                Node child = entry.getValue().build();
+                keys[index] = entry.getKey();
+                nodes[index++] = child;
+
+                // A child with mixed bindings, or a different binding, makes this node ambiguous
+                if (child.only == null || (only != null && only != child.only)) {
+                    mixed = true;
+                }
+
+                if (only == null) {
+                    only = child.only;
+                }
+            }
+
+            return new Node(keys, nodes, name, binding, mixed ? null : only);
+        }
+    }
+}
@@ -28,26 +28,21 @@ package pro.johndunlap.getopt;
 
 import static java.lang.String.format;
 
-import java.lang.reflect.Array;
 import java.lang.reflect.Field;
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
-import java.util.Stack;
+import java.util.function.Consumer;
 import pro.johndunlap.getopt.annotation.Arg;
-import pro.johndunlap.getopt.annotation.GetOptOrdered;
-import pro.johndunlap.getopt.annotation.Help;
-import pro.johndunlap.getopt.annotation.Ignore;
-import pro.johndunlap.getopt.exception.DuplicateOptionException;
+import pro.johndunlap.getopt.exception.AmbiguousOptionException;
+import pro.johndunlap.getopt.exception.ErrorCode;
 import pro.johndunlap.getopt.exception.InaccessibleFieldException;
 import pro.johndunlap.getopt.exception.MissingNoArgConstructorException;
 import pro.johndunlap.getopt.exception.ParseException;
@@ -60,16 +55,34 @@ import pro.johndunlap.getopt.exception.UnsupportedTypeConversionException;
  * @param <T> The type of the object being populated with parsed arguments
  */
 public class ParseContext<T> {
-    private final Map<String, Field> namedFields = new HashMap<>();
-    private final List<Field> orderedFields = new ArrayList<>();
-    private final List<Field> requiredFields = new ArrayList<>();
-    private final Stack<String> queue;
-    private final T instance;
+    private final BindingPlan<T> plan;
+    private final Map<String, FieldBinding> namedBindings;
+    private final List<FieldBinding> orderedBindings;
+    private final TokenCursor cursor;
+    private T instance;
+    private Object target;
     private final Map<Class<?>, TypeConverter<?>> typeConverters;
-    private final Set<String> helpTokens = new HashSet<>();
-    private String currentName;
+    private String currentToken;
+    private int currentOffset;
+    private char currentCode;
+    private boolean abbreviations = false;
+    private boolean stackTraces = true;
+    private FieldBinding currentBinding;
     private int currentOrderedIndex = 0;
     private boolean helpRequested = false;
+    private Map<FieldBinding, ArrayBuilder> arrayBuilders;
+    private List<OptionSource> optionSources = Collections.emptyList();
+
+    /**
+     * The fields which have been given a value, which is only tracked while there are option sources to fall back on.
+     */
+    private Set<FieldBinding> assigned;
+
+    /**
+     * Whether the arguments are bound to an instance which the caller supplied, whose values take precedence over the
+     * option sources.
+     */
+    private boolean existingInstance;
 
     /**
      * Create a new ParseContext for the given class type and string arguments.
@@ -81,122 +94,309 @@ public class ParseContext<T> {
      */
     public ParseContext(Class<T> classType, String[] args, Map<Class<?>, TypeConverter<?>> typeConverters)
             throws ParseException {
-        this.queue = new Stack<>();
+        this(BindingPlan.of(classType), args, typeConverters);
+    }
+
+    /**
+     * Create a new ParseContext for the given binding plan and string arguments.
+     *
+     * @param plan The compiled binding plan of the class which will be instantiated and populated
+     * @param args The string arguments to parse
+     * @param typeConverters The map of value parsers to use when parsing values
+     * @throws MissingNoArgConstructorException If the class type does not have a public default constructor
+     */
+    public ParseContext(BindingPlan<T> plan, String[] args, Map<Class<?>, TypeConverter<?>> typeConverters)
+            throws ParseException {
+        this(plan, new TokenCursor(args), typeConverters);
+    }
+
+    /**
+     * Create a new ParseContext for the given binding plan which reads its arguments from the given cursor.
+     *
+     * @param plan The compiled binding plan of the class which will be instantiated and populated
+     * @param cursor The cursor from which the arguments are read
+     * @param typeConverters The map of value parsers to use when parsing values
+     * @throws MissingNoArgConstructorException If the class type does not have a public default constructor
+     */
+    public ParseContext(BindingPlan<T> plan, TokenCursor cursor, Map<Class<?>, TypeConverter<?>> typeConverters)
+            throws ParseException {
+        this(plan, cursor, typeConverters, null);
+    }
+
+    /**
+     * Create a new ParseContext which binds the arguments of the given cursor to an existing instance. Fields which
+     * are not named by the arguments keep the values which they already have.
+     *
+     * @param plan The compiled binding plan of the class which will be populated
+     * @param cursor The cursor from which the arguments are read
+     * @param typeConverters The map of value parsers to use when parsing values
+     * @param target The instance to populate, or null if a new instance should be created
+     * @throws MissingNoArgConstructorException If a new instance is needed and the class type does not have a public
+     *     default constructor
+     */
+    public ParseContext(BindingPlan<T> plan, TokenCursor cursor, Map<Class<?>, TypeConverter<?>> typeConverters,
+                        T target) throws ParseException {
+        this.plan = plan;
+        this.namedBindings = plan.getNamedBindings();
+        this.orderedBindings = plan.getOrderedBindings();
+        this.cursor = cursor;
         this.typeConverters = typeConverters;
+        start(target);
+    }
 
-        Help helpAnnotation;
+    /**
+     * Prepares this context to parse the arguments which its cursor has been repositioned at, into a new instance.
+     * Everything which was learned while parsing the previous arguments is forgotten, but the context's own
+     * buffers are kept so that a {@link ParseSession} can parse repeatedly without allocating new ones.
+     *
+     * @return This parse context
+     * @throws MissingNoArgConstructorException If the class type does not have a public default constructor
+     */
+    public ParseContext<T> reset() throws ParseException {
+        return reset(null);
+    }
 
-        if (classType.getDeclaredAnnotation(Help.class) != null) {
-            helpAnnotation = classType.getDeclaredAnnotation(Help.class);
-        } else {
-            helpAnnotation = GetDefaults.class.getDeclaredAnnotation(Help.class);
+    /**
+     * Same as {@link #reset()}, except that the arguments are bound to the given instance. Fields which are not named
+     * by the arguments keep the values which they already have.
+     *
+     * @param target The instance to populate, or null if a new instance should be created
+     * @return This parse context
+     * @throws MissingNoArgConstructorException If a new instance is needed and the class type does not have a public
+     *     default constructor
+     */
+    public ParseContext<T> reset(T target) throws ParseException {
+        this.currentToken = null;
+        this.currentOffset = 0;
+        this.currentCode = 0;
+        this.currentBinding = null;
+        this.currentOrderedIndex = 0;
+        this.helpRequested = false;
+
+        if (arrayBuilders != null) {
+            arrayBuilders.clear();
         }
 
-        for (String token : helpAnnotation.helpTokens()) {
-            helpTokens.add(token);
+        if (assigned != null) {
+            assigned.clear();
+        }
+
+        start(target);
+        return this;
+    }
+
+    /**
+     * Chooses what values are bound to. Immutable classes collect their values in slots and are created once parsing
+     * has finished, while other classes are bound directly.
+     */
+    private void start(T target) throws ParseException {
+        SlotConstructor<T> slotConstructor = plan.getSlotConstructor();
+
+        if (slotConstructor != null) {
+            if (target != null) {
+                throw new ParseException(format("Class %s is created through its constructor, so arguments cannot be"
+                        + " bound to an existing instance", plan.getClassType().getName()));
+            }
+
+            this.instance = null;
+            this.target = slotConstructor.newSlots();
+        } else {
+            this.instance = target != null ? target : newInstance();
+            this.target = instance;
         }
 
-        // Add the string args to the stack in reverse order
-        for (int i = args.length - 1; i >= 0; i--) {
-            this.queue.push(args[i]);
+        // Fields of an existing instance keep their values
+        this.existingInstance = target != null;
+
+        if (target == null) {
+            initialize();
         }
+    }
+
+    private T newInstance() throws ParseException {
+        Class<T> classType = plan.getClassType();
 
         // Attempt to construct the instance which will be returned
         try {
-            this.instance = classType.getDeclaredConstructor().newInstance();
+            return plan.newInstance();
         } catch (Exception e) {
             String message = format("Class %s must have a public no-arg constructor", classType.getCanonicalName());
             throw new MissingNoArgConstructorException(message, e, classType);
         }
+    }
 
-        // Associate flag names with class fields
-        for (Field field : classType.getDeclaredFields()) {
-            // Ignore fields marked with the @GetOptIgnore annotation
-            if (field.getAnnotation(Ignore.class) != null) {
-                continue;
+    private void initialize() {
+        // Initialize boolean fields to false by default
+        for (FieldBinding binding : plan.getBooleanBindings()) {
+            binding.getAccessor().setBoolean(target, false);
+        }
+    }
+
+    /**
+     * Makes the option with the given name the target of the next named value.
+     *
+     * @param currentName The name of the option, without leading hyphens
+     * @return This parse context
+     */
+    public ParseContext<T> setCurrentName(String currentName) {
+        this.currentToken = currentName;
+        this.currentOffset = 0;
+        this.currentBinding = namedBindings.get(currentName);
+        return this;
+    }
+
+    /**
+     * Makes the option whose name starts at the given offset of the raw argument the target of the next named value.
+     * The name is resolved without being copied out of the argument. If abbreviations are enabled, a name which is
+     * not found is resolved as an abbreviation of the only option which starts with it.
+     *
+     * @param token The raw argument, such as {@code --verbose}
+     * @param offset The index of the first character of the name
+     * @return This parse context
+     * @throws AmbiguousOptionException If abbreviations are enabled and more than one option starts with the name
+     */
+    public ParseContext<T> setCurrentOption(String token, int offset) throws AmbiguousOptionException {
+        this.currentToken = token;
+        this.currentOffset = offset;
+
+        if (abbreviations) {
+            try {
+                this.currentBinding = plan.getOptionTrie().findAbbreviated(token, offset);
+            } catch (AmbiguousOptionException e) {
+                e.withTokenIndex(tokenIndex());
+                throw e;
             }
+        } else {
+            this.currentBinding = plan.getOptionTrie().find(token, offset);
+        }
 
-            GetOptOrdered orderedAnnotation = field.getAnnotation(GetOptOrdered.class);
+        return this;
+    }
 
-            if (orderedAnnotation != null) {
-                orderedFields.add(field);
+    /**
+     * Enables GNU style abbreviations, which allow a long option to be given as any prefix which identifies it
+     * unambiguously, such as {@code --verb} for {@code --verbose}. Abbreviations are disabled by default.
+     *
+     * @param abbreviations True if abbreviations should be accepted
+     * @return This parse context
+     */
+    public ParseContext<T> setAbbreviations(boolean abbreviations) {
+        this.abbreviations = abbreviations;
+        return this;
+    }
 
-                // Remember required fields
-                if (orderedAnnotation.required()) {
-                    requiredFields.add(field);
-                }
-            } else {
-                Arg namedOption = field.getAnnotation(Arg.class);
-
-                // Initialize boolean fields to false by default
-                if (field.getType().equals(Boolean.class) || field.getType().equals(boolean.class)) {
-                    try {
-                        ReflectionUtil.setFieldValue(field, instance, false);
-                    } catch (IllegalAccessException e) {
-                        throw new RuntimeException(e);
-                    }
-                }
+    /**
+     * Disables stack traces for the exceptions which are thrown while this context is parsed, which makes rejecting
+     * invalid arguments about as cheap as binding valid ones. Stack traces are enabled by default.
+     *
+     * @param stackTraces False if exceptions should be created without stack traces
+     * @return This parse context
+     * @see ParseException#setStackTraces(boolean)
+     */
+    public ParseContext<T> setStackTraces(boolean stackTraces) {
+        this.stackTraces = stackTraces;
+        return this;
+    }
 
-                if (namedOption != null) {
-                    // Remember required fields
-                    if (namedOption.required()) {
-                        requiredFields.add(field);
-                    }
-
-                    if (!namedOption.flag().equals("")) {
-                        if (!namedFields.containsKey(namedOption.flag())) {
-                            namedFields.put(namedOption.flag(), field);
-                        } else {
-                            throw new DuplicateOptionException("Duplicate option name: " + namedOption.flag(), field);
-                        }
-                    } else {
-                        // Attempt to infer usable flag from the field name. No attempt is made to infer a code because
-                        // conflicts are inevitable.
-                        String longName = Parser.camelCaseToHyphenCase(field.getName());
-
-                        if (!namedFields.containsKey(longName)) {
-                            namedFields.put(longName, field);
-                        }
-                    }
-
-                    if (namedOption.code() != ' ') {
-                        if (!namedFields.containsKey(namedOption.code() + "")) {
-                            namedFields.put(namedOption.code() + "", field);
-                        } else {
-                            throw new DuplicateOptionException("Duplicate option name: " + namedOption.code(), field);
-                        }
-                    }
-                } else {
-                    // Attempt to infer usable flag from the field name. No attempt is made to infer a code because
-                    // conflicts are inevitable.
-                    String longName = Parser.camelCaseToHyphenCase(field.getName());
+    public boolean isStackTraces() {
+        return stackTraces;
+    }
+
+    /**
+     * Sets the sources which supply values for options that the arguments do not name, in order of precedence.
+     *
+     * @param optionSources The sources, which are consulted by {@link #applyOptionSources()}
+     * @return This parse context
+     */
+    public ParseContext<T> setOptionSources(List<OptionSource> optionSources) {
+        this.optionSources = optionSources;
+        this.assigned = optionSources.isEmpty() ? null : Collections.newSetFromMap(new IdentityHashMap<>());
+        return this;
+    }
 
-                    if (!namedFields.containsKey(longName)) {
-                        namedFields.put(longName, field);
-                    }
+    /**
+     * Binds values from the option sources to the named options which the arguments did not set. Sources are
+     * consulted in order of precedence, and each field is converted once, from the first source which has a value
+     * for its long name. Fields are visited in the order in which they are declared. Nothing is bound when the
+     * arguments are bound to an existing instance, because the values which that instance already has take precedence
+     * over every source. This must be called once every argument has been parsed, and before {@link #finish()}.
+     *
+     * @throws ParseException If a source cannot be read or one of its values cannot be converted
+     */
+    public void applyOptionSources() throws ParseException {
+        if (assigned == null || helpRequested || existingInstance) {
+            return;
+        }
+
+        for (OptionSource source : optionSources) {
+            Map<String, String> values = source.values();
+
+            if (values.isEmpty()) {
+                continue;
+            }
+
+            for (Map.Entry<String, FieldBinding> entry : plan.getLongNameBindings().entrySet()) {
+                FieldBinding binding = entry.getValue();
+                String value = values.get(entry.getKey());
+
+                if (value != null && !assigned.contains(binding)) {
+                    bindFromSource(binding, value, source.describe(entry.getKey()));
                 }
             }
         }
+    }
 
-        // Sort the ordered fields
-        orderedFields.sort((f1, f2) -> {
-            GetOptOrdered f1o = f1.getAnnotation(GetOptOrdered.class);
-            GetOptOrdered f2o = f2.getAnnotation(GetOptOrdered.class);
-            return Integer.compare(f1o.order(), f2o.order());
-        });
+    private void bindFromSource(FieldBinding binding, String value, String origin) throws ParseException {
+        try {
+            bind(binding, value);
+        } catch (ParseException e) {
+            throw new ParseException(format("Invalid value %s for %s: %s", value, origin, e.getMessage()), e)
+                    .withErrorCode(e.getErrorCode())
+                    .withField(binding.getField())
+                    .withValue(value);
+        } catch (RuntimeException e) {
+            String message = format("Failed to set value %s from %s", value, origin);
+            throw new InaccessibleFieldException(message, e, plan.getClassType())
+                    .withField(binding.getField())
+                    .withValue(value);
+        }
     }
 
-    public ParseContext<T> setCurrentName(String currentName) {
-        this.currentName = currentName;
+    /**
+     * Makes the option with the given single character code the target of the next named value.
+     *
+     * @param currentCode The option code, without the leading hyphen
+     * @return This parse context
+     */
+    public ParseContext<T> setCurrentCode(char currentCode) {
+        this.currentToken = null;
+        this.currentCode = currentCode;
+        this.currentBinding = plan.getCodeBinding(currentCode);
         return this;
     }
 
+    /**
+     * Returns the instance which the arguments are bound to. Instances of immutable classes, which are created through
+     * a constructor, are only available once {@link #finish()} has been called.
+     *
+     * @return The instance
+     */
     public T getInstance() {
         return instance;
     }
 
-    public Stack<String> getQueue() {
-        return queue;
+    /**
+     * Returns the value which has been bound for the given field.
+     *
+     * @param binding The field
+     * @return The value of the field, or of the slot which holds it until an immutable instance is created
+     */
+    public Object getValue(FieldBinding binding) {
+        return binding.getAccessor().get(target);
+    }
+
+    public TokenCursor getCursor() {
+        return cursor;
     }
 
     /**
@@ -207,53 +407,224 @@ public class ParseContext<T> {
      */
     public void setOrderedValue(String stringValue) throws ParseException {
         int orderedIndex = currentOrderedIndex;
+        FieldBinding binding;
+
+        // A trailing collection collects every remaining positional value
+        if (currentOrderedIndex < orderedBindings.size()) {
+            binding = orderedBindings.get(currentOrderedIndex++);
+        } else if (!orderedBindings.isEmpty() && orderedBindings.get(orderedBindings.size() - 1).isCollection()) {
+            binding = orderedBindings.get(orderedBindings.size() - 1);
+        } else {
+            String message = format("Failed to set value %s for position %s", stringValue, orderedIndex);
+            throw new InaccessibleFieldException(message, null, plan.getClassType())
+                    .withErrorCode(ErrorCode.UNEXPECTED_ARGUMENT)
+                    .withValue(stringValue)
+                    .withTokenIndex(tokenIndex());
+        }
+
         try {
-            Field field = orderedFields.get(currentOrderedIndex++);
+            bind(binding, stringValue);
+        } catch (ParseException e) {
+            throw located(e, binding, stringValue);
+        } catch (RuntimeException e) {
+            String message = format("Failed to set value %s for position %s", stringValue, orderedIndex);
+            throw located(new InaccessibleFieldException(message, e, plan.getClassType()), binding, stringValue);
+        }
+    }
+
+    /**
+     * Records where the given exception occurred, unless it already knows.
+     */
+    private ParseException located(ParseException e, FieldBinding binding, String value) {
+        if (e.getField() == null) {
+            e.withField(binding.getField());
+        }
+
+        if (e.getValue() == null) {
+            e.withValue(value);
+        }
+
+        if (e.getTokenIndex() < 0) {
+            e.withTokenIndex(tokenIndex());
+        }
+
+        return e;
+    }
+
+    /**
+     * Returns the index of the token which is being bound, which is the token that the cursor consumed last.
+     */
+    private int tokenIndex() {
+        return cursor.getPosition() - 1;
+    }
+
+    /**
+     * Converts the given string value and sets it on the field, or adds it to the field if the field is a collection.
+     *
+     * @param binding The field to which the value should be bound
+     * @param value The string value to convert
+     * @throws ParseException If the value cannot be converted
+     */
+    private void bind(FieldBinding binding, String value) throws ParseException {
+        FieldAccessor accessor = binding.getAccessor();
+
+        if (assigned != null) {
+            assigned.add(binding);
+        }
+
+        // Are we dealing with a collection?
+        if (binding.isCollection()) {
+            Field field = binding.getField();
+
+            // It is not possible to add an element to a collection without an annotation because we need to know
+            // what type the collection contains
+            if (binding.getValueType() == null) {
+                String message = Arg.class.getName() + " is missing. This should never happen";
+                throw new NullPointerException(message);
+            }
+
+            Object parsedValue = convert(binding, value);
+
+            // Consumers are handed each value as soon as it is converted, so that nothing is retained
+            if (binding.isConsumer()) {
+                consumer(binding).accept(parsedValue);
+                return;
+            }
+
+            // Arrays are collected in a builder and assigned once parsing has finished
+            if (field.getType().isArray()) {
+                arrayBuilder(binding).add(parsedValue);
+                return;
+            }
+
+            // Add a value to the collection
+            Object existingValue = accessor.get(target);
+            existingValue = addToCollection(field, existingValue, field.getType(), binding.getValueType(), parsedValue);
+
+            // Overwrite the collection in the instance
+            accessor.set(target, existingValue);
+        } else if (binding.getScalarType() != ScalarType.OTHER) {
+            // Primitives are parsed and stored without boxing
+            binding.getScalarType().store(accessor, target, value, binding.getValueType());
+        } else {
+            accessor.set(target, convert(value, binding.getValueType(), converterFor(binding)));
+        }
+    }
+
+    /**
+     * Returns the consumer which has been assigned to the given field, normally by the field's initializer.
+     */
+    @SuppressWarnings("unchecked")
+    private Consumer<Object> consumer(FieldBinding binding) {
+        Consumer<Object> consumer = (Consumer<Object>) binding.getAccessor().get(target);
+
+        if (consumer == null) {
+            throw new IllegalStateException("Field " + binding.getField().getName()
+                    + " must be initialized with a consumer before arguments are parsed");
+        }
+
+        return consumer;
+    }
+
+    /**
+     * Returns the builder which collects the values of the given array field, seeding it with the array which is
+     * already assigned to the field.
+     */
+    private ArrayBuilder arrayBuilder(FieldBinding binding) {
+        if (arrayBuilders == null) {
+            arrayBuilders = new IdentityHashMap<>();
+        }
+
+        ArrayBuilder builder = arrayBuilders.get(binding);
+
+        if (builder == null) {
+            Object existing = binding.getAccessor().get(target);
+            builder = new ArrayBuilder(binding.getType().getComponentType(), existing);
+            arrayBuilders.put(binding, builder);
+        }
+
+        return builder;
+    }
+
+    /**
+     * Assigns the values which have been collected for array fields. This must be called once every argument has been
+     * parsed, and before the instance is inspected.
+     *
+     * @throws InaccessibleFieldException If an array cannot be assigned to its field
+     */
+    public void finish() throws ParseException {
+        if (arrayBuilders != null && !arrayBuilders.isEmpty()) {
+            assignArrays();
+        }
 
-            GetOptOrdered ordered = field.getAnnotation(GetOptOrdered.class);
+        // Immutable classes are created once every value is known
+        if (plan.getSlotConstructor() != null) {
+            instance = plan.getSlotConstructor().construct((Object[]) target);
+        }
+    }
 
-            // Bean properties without this annotation are considered to be named properties not ordered properties
-            if (ordered == null) {
-                throw new NullPointerException(GetOptOrdered.class.getName() + " is missing. This should never happen");
+    private void assignArrays() throws ParseException {
+        for (Map.Entry<FieldBinding, ArrayBuilder> entry : arrayBuilders.entrySet()) {
+            FieldBinding binding = entry.getKey();
+
+            try {
+                binding.getAccessor().set(target, entry.getValue().build());
+            } catch (RuntimeException e) {
+                String message = format("Failed to set values for field %s", binding.getField().getName());
+                throw new InaccessibleFieldException(message, e, plan.getClassType());
             }
+        }
+
+        // The map is kept so that a reset context can reuse it
+        arrayBuilders.clear();
+    }
+
+    /**
+     * Converts a string value into an instance of the value type of the given field.
+     */
+    private Object convert(FieldBinding binding, String value) throws ParseException {
+        if (binding.getScalarType() != ScalarType.OTHER) {
+            return binding.getScalarType().convert(value, binding.getValueType());
+        }
 
-            TypeConverter<?> typeConverter = null;
+        return convert(value, binding.getValueType(), converterFor(binding));
+    }
 
-            if (typeConverters.containsKey(field.getType())) {
-                typeConverter = typeConverters.get(field.getType());
-            } else if (!ordered.converter().equals(DefaultValueParser.class)) {
+    /**
+     * Converts a value whose type is not a {@link ScalarType} with the given converter.
+     */
+    private Object convert(String value, Class<?> fieldType, TypeConverter<?> typeConverter) throws ParseException {
+        try {
+            if (typeConverter != null) {
                 try {
-                    Class<? extends TypeConverter<?>> parserClass = ordered.converter();
-                    typeConverter = parserClass.getConstructor().newInstance();
+                    return typeConverter.read(value);
                 } catch (Exception e) {
-                    String message = format(
-                            "Class %s must have a public no-arg constructor",
-                            ordered.converter().getCanonicalName()
-                    );
-                    throw new RethrownException(message, e);
+                    throw new RethrownException(e).withErrorCode(ErrorCode.INVALID_VALUE);
                 }
             }
 
-            Class<?> fieldType = field.getType();
-            Object existingValue = ReflectionUtil.getFieldValue(field, instance);
-
-            // Are we dealing with a collection?
-            if (Collection.class.isAssignableFrom(fieldType) || fieldType.isArray()) {
-                Object parsedValue = parse(stringValue, ordered.collectionType(), typeConverter);
+            throw new UnsupportedTypeConversionException("Unsupported type: " + fieldType.getCanonicalName());
+        } catch (ParseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw ScalarType.failure(value, fieldType);
+        }
+    }
 
-                // Add a value to the collection
-                existingValue = addToCollection(field, existingValue, fieldType, ordered.collectionType(), parsedValue);
+    /**
+     * Returns the converter for the given field. Converters registered with {@link GetOpt} take precedence over the
+     * converter declared by the field's annotation, which has already been instantiated by the binding plan.
+     */
+    private TypeConverter<?> converterFor(FieldBinding binding) {
+        if (typeConverters != null && !typeConverters.isEmpty()) {
+            TypeConverter<?> registered = typeConverters.get(binding.getValueType());
 
-                // Overwrite the collection in the instance
-                ReflectionUtil.setFieldValue(field, instance, existingValue);
-            } else {
-                Object parsedValue = parse(stringValue, fieldType, typeConverter);
-                ReflectionUtil.setFieldValue(field, instance, parsedValue);
+            if (registered != null) {
+                return registered;
             }
-        } catch (RuntimeException | IllegalAccessException e) {
-            String message = format("Failed to set value %s for position %s", stringValue, orderedIndex);
-            throw new InaccessibleFieldException(message, e, instance.getClass());
         }
+
+        return binding.getConverter();
     }
 
     /**
@@ -285,16 +656,14 @@ public class ParseContext<T> {
 
                 ((Collection) collection).add(parsedValue);
             } else if (collectionType.isArray()) {
-                collection = Array.newInstance(elementType, 1);
-                ((Object[]) collection)[0] = parsedValue;
+                collection = new ArrayBuilder(collectionType.getComponentType(), null).add(parsedValue).build();
             }
         } else {
             if (Collection.class.isAssignableFrom(collectionType)) {
                 ((Collection) collection).add(parsedValue);
             } else if (collectionType.isArray()) {
-                List<Object> tmpList = new ArrayList<>(Arrays.asList((Object[]) collection));
-                tmpList.add(parsedValue);
-                collection = tmpList.toArray(new Object[0]);
+                // Parsing collects arrays in an ArrayBuilder, so this only appends a single value
+                collection = new ArrayBuilder(collectionType.getComponentType(), collection).add(parsedValue).build();
             }
         }
 
@@ -309,111 +678,33 @@ public class ParseContext<T> {
      * @throws ParseException If the value cannot be parsed
      */
     public void setNamedValue(String value) throws ParseException {
-        try {
-            Field field = namedFields.get(currentName);
-
-            // Quietly return if the field cannot be found. This may be the result of the user passing the wrong flag
-            if (field == null) {
-                return;
-            }
-
-            // TODO: Is there a way to do this without querying the annotation again?
-            Arg named = field.getAnnotation(Arg.class);
-            Class<?> fieldType = field.getType();
-            TypeConverter<?> typeConverter = null;
-
-            if (typeConverters.containsKey(fieldType)) {
-                typeConverter = typeConverters.get(fieldType);
-            } else if (named != null && !named.converter().equals(DefaultValueParser.class)) {
-                typeConverter = ReflectionUtil.instantiate(named.converter());
-            }
+        FieldBinding binding = currentBinding;
 
-            Object existingValue = ReflectionUtil.getFieldValue(field, instance);
-
-            // Are we dealing with a collection?
-            if (Collection.class.isAssignableFrom(fieldType) || fieldType.isArray()) {
-                // It is not possible to add an element to a collection without this annotation because we need to know
-                // what type the collection contains
-                if (named == null) {
-                    String message = Arg.class.getName() + " is missing. This should never happen";
-                    throw new NullPointerException(message);
-                }
-
-                Object parsedValue = parse(value, named.collectionType(), typeConverter);
-
-                // Add a value to the collection
-                existingValue = addToCollection(field, existingValue, fieldType, named.collectionType(), parsedValue);
+        // Quietly return if the field cannot be found. This may be the result of the user passing the wrong flag
+        if (binding == null) {
+            return;
+        }
 
-                // Overwrite the collection in the instance
-                ReflectionUtil.setFieldValue(field, instance, existingValue);
-            } else {
-                Object parsedValue = parse(value, field.getType(), typeConverter);
-                ReflectionUtil.setFieldValue(field, instance, parsedValue);
-            }
-        } catch (RuntimeException | IllegalAccessException e) {
-            String message = format("Failed to set value %s for flag %s", value, currentName);
-            throw new InaccessibleFieldException(message, e, instance.getClass());
+        try {
+            bind(binding, value);
+        } catch (ParseException e) {
+            throw located(e, binding, value);
+        } catch (RuntimeException e) {
+            String name = currentToken != null ? currentToken.substring(currentOffset) : String.valueOf(currentCode);
+            String message = format("Failed to set value %s for flag %s", value, name);
+            throw located(new InaccessibleFieldException(message, e, plan.getClassType()), binding, value);
         }
     }
 
     protected Object parse(String value, Class<?> fieldType, TypeConverter<?> typeConverter)
             throws ParseException {
-        Object parsed = null;
-
-        try {
-            if (fieldType.equals(String.class)) {
-                return value;
-            }
-
-            if (fieldType.equals(Integer.class) || fieldType.equals(int.class)) {
-                parsed = Integer.parseInt(value);
-            } else if (fieldType.equals(Short.class) || fieldType.equals(short.class)) {
-                parsed = Short.parseShort(value);
-            } else if (fieldType.equals(Long.class) || fieldType.equals(long.class)) {
-                parsed = Long.parseLong(value);
-            } else if (fieldType.equals(Float.class) || fieldType.equals(float.class)) {
-                parsed = Float.parseFloat(value);
-            } else if (fieldType.equals(Double.class) || fieldType.equals(double.class)) {
-                parsed = Double.parseDouble(value);
-            } else if (fieldType.equals(Byte.class) || fieldType.equals(byte.class)) {
-                parsed = Byte.parseByte(value);
-            } else if (fieldType.equals(BigInteger.class)) {
-                parsed = new BigInteger(value);
-            } else if (fieldType.equals(BigDecimal.class)) {
-                parsed = new BigDecimal(value);
-            } else if (fieldType.equals(Character.class) || fieldType.equals(char.class)) {
-                // Throw an exception if the wrong number of characters are passed
-                if (value == null || value.length() != 1) {
-                    throw new ParseException(value, format("Value %s must contain exactly one character", value));
-                }
-
-                parsed = value.charAt(0);
-            } else if (isBoolean(fieldType)) {
-                if (value == null) {
-                    return false;
-                } else {
-                    return Boolean.parseBoolean(value);
-                }
-            } else if (typeConverter != null) {
-                try {
-                    parsed = typeConverter.read(value);
-                } catch (Exception e) {
-                    throw new RethrownException(e);
-                }
-            } else {
-                throw new UnsupportedTypeConversionException("Unsupported type: " + fieldType.getCanonicalName());
-            }
+        ScalarType scalarType = ScalarType.of(fieldType);
 
-            return parsed;
-        } catch (ParseException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ParseException(value, format(
-                "Failed to parse string %s into an instance of class %s",
-                value,
-                fieldType
-            ));
+        if (scalarType != ScalarType.OTHER) {
+            return scalarType.convert(value, fieldType);
         }
+
+        return convert(value, fieldType, typeConverter);
     }
 
     private static boolean isBoolean(Class<?> type) {
@@ -426,17 +717,19 @@ public class ParseContext<T> {
      * @return true if the current flag is a boolean flag
      */
     public boolean isBoolean() {
-        Field field = namedFields.get(currentName);
-
-        if (field == null) {
+        if (currentBinding == null) {
             return false;
         }
 
-        return isBoolean(field.getType());
+        return isBoolean(currentBinding.getType());
     }
 
     public List<Field> getRequiredFields() {
-        return requiredFields;
+        return plan.getRequiredFields();
+    }
+
+    public List<FieldBinding> getRequiredBindings() {
+        return plan.getRequiredBindings();
     }
 
     public boolean isHelpRequested() {
@@ -449,14 +742,10 @@ public class ParseContext<T> {
     }
 
     public boolean isHelpToken(String token) {
-        return helpTokens.contains(token);
+        return plan.getHelpTokens().contains(token);
     }
 
-    /**
-     * This class is used to dynamically get the default values of GetOpt annotations.
-     */
-    @Help
-    private static class GetDefaults {
-
+    public boolean isHelpCode(char code) {
+        return plan.isHelpCode(code);
     }
 }
@@ -0,0 +1,137 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.lang.reflect.Field;
+import pro.johndunlap.getopt.exception.ErrorCode;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * The outcome of binding one command line, which holds either the bound instance or the exception which prevented it
+ * from being bound. The details of a failure are also available from the result itself, so that rejected command
+ * lines can be reported without catching anything.
+ *
+ * @param <T> The type of the bound instance
+ * @author John Dunlap
+ * @see GetOpt#tryRead(Class, String[])
+ * @see GetOpt#readAll(Class, Iterable, java.util.concurrent.Executor)
+ */
+public final class ParseResult<T> {
+    private final T value;
+    private final ParseException exception;
+
+    private ParseResult(T value, ParseException exception) {
+        this.value = value;
+        this.exception = exception;
+    }
+
+    public static <T> ParseResult<T> success(T value) {
+        return new ParseResult<>(value, null);
+    }
+
+    public static <T> ParseResult<T> failure(ParseException exception) {
+        return new ParseResult<>(null, exception);
+    }
+
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * Returns the bound instance, or null if the command line could not be bound.
+     *
+     * @return The bound instance
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the exception which prevented the command line from being bound, or null if it was bound.
+     *
+     * @return The exception
+     */
+    public ParseException getException() {
+        return exception;
+    }
+
+    /**
+     * Returns the reason that the command line was rejected.
+     *
+     * @return The error code, or null if the command line was bound
+     */
+    public ErrorCode getErrorCode() {
+        return exception != null ? exception.getErrorCode() : null;
+    }
+
+    /**
+     * Returns the field which rejected its value.
+     *
+     * @return The field, or null if the command line was bound or the failure does not concern a single field
+     */
+    public Field getField() {
+        return exception != null ? exception.getField() : null;
+    }
+
+    /**
+     * Returns the value which was rejected. This is not to be confused with {@link #getValue()}, which returns the
+     * bound instance.
+     *
+     * @return The rejected value, or null if the command line was bound or the failure does not concern a value
+     */
+    public String getRejectedValue() {
+        return exception != null ? exception.getValue() : null;
+    }
+
+    /**
+     * Returns the index of the token which was rejected, counting from zero.
+     *
+     * @return The index of the token, or -1 if the command line was bound or the failure does not concern a token
+     */
+    public int getTokenIndex() {
+        return exception != null ? exception.getTokenIndex() : -1;
+    }
+
+    /**
+     * Returns the bound instance, or throws the exception which prevented the command line from being bound.
+     *
+     * @return The bound instance
+     * @throws ParseException If the command line could not be bound
+     */
+    public T get() throws ParseException {
+        if (exception != null) {
+            throw exception;
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "ParseResult{value=" + value + "}" : "ParseResult{exception=" + exception + "}";
+    }
+}
@@ -0,0 +1,160 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import pro.johndunlap.getopt.exception.ParseException;
+import pro.johndunlap.getopt.exception.RethrownException;
+
+/**
+ * Binds command lines to one class type over and over again. The parse context, the cursor and the buffers which
+ * collect array values are created by the first read and reset by every read which follows, so a long-running
+ * program, such as a REPL or a server, can parse each command without allocating them again.
+ *
+ * <p>Sessions are created by {@link GetOpt#session(Class)}. They are not thread-safe, so each thread should use its
+ * own, for example by keeping sessions in a {@link ThreadLocal} or a pool.</p>
+ *
+ * @param <T> The type of the class which command lines are bound to
+ * @author John Dunlap
+ */
+public final class ParseSession<T> {
+    private static final String[] NO_ARGS = new String[0];
+
+    private final GetOpt getOpt;
+    private final BindingPlan<T> plan;
+    private final TokenCursor cursor = new TokenCursor(NO_ARGS);
+    private final boolean stackTraces;
+    private ParseContext<T> context;
+
+    ParseSession(GetOpt getOpt, BindingPlan<T> plan) {
+        this.getOpt = getOpt;
+        this.plan = plan;
+        this.stackTraces = getOpt.isStackTraces();
+    }
+
+    public BindingPlan<T> getPlan() {
+        return plan;
+    }
+
+    /**
+     * Binds the given arguments to a new instance of the session's class type.
+     *
+     * @param args The arguments to bind
+     * @return An instance of the class type with the arguments bound to it
+     * @throws ParseException If the arguments could not be bound to the class type
+     */
+    public T read(String[] args) throws ParseException {
+        cursor.reset(args);
+        return parse();
+    }
+
+    /**
+     * Splits the given command line and binds it to a new instance of the session's class type.
+     *
+     * @param commandLine The command line to split and bind
+     * @return An instance of the class type with the arguments bound to it
+     * @throws ParseException If the command line could not be split or bound to the class type
+     * @see GetOpt#read(Class, CharSequence)
+     */
+    public T read(CharSequence commandLine) throws ParseException {
+        cursor.reset(ShellTokenizer.of(commandLine));
+        return parse();
+    }
+
+    /**
+     * Binds the given arguments to a new instance of the session's class type, returning a failed result instead of
+     * throwing if the arguments are rejected.
+     *
+     * @param args The arguments to bind
+     * @return The result, which holds either the bound instance or the reason that the arguments were rejected
+     * @see GetOpt#tryRead(Class, String[])
+     */
+    public ParseResult<T> tryRead(String[] args) {
+        cursor.reset(args);
+        return parseResult();
+    }
+
+    /**
+     * Splits the given command line and binds it to a new instance of the session's class type, returning a failed
+     * result instead of throwing if the command line is rejected.
+     *
+     * @param commandLine The command line to split and bind
+     * @return The result, which holds either the bound instance or the reason that the command line was rejected
+     * @see GetOpt#tryRead(Class, CharSequence)
+     */
+    public ParseResult<T> tryRead(CharSequence commandLine) {
+        cursor.reset(ShellTokenizer.of(commandLine));
+        return parseResult();
+    }
+
+    /**
+     * Binds the given arguments to an existing instance, optionally resetting it first.
+     *
+     * @param target The instance to bind the arguments to
+     * @param args The arguments to bind
+     * @param reset True if the bound fields should be reset before the arguments are bound
+     * @return The given instance
+     * @throws ParseException If the instance could not be reset or the arguments could not be bound to it
+     * @see GetOpt#readInto(Object, String[], boolean)
+     */
+    public T readInto(T target, String[] args, boolean reset) throws ParseException {
+        if (reset) {
+            plan.reset(target);
+        }
+
+        cursor.reset(args);
+        return parse(target);
+    }
+
+    private T parse() throws ParseException {
+        return parse(null, stackTraces);
+    }
+
+    private T parse(T target) throws ParseException {
+        return parse(target, stackTraces);
+    }
+
+    private T parse(T target, boolean stackTraces) throws ParseException {
+        if (context == null) {
+            context = getOpt.newContext(plan, cursor, target);
+        } else {
+            context.reset(target);
+        }
+
+        GetOpt.parse(context.setStackTraces(stackTraces));
+        return context.getInstance();
+    }
+
+    private ParseResult<T> parseResult() {
+        try {
+            return ParseResult.success(parse(null, false));
+        } catch (ParseException e) {
+            return ParseResult.failure(e);
+        } catch (RuntimeException e) {
+            return ParseResult.failure(new RethrownException(e));
+        }
+    }
+}
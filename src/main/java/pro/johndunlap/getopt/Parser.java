@@ -43,51 +43,62 @@ public enum Parser {
         @Override
         protected <T> Parser execute(ParseContext<T> context) throws ParseException {
             try {
+                TokenCursor cursor = context.getCursor();
+
+                // Finish walking a short option cluster before moving on to the next argument
+                if (cursor.inCluster()) {
+                    return CLUSTER;
+                }
+
                 // There is nothing left to do
-                if (context.getQueue().size() == 0) {
+                if (!cursor.hasNext()) {
                     return null;
                 }
 
-                String arg = context.getQueue().peek();
+                String arg = cursor.peek();
 
                 if (arg.charAt(0) == '-') {
-                    if (arg.charAt(1) != '-') {
-                        // This is a single character flag and doesn't need to be expanded
-                        if (arg.length() == 2) {
-                            return FLAG;
-                        }
-
-                        // Remove the argument from the stack because it needs to be expanded into multiple arguments
-                        arg = context.getQueue().pop();
-
-                        // Convert the argument string(without the hyphen) into an array of characters
-                        char[] characters = arg.substring(1).toCharArray();
-
-                        // Expand multiple single letter options into multiple single letter options by looping
-                        // through the array in reverse order and adding them to the stack as individual arguments
-                        // so that the first character in the string is processed first
-                        for (int i = characters.length - 1; i >= 0; i--) {
-                            context.getQueue().push("-" + characters[i]);
-                        }
-
+                    // Multiple single character options which have been combined into one argument are walked in place
+                    if (arg.charAt(1) != '-' && arg.length() > 2) {
+                        cursor.beginCluster();
+                        return CLUSTER;
                     }
+
                     return FLAG;
                 }
 
                 // Set the next ordered value
+                cursor.pop();
                 context.setOrderedValue(arg);
-                context.getQueue().pop();
                 return NEUTRAL;
             } catch (RuntimeException e) {
                 throw new RethrownException(e);
             }
         }
     },
+    CLUSTER {
+        @Override
+        protected <T> Parser execute(ParseContext<T> context) throws ParseException {
+            try {
+                char code = context.getCursor().nextClusterCode();
+
+                // Remember that help has been requested but allow binding to continue
+                if (context.isHelpCode(code)) {
+                    context.setHelpRequested(true);
+                }
+
+                context.setCurrentCode(code);
+                return VALUE;
+            } catch (RuntimeException e) {
+                throw new RethrownException(e);
+            }
+        }
+    },
     FLAG {
         @Override
         protected <T> Parser execute(ParseContext<T> context) throws ParseException {
             try {
-                String arg = context.getQueue().pop();
+                String arg = context.getCursor().pop();
 
                 // Remember that help has been requested but allow binding to continue
                 if (context.isHelpToken(arg)) {
@@ -96,16 +107,15 @@ public enum Parser {
 
                 if (arg.charAt(0) == '-') {
                     if (arg.charAt(1) == '-') {
-                        context.setCurrentName(arg.substring(2));
+                        context.setCurrentOption(arg, 2);
                     } else {
-                        context.setCurrentName(arg.substring(1));
+                        context.setCurrentCode(arg.charAt(1));
                     }
 
                     return VALUE;
                 } else {
                     // Set the next ordered value
                     context.setOrderedValue(arg);
-                    context.getQueue().pop();
                     return NEUTRAL;
                 }
             } catch (RuntimeException e) {
@@ -117,20 +127,28 @@ public enum Parser {
         @Override
         protected <T> Parser execute(ParseContext<T> context) throws ParseException {
             try {
+                TokenCursor cursor = context.getCursor();
+
                 // Directly handle booleans which don't need values
                 if (context.isBoolean()) {
                     context.setNamedValue("true");
                     return NEUTRAL;
                 }
 
+                // An option in the middle of a short option cluster takes the rest of the cluster as its value
+                if (cursor.inCluster()) {
+                    context.setNamedValue(cursor.takeClusterRemainder());
+                    return NEUTRAL;
+                }
+
                 // Create an error when we don't have enough arguments
-                if (context.getQueue().size() == 0) {
+                if (!cursor.hasNext()) {
                     // TODO: Should we throw an exception if we have no arguments and required fields?
                     return null;
                 }
 
                 // Set the value
-                context.setNamedValue(context.getQueue().pop());
+                context.setNamedValue(cursor.pop());
 
                 return NEUTRAL;
             } catch (RuntimeException e) {
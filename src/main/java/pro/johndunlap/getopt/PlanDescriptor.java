@@ -0,0 +1,517 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.annotation.Help;
+import pro.johndunlap.getopt.annotation.Ignore;
+import pro.johndunlap.getopt.exception.DuplicateOptionException;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Everything which the annotations of an options class say about how it is bound: which fields are bound, the names
+ * and position of each, which are required, and the help message. A {@link BindingPlan} is linked from a descriptor,
+ * which is normally worked out from the annotations the first time that the class is bound.
+ *
+ * <p>Descriptors can also be written at build time, by the getopt-maven-plugin, into a compact binary resource named
+ * by {@link #resourceName(Class)}. When that resource is present it is read with a single read instead, so binding a
+ * class and rendering its help message never scan its annotations.</p>
+ *
+ * @author John Dunlap
+ */
+public final class PlanDescriptor {
+
+    /**
+     * The directory of the class path in which descriptors are stored.
+     */
+    public static final String RESOURCE_DIRECTORY = "META-INF/getopt/";
+
+    /**
+     * The suffix of the name of a descriptor resource.
+     */
+    public static final String RESOURCE_SUFFIX = ".bin";
+
+    private static final int MAGIC = 0x474F5054;
+    private static final int VERSION = 2;
+
+    /**
+     * Descriptors which were read from the class path, keyed by class. A {@link ClassValue} is used so that each
+     * resource is read at most once and the cache does not prevent classes from being unloaded. Resources which
+     * cannot be read are ignored, so that the class is bound through its annotations instead.
+     */
+    private static final ClassValue<Optional<PlanDescriptor>> LOADED = new ClassValue<>() {
+        @Override
+        protected Optional<PlanDescriptor> computeValue(Class<?> type) {
+            ClassLoader classLoader = type.getClassLoader();
+
+            if (classLoader == null) {
+                return Optional.empty();
+            }
+
+            try (InputStream in = classLoader.getResourceAsStream(resourceName(type))) {
+                if (in == null) {
+                    return Optional.empty();
+                }
+
+                PlanDescriptor descriptor = read(in);
+                return descriptor.className.equals(type.getName()) ? Optional.of(descriptor) : Optional.empty();
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    private final String className;
+    private final List<String> helpTokens;
+    private final List<FieldDescriptor> fields;
+    private final String helpText;
+
+    private PlanDescriptor(String className, List<String> helpTokens, List<FieldDescriptor> fields, String helpText) {
+        this.className = className;
+        this.helpTokens = Collections.unmodifiableList(helpTokens);
+        this.fields = Collections.unmodifiableList(fields);
+        this.helpText = helpText;
+    }
+
+    /**
+     * Returns the name of the resource which holds the descriptor of the given class.
+     *
+     * @param classType The options class
+     * @return The name of the resource, relative to the root of the class path
+     */
+    public static String resourceName(Class<?> classType) {
+        return RESOURCE_DIRECTORY + classType.getName() + RESOURCE_SUFFIX;
+    }
+
+    /**
+     * Returns the descriptor of the given class which was written to the class path at build time.
+     *
+     * @param classType The options class
+     * @return The descriptor, or null if the class path does not contain a readable descriptor of the class
+     */
+    public static PlanDescriptor load(Class<?> classType) {
+        return LOADED.get(classType).orElse(null);
+    }
+
+    /**
+     * Works out the complete descriptor of the given class from its annotations, including its help message. This is
+     * what build tools write to the class path.
+     *
+     * @param classType The options class
+     * @return The descriptor
+     * @throws ParseException If the class cannot be bound to, for example because it declares duplicate options
+     */
+    public static PlanDescriptor of(Class<?> classType) throws ParseException {
+        PlanDescriptor descriptor = describe(classType, SlotConstructor.of(classType) != null);
+        // The message is rendered afresh, because a descriptor from an earlier build may still be on the class path
+        return new PlanDescriptor(descriptor.className, descriptor.helpTokens, descriptor.fields,
+                HelpText.render(classType));
+    }
+
+    /**
+     * Returns true if the given class is an options class, which is one that is annotated with {@link Help} or declares
+     * a field which is annotated with {@link Arg} or {@link GetOptOrdered}. Classes which cannot be linked, because a
+     * class which they refer to is missing, are not options classes.
+     *
+     * @param type The class to inspect
+     * @return True if the class is an options class
+     */
+    public static boolean isOptionsClass(Class<?> type) {
+        try {
+            if (type.isAnnotation() || type.isInterface()) {
+                return false;
+            }
+
+            if (type.isAnnotationPresent(Help.class)) {
+                return true;
+            }
+
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Arg.class) || field.isAnnotationPresent(GetOptOrdered.class)) {
+                    return true;
+                }
+            }
+
+            return false;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Works out how the given class is bound from its annotations. The help message is left out, because it is
+     * rendered separately when it is needed.
+     *
+     * @param classType The options class
+     * @param slots True if the class is created through a {@link SlotConstructor}, which means that static and
+     *     synthetic fields are not bound
+     * @return The descriptor
+     * @throws DuplicateOptionException If two fields share an option
+     */
+    static PlanDescriptor describe(Class<?> classType, boolean slots) throws ParseException {
+        Help helpAnnotation = classType.getDeclaredAnnotation(Help.class);
+
+        if (helpAnnotation == null) {
+            helpAnnotation = GetDefaults.class.getDeclaredAnnotation(Help.class);
+        }
+
+        Set<String> names = new HashSet<>();
+        List<FieldDescriptor> fields = new ArrayList<>();
+
+        // Associate flag names with class fields
+        for (Field field : classType.getDeclaredFields()) {
+            // Ignore fields marked with the @GetOptIgnore annotation
+            if (field.getAnnotation(Ignore.class) != null) {
+                continue;
+            }
+
+            // Only the state of an instance is passed to its constructor
+            if (slots && (Modifier.isStatic(field.getModifiers()) || field.isSynthetic())) {
+                continue;
+            }
+
+            GetOptOrdered orderedAnnotation = field.getAnnotation(GetOptOrdered.class);
+            Arg namedOption = field.getAnnotation(Arg.class);
+
+            if (orderedAnnotation != null) {
+                fields.add(new FieldDescriptor(field.getName(), Collections.emptyList(), null, true,
+                        orderedAnnotation.order(), orderedAnnotation.required(),
+                        orderedAnnotation.collectionType(), orderedAnnotation.converter()));
+                continue;
+            }
+
+            List<String> fieldNames = new ArrayList<>(2);
+            String longName;
+
+            if (namedOption != null) {
+                if (!namedOption.flag().equals("")) {
+                    if (!names.add(namedOption.flag())) {
+                        throw new DuplicateOptionException("Duplicate option name: " + namedOption.flag(), field);
+                    }
+
+                    fieldNames.add(namedOption.flag());
+                    longName = namedOption.flag();
+                } else {
+                    longName = addInferredName(field, names, fieldNames);
+                }
+
+                if (namedOption.code() != ' ') {
+                    if (!names.add(namedOption.code() + "")) {
+                        throw new DuplicateOptionException("Duplicate option name: " + namedOption.code(), field);
+                    }
+
+                    fieldNames.add(namedOption.code() + "");
+                }
+
+                fields.add(new FieldDescriptor(field.getName(), fieldNames, longName, false, 0,
+                        namedOption.required(), namedOption.collectionType(), namedOption.converter()));
+            } else {
+                longName = addInferredName(field, names, fieldNames);
+                fields.add(new FieldDescriptor(field.getName(), fieldNames, longName, false, 0, false, (String) null,
+                        null));
+            }
+        }
+
+        return new PlanDescriptor(classType.getName(), Arrays.asList(helpAnnotation.helpTokens()), fields, null);
+    }
+
+    /**
+     * Attempts to infer a usable flag from the field name. No attempt is made to infer a code because conflicts are
+     * inevitable. Returns the inferred name, or null if another field already has it.
+     */
+    private static String addInferredName(Field field, Set<String> names, List<String> fieldNames) {
+        String longName = Parser.camelCaseToHyphenCase(field.getName());
+
+        if (names.add(longName)) {
+            fieldNames.add(longName);
+            return longName;
+        }
+
+        return null;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public List<String> getHelpTokens() {
+        return helpTokens;
+    }
+
+    /**
+     * Returns the bound fields, in the order in which the class declares them.
+     *
+     * @return The bound fields
+     */
+    public List<FieldDescriptor> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the rendered help message of the class.
+     *
+     * @return The help message, or null if the descriptor was not written at build time
+     */
+    public String getHelpText() {
+        return helpText;
+    }
+
+    /**
+     * Writes this descriptor in the binary form which {@link #read(InputStream)} reads.
+     *
+     * @param out The stream to write to, which is not closed
+     * @throws IOException If the stream throws
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        writeString(data, className);
+        data.writeInt(helpTokens.size());
+
+        for (String token : helpTokens) {
+            writeString(data, token);
+        }
+
+        data.writeInt(fields.size());
+
+        for (FieldDescriptor field : fields) {
+            writeString(data, field.fieldName);
+            data.writeBoolean(field.ordered);
+            data.writeInt(field.order);
+            data.writeBoolean(field.required);
+            writeString(data, field.collectionType);
+            writeString(data, field.converter);
+            data.writeInt(field.names.size());
+
+            for (String name : field.names) {
+                writeString(data, name);
+            }
+
+            writeString(data, field.longName);
+        }
+
+        writeString(data, helpText);
+        data.flush();
+    }
+
+    /**
+     * Reads a descriptor which was written by {@link #write(OutputStream)}. The stream is read completely, in a single
+     * read if it allows.
+     *
+     * @param in The stream to read from, which is not closed
+     * @return The descriptor
+     * @throws IOException If the stream throws or does not contain a descriptor of a supported version
+     */
+    public static PlanDescriptor read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(in.readAllBytes()));
+
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a getopt-databind descriptor");
+        }
+
+        int version = data.readShort();
+
+        if (version != VERSION) {
+            throw new IOException("Unsupported descriptor version " + version);
+        }
+
+        String className = readString(data);
+        List<String> helpTokens = new ArrayList<>();
+
+        for (int i = data.readInt(); i > 0; i--) {
+            helpTokens.add(readString(data));
+        }
+
+        List<FieldDescriptor> fields = new ArrayList<>();
+
+        for (int i = data.readInt(); i > 0; i--) {
+            String fieldName = readString(data);
+            boolean ordered = data.readBoolean();
+            int order = data.readInt();
+            boolean required = data.readBoolean();
+            String collectionType = readString(data);
+            String converter = readString(data);
+            List<String> names = new ArrayList<>(2);
+
+            for (int j = data.readInt(); j > 0; j--) {
+                names.add(readString(data));
+            }
+
+            String longName = readString(data);
+            fields.add(new FieldDescriptor(fieldName, names, longName, ordered, order, required, collectionType,
+                    converter));
+        }
+
+        return new PlanDescriptor(className, helpTokens, fields, readString(data));
+    }
+
+    /**
+     * Writes a string which may be null and may be longer than {@link DataOutputStream#writeUTF(String)} allows.
+     */
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        int length = data.readInt();
+
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Everything which the annotations of a single field say about how it is bound. Types are held by name so that
+     * descriptors can be written without loading them.
+     */
+    public static final class FieldDescriptor {
+        private final String fieldName;
+        private final List<String> names;
+        private final String longName;
+        private final boolean ordered;
+        private final int order;
+        private final boolean required;
+        private final String collectionType;
+        private final String converter;
+
+        private FieldDescriptor(String fieldName, List<String> names, String longName, boolean ordered, int order,
+                                boolean required, Class<?> collectionType,
+                                Class<? extends TypeConverter<?>> converter) {
+            this(fieldName, names, longName, ordered, order, required,
+                    collectionType == null ? null : collectionType.getName(),
+                    converter == null || converter.equals(DefaultValueParser.class) ? null : converter.getName());
+        }
+
+        private FieldDescriptor(String fieldName, List<String> names, String longName, boolean ordered, int order,
+                                boolean required, String collectionType, String converter) {
+            this.fieldName = fieldName;
+            this.names = Collections.unmodifiableList(names);
+            this.longName = longName;
+            this.ordered = ordered;
+            this.order = order;
+            this.required = required;
+            this.collectionType = collectionType;
+            this.converter = converter;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        /**
+         * Returns the names and single character codes by which the field is given on the command line, without
+         * leading hyphens. Positional fields have none.
+         *
+         * @return The names of the field
+         */
+        public List<String> getNames() {
+            return names;
+        }
+
+        /**
+         * Returns the long name of the field, which is the name that {@link OptionSource option sources} know it by.
+         *
+         * @return The long name, without leading hyphens, or null if the field is positional or is only known by its
+         *     single character code
+         */
+        public String getLongName() {
+            return longName;
+        }
+
+        public boolean isOrdered() {
+            return ordered;
+        }
+
+        /**
+         * Returns the value by which positional fields are sorted.
+         *
+         * @return The order of a positional field, or zero for named fields
+         */
+        public int getOrder() {
+            return order;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        /**
+         * Returns the name of the declared collection type.
+         *
+         * @return The name of the collection type, or null if the field is not annotated
+         */
+        public String getCollectionType() {
+            return collectionType;
+        }
+
+        /**
+         * Returns the name of the declared converter.
+         *
+         * @return The name of the converter, or null if the field does not declare one
+         */
+        public String getConverter() {
+            return converter;
+        }
+    }
+
+    /**
+     * This class is used to dynamically get the default values of GetOpt annotations.
+     */
+    @Help
+    private static class GetDefaults {
+
+    }
+}
@@ -0,0 +1,130 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import pro.johndunlap.getopt.exception.ParseException;
+import pro.johndunlap.getopt.exception.RethrownException;
+
+/**
+ * An {@link OptionSource} which reads a properties file. The parsed file is kept by the source and shared by every
+ * parse which uses it, and each parse only checks the attributes of the file to find out whether it has to be parsed
+ * again. Nothing outlives the source, so a long-running program holds at most one parsed copy of each file per
+ * source.
+ *
+ * @author John Dunlap
+ */
+final class PropertiesFileSource implements OptionSource {
+
+    private final Path path;
+
+    /**
+     * The most recently parsed values of the file. Parses which race to replace it each parse the file, and the last
+     * one wins.
+     */
+    private volatile Snapshot snapshot;
+
+    PropertiesFileSource(Path path) {
+        this.path = path.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String describe(String name) {
+        return "property " + name + " of " + path;
+    }
+
+    @Override
+    public Map<String, String> values() throws ParseException {
+        BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            snapshot = null;
+            return Collections.emptyMap();
+        } catch (IOException e) {
+            throw new RethrownException("Could not read options file " + path, e);
+        }
+
+        Snapshot current = snapshot;
+
+        if (current == null || !current.matches(attributes)) {
+            current = new Snapshot(attributes.lastModifiedTime(), attributes.size(), load());
+            snapshot = current;
+        }
+
+        return current.values;
+    }
+
+    private Map<String, String> load() throws ParseException {
+        Properties properties = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new RethrownException("Could not read options file " + path, e);
+        }
+
+        Map<String, String> values = new HashMap<>();
+
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
+
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * The values of a file, along with the attributes which it had when it was parsed.
+     */
+    private static final class Snapshot {
+        private final FileTime lastModified;
+        private final long size;
+        private final Map<String, String> values;
+
+        Snapshot(FileTime lastModified, long size, Map<String, String> values) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.values = values;
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return lastModified.equals(attributes.lastModifiedTime()) && size == attributes.size();
+        }
+    }
+}
@@ -30,10 +30,8 @@ import static java.lang.String.format;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.math.BigDecimal;
-import java.math.BigInteger;
+import java.lang.reflect.Modifier;
 import java.util.Collection;
 import pro.johndunlap.getopt.exception.MissingNoArgConstructorException;
 import pro.johndunlap.getopt.exception.ParseException;
@@ -56,33 +54,16 @@ public class ReflectionUtil {
      * getter (unlikely), then public field will be used. If both the field and the getter are private, the getter will
      * be used.
      *
+     * <p>This resolves the field from scratch on every call. Callers which access the same field repeatedly should
+     * resolve a {@link FieldAccessor} once and reuse it.</p>
+     *
      * @param field The field from which the value should be taken
      * @param instance The instance from which the value should be taken
      * @return The value of the field
      * @throws IllegalAccessException Thrown if the field or method is inaccessible
      */
     public static Object getFieldValue(Field field, Object instance) throws IllegalAccessException {
-        Method getterMethod = findGetterMethod(field);
-
-        try {
-            // Try public getter method first
-            return getterMethod.invoke(instance);
-        } catch (NullPointerException | InvocationTargetException | IllegalAccessException e1) {
-            try {
-                // Next, try public field
-                return field.get(instance);
-            } catch (IllegalAccessException e2) {
-                try {
-                    // Next try private getter method
-                    getterMethod.setAccessible(true);
-                    return getterMethod.invoke(instance);
-                } catch (NullPointerException | InvocationTargetException | IllegalAccessException e3) {
-                    // Finally, try private field
-                    field.setAccessible(true);
-                    return field.get(instance);
-                }
-            }
-        }
+        return MethodHandleAccessorStrategy.INSTANCE.resolve(field).get(instance);
     }
 
     /**
@@ -126,27 +107,42 @@ public class ReflectionUtil {
      */
     public static void setFieldValue(Field field, Object instance, Object value)
             throws IllegalAccessException {
-        Method setterMethod = findSetterMethod(field);
+        MethodHandleAccessorStrategy.INSTANCE.resolve(field).set(instance, value);
+    }
 
-        try {
-            // First, try public setter method
-            setterMethod.invoke(instance, value);
-        } catch (NullPointerException | IllegalAccessException | InvocationTargetException e1) {
-            try {
-                // Next, try public field
-                field.set(instance, value);
-            } catch (IllegalAccessException e2) {
-                try {
-                    // Next, try private setter method
-                    setterMethod.setAccessible(true);
-                    setterMethod.invoke(instance, value);
-                } catch (NullPointerException | IllegalAccessException | InvocationTargetException e3) {
-                    // Finally, try private field
-                    field.setAccessible(true);
-                    field.set(instance, value);
-                }
-            }
+    /**
+     * Returns the getter method which should be used to read the given field, or null if the field itself should be
+     * read. A public getter is preferred over the field. A public field is preferred over a private getter. A private
+     * getter is preferred over a private field.
+     *
+     * @param field The field which will be read
+     * @return The getter method to use, or null if the field should be read directly
+     */
+    public static Method preferredGetter(Field field) {
+        return preferred(findGetterMethod(field), field);
+    }
+
+    /**
+     * Returns the setter method which should be used to write the given field, or null if the field itself should be
+     * written. The same precedence as {@link #preferredGetter(Field)} is used.
+     *
+     * @param field The field which will be written
+     * @return The setter method to use, or null if the field should be written directly
+     */
+    public static Method preferredSetter(Field field) {
+        return preferred(findSetterMethod(field), field);
+    }
+
+    private static Method preferred(Method method, Field field) {
+        if (method == null) {
+            return null;
+        }
+
+        if (Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(field.getModifiers())) {
+            return method;
         }
+
+        return null;
     }
 
     /**
@@ -245,40 +241,16 @@ public class ReflectionUtil {
             throw new ParseException("Field type cannot be null");
         }
 
-        if (fieldType.equals(String.class)) {
-            return (T) value;
-        } else if (isInteger(fieldType)) {
-            return (T) Integer.valueOf(Integer.parseInt(value));
-        } else if (isShort(fieldType)) {
-            return (T) Short.valueOf(Short.parseShort(value));
-        } else if (isLong(fieldType)) {
-            return (T) Long.valueOf(Long.parseLong(value));
-        } else if (isFloat(fieldType)) {
-            return (T) Float.valueOf(Float.parseFloat(value));
-        } else if (isDouble(fieldType)) {
-            return (T) Double.valueOf(Double.parseDouble(value));
-        } else if (isByte(fieldType)) {
-            return (T) Byte.valueOf(Byte.parseByte(value));
-        } else if (fieldType.equals(BigInteger.class)) {
-            return (T) new BigInteger(value);
-        } else if (fieldType.equals(BigDecimal.class)) {
-            return (T) new BigDecimal(value);
-        } else if (isCharacter(fieldType)) {
-            // Throw an exception if the wrong number of characters are passed
-            if (value == null || value.length() != 1) {
-                throw new ParseException(
-                        value,
-                        format("Value \"%s\" must be exactly one character in length", value)
-                );
-            }
+        ScalarType scalarType = ScalarType.of(fieldType);
 
-            return (T) Character.valueOf(value.charAt(0));
-        } else if (isBoolean(fieldType)) {
-            if (value == null) {
-                return (T) Boolean.valueOf(false);
-            } else {
-                return (T) Boolean.valueOf(Boolean.parseBoolean(value));
-            }
+        if (scalarType == ScalarType.CHAR && (value == null || value.length() != 1)) {
+            // Throw an exception if the wrong number of characters are passed
+            throw new ParseException(
+                    value,
+                    format("Value \"%s\" must be exactly one character in length", value)
+            );
+        } else if (scalarType != ScalarType.OTHER) {
+            return (T) scalarType.parse(value);
         }
 
         throw new ParseException("Unable to parse value " + value + " into type " + fieldType);
@@ -0,0 +1,108 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * An {@link AccessorStrategy} which uses core reflection instead of method handles. The getter, setter and field are
+ * chosen and made accessible once, so no lookups are performed when values are bound. This is mostly useful in
+ * environments where method handles are unavailable or expensive to create.
+ *
+ * @author John Dunlap
+ */
+public class ReflectiveAccessorStrategy implements AccessorStrategy {
+    public static final ReflectiveAccessorStrategy INSTANCE = new ReflectiveAccessorStrategy();
+
+    @Override
+    public FieldAccessor resolve(Field field) throws IllegalAccessException {
+        Method getter = ReflectionUtil.preferredGetter(field);
+        Method setter = ReflectionUtil.preferredSetter(field);
+
+        try {
+            field.setAccessible(true);
+
+            if (getter != null) {
+                getter.setAccessible(true);
+            }
+
+            if (setter != null) {
+                setter.setAccessible(true);
+            }
+        } catch (RuntimeException e) {
+            IllegalAccessException exception = new IllegalAccessException("Unable to access field " + field);
+            exception.initCause(e);
+            throw exception;
+        }
+
+        return new ReflectiveFieldAccessor(field, getter, setter);
+    }
+
+    /**
+     * A field accessor which invokes methods and fields that have already been made accessible.
+     */
+    private static class ReflectiveFieldAccessor implements FieldAccessor {
+        private final Field field;
+        private final Method getter;
+        private final Method setter;
+
+        ReflectiveFieldAccessor(Field field, Method getter, Method setter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public Object get(Object instance) {
+            try {
+                if (getter != null) {
+                    return getter.invoke(instance);
+                }
+
+                return field.get(instance);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        }
+
+        @Override
+        public void set(Object instance, Object value) {
+            try {
+                if (setter != null) {
+                    setter.invoke(instance, value);
+                } else {
+                    field.set(instance, value);
+                }
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import pro.johndunlap.getopt.exception.ErrorCode;
+import pro.johndunlap.getopt.exception.ParseException;
+import pro.johndunlap.getopt.exception.UnsupportedTypeConversionException;
+
+/**
+ * The types which can be converted from strings without a {@link TypeConverter}. The scalar type of a field is looked
+ * up once, when its {@link BindingPlan} is compiled, so that converting a value is a single virtual call instead of a
+ * chain of type comparisons. Values of primitive fields are parsed and stored through the primitive setters of
+ * {@link FieldAccessor} so that they are never boxed.
+ *
+ * @author John Dunlap
+ */
+public enum ScalarType {
+    STRING(String.class) {
+        @Override
+        public Object parse(String value) {
+            return value;
+        }
+    },
+    INT(int.class, Integer.class) {
+        @Override
+        protected boolean isWellFormed(String value) {
+            return isInteger(value);
+        }
+
+        @Override
+        public Object parse(String value) {
+            return Integer.parseInt(value);
+        }
+
+        @Override
+        public void store(FieldAccessor accessor, Object instance, String value, Class<?> type)
+                throws ParseException {
+            accessor.setInt(instance, (int) integral(value, type, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        }
+    },
+    SHORT(short.class, Short.class) {
+        @Override
+        protected boolean isWellFormed(String value) {
+            return isInteger(value);
+        }
+
+        @Override
+        public Object parse(String value) {
+            return Short.parseShort(value);
+        }
+
+        @Override
+        public void store(FieldAccessor accessor, Object instance, String value, Class<?> type)
+                throws ParseException {
+            accessor.setShort(instance, (short) integral(value, type, Short.MIN_VALUE, Short.MAX_VALUE));
+        }
+    },
+    LONG(long.class, Long.class) {
+        @Override
+        protected boolean isWellFormed(String value) {
+            return isInteger(value);
+        }
+
+        @Override
+        public Object parse(String value) {
+            return Long.parseLong(value);
+        }
+
+        @Override
+        public void store(FieldAccessor accessor, Object instance, String value, Class<?> type)
+                throws ParseException {
+            accessor.setLong(instance, integral(value, type, Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+    },
+    FLOAT(float.class, Float.class) {
+        @Override
+        public Object parse(String value) {
+            return Float.parseFloat(value);
+        }
+
+        @Override
+        public void store(FieldAccessor accessor, Object instance, String value, Class<?> type)
+                throws ParseException {
+            float parsed;
+
+            try {
+                parsed = Float.parseFloat(value);
+            } catch (RuntimeException e) {
+                throw failure(value, type);
+            }
+
+            accessor.setFloat(instance, parsed);
+        }
+    },
+    DOUBLE(double.class, Double.class) {
+        @Override
+        public Object parse(String value) {
+            return Double.parseDouble(value);
+        }
+
+        @Override
+        public void store(FieldAccessor accessor, Object instance, String value, Class<?> type)
+                throws ParseException {
+            double parsed;
+
+            try {
+                parsed = Double.parseDouble(value);
+            } catch (RuntimeException e) {
+                throw failure(value, type);
+            }
+
+            accessor.setDouble(instance, parsed);
+        }
+    },
+    BYTE(byte.class, Byte.class) {
+        @Override
+        protected boolean isWellFormed(String value) {
+            return isInteger(value);
+        }
+
+        @Override
+        public Object parse(String value) {
+            return Byte.parseByte(value);
+        }
+
+        @Override
+        public void store(FieldAccessor accessor, Object instance, String value, Class<?> type)
+                throws ParseException {
+            accessor.setByte(instance, (byte) integral(value, type, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        }
+    },
+    BIG_INTEGER(BigInteger.class) {
+        @Override
+        protected boolean isWellFormed(String value) {
+            return isInteger(value);
+        }
+
+        @Override
+        public Object parse(String value) {
+            return new BigInteger(value);
+        }
+    },
+    BIG_DECIMAL(BigDecimal.class) {
+        @Override
+        public Object parse(String value) {
+            return new BigDecimal(value);
+        }
+    },
+    CHAR(char.class, Character.class) {
+        @Override
+        public Object parse(String value) {
+            if (value == null || value.length() != 1) {
+                throw new IllegalArgumentException(characterMessage(value));
+            }
+
+            return value.charAt(0);
+        }
+
+        @Override
+        public Object convert(String value, Class<?> type) throws ParseException {
+            // Throw an exception if the wrong number of characters are passed
+            if (value == null || value.length() != 1) {
+                throw new ParseException(value, characterMessage(value)).withErrorCode(ErrorCode.INVALID_VALUE);
+            }
+
+            return value.charAt(0);
+        }
+
+        @Override
+        public void store(FieldAccessor accessor, Object instance, String value, Class<?> type)
+                throws ParseException {
+            // Throw an exception if the wrong number of characters are passed
+            if (value == null || value.length() != 1) {
+                throw new ParseException(value, characterMessage(value)).withErrorCode(ErrorCode.INVALID_VALUE);
+            }
+
+            accessor.setChar(instance, value.charAt(0));
+        }
+    },
+    BOOLEAN(boolean.class, Boolean.class) {
+        @Override
+        public Object parse(String value) {
+            return value != null && Boolean.parseBoolean(value);
+        }
+
+        @Override
+        public void store(FieldAccessor accessor, Object instance, String value, Class<?> type) {
+            accessor.setBoolean(instance, value != null && Boolean.parseBoolean(value));
+        }
+    },
+
+    /**
+     * Any other type, which can only be converted by a {@link TypeConverter}.
+     */
+    OTHER {
+        @Override
+        public Object parse(String value) {
+            throw new AssertionError("Values of scalar type OTHER must be converted by a type converter");
+        }
+
+        @Override
+        public Object convert(String value, Class<?> type) throws ParseException {
+            throw new UnsupportedTypeConversionException("Unsupported type: "
+                    + (type == null ? null : type.getCanonicalName()));
+        }
+    };
+
+    private static final Map<Class<?>, ScalarType> TYPES;
+
+    static {
+        Map<Class<?>, ScalarType> types = new HashMap<>();
+
+        for (ScalarType scalarType : values()) {
+            for (Class<?> type : scalarType.types) {
+                types.put(type, scalarType);
+            }
+        }
+
+        TYPES = Collections.unmodifiableMap(types);
+    }
+
+    private final Class<?>[] types;
+
+    ScalarType(Class<?>... types) {
+        this.types = types;
+    }
+
+    /**
+     * Returns the scalar type of the given class, or {@link #OTHER} if values of the class cannot be converted without
+     * a {@link TypeConverter}.
+     *
+     * @param type The class to look up, which may be null
+     * @return The scalar type of the class
+     */
+    public static ScalarType of(Class<?> type) {
+        if (type == null) {
+            return OTHER;
+        }
+
+        return TYPES.getOrDefault(type, OTHER);
+    }
+
+    /**
+     * Parses the given string without any error handling. Malformed values cause the exception of the underlying
+     * parse method, such as a {@link NumberFormatException}, to be thrown.
+     *
+     * @param value The string to parse
+     * @return The boxed value
+     */
+    public abstract Object parse(String value);
+
+    /**
+     * Parses the given string into a boxed value, reporting malformed values as a {@link ParseException}.
+     *
+     * @param value The string to parse
+     * @param type The type of the field, which is used in error messages
+     * @return The boxed value
+     * @throws ParseException If the value is malformed
+     */
+    public Object convert(String value, Class<?> type) throws ParseException {
+        if (!isWellFormed(value)) {
+            throw failure(value, type);
+        }
+
+        try {
+            return parse(value);
+        } catch (RuntimeException e) {
+            throw failure(value, type);
+        }
+    }
+
+    /**
+     * Parses the given string and stores it in a field. Primitive values are handed to the primitive setters of the
+     * accessor so that they are not boxed.
+     *
+     * @param accessor The accessor of the field
+     * @param instance The instance which contains the field
+     * @param value The string to parse
+     * @param type The type of the field, which is used in error messages
+     * @throws ParseException If the value is malformed
+     */
+    public void store(FieldAccessor accessor, Object instance, String value, Class<?> type) throws ParseException {
+        accessor.set(instance, convert(value, type));
+    }
+
+    /**
+     * Returns false if the given string certainly cannot be parsed. Malformed values are rejected by this check before
+     * the underlying parse method is called, so that rejecting them does not cost the construction of the exception
+     * which that method would throw. Values which pass may still be rejected by the parse method.
+     *
+     * @param value The string to check
+     * @return False if the value is malformed
+     */
+    protected boolean isWellFormed(String value) {
+        return true;
+    }
+
+    /**
+     * Returns true if the given string is an optional sign followed by one or more digits. Digits from other scripts
+     * are accepted as well, because the parse methods of the integral types accept them.
+     */
+    private static boolean isInteger(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+
+        int start = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+
+        if (start == value.length()) {
+            return false;
+        }
+
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if ((c < '0' || c > '9') && !Character.isDigit(c)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Parses an integral value which must lie between the given bounds, which are the range of the field's type. Every
+     * integral type is parsed as a long, so that a single method does the work of each type's own parse method.
+     */
+    private static long integral(String value, Class<?> type, long min, long max) throws ParseException {
+        long parsed;
+
+        if (!isInteger(value)) {
+            throw failure(value, type);
+        }
+
+        try {
+            parsed = Long.parseLong(value);
+        } catch (RuntimeException e) {
+            throw failure(value, type);
+        }
+
+        if (parsed < min || parsed > max) {
+            throw failure(value, type);
+        }
+
+        return parsed;
+    }
+
+    static ParseException failure(String value, Class<?> type) {
+        String message = format("Failed to parse string %s into an instance of class %s", value, type);
+        return new ParseException(value, message).withErrorCode(ErrorCode.INVALID_VALUE);
+    }
+
+    private static String characterMessage(String value) {
+        return format("Value %s must contain exactly one character", value);
+    }
+}
@@ -0,0 +1,240 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import pro.johndunlap.getopt.exception.ErrorCode;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Splits a command line into arguments one at a time, in the same way as a POSIX shell. Characters are read directly
+ * from their source, so the command line is never split into an array and each argument is copied exactly once, into
+ * the string which is returned for it.
+ *
+ * <ul>
+ *     <li>Arguments are separated by whitespace.</li>
+ *     <li>Single quotes preserve every character up to the closing quote.</li>
+ *     <li>Double quotes preserve every character except that a backslash escapes {@code "} and {@code \}.</li>
+ *     <li>Outside of quotes, a backslash escapes the character which follows it.</li>
+ *     <li>A backslash followed by a line break joins the two lines, both inside and outside of double quotes.</li>
+ *     <li>A {@code #} at the start of an argument begins a comment which ends with the line.</li>
+ * </ul>
+ *
+ * <p>Tokenizers are not thread-safe.</p>
+ *
+ * @author John Dunlap
+ */
+public abstract class ShellTokenizer {
+    private final StringBuilder token = new StringBuilder();
+
+    /**
+     * Returns a tokenizer which reads the given command line. A {@link java.nio.CharBuffer} is read from its current
+     * position to its limit without being copied.
+     *
+     * @param commandLine The command line to tokenize
+     * @return A tokenizer which is positioned before the first argument
+     */
+    public static ShellTokenizer of(CharSequence commandLine) {
+        return new CharSequenceTokenizer(commandLine);
+    }
+
+    /**
+     * Returns the next argument.
+     *
+     * @return The next argument, or null if there are no more arguments
+     * @throws ParseException If the input ends inside of a quoted string
+     */
+    public String next() throws ParseException {
+        while (true) {
+            int c = skipWhitespaceAndComments();
+
+            if (c == -1) {
+                return null;
+            }
+
+            boolean quoted = false;
+            token.setLength(0);
+
+            for (; c != -1 && !Character.isWhitespace(c); c = read()) {
+                if (c == '\'') {
+                    readSingleQuoted();
+                    quoted = true;
+                } else if (c == '"') {
+                    readDoubleQuoted();
+                    quoted = true;
+                } else if (c == '\\') {
+                    readEscaped();
+                } else {
+                    token.append((char) c);
+                }
+            }
+
+            // A line continuation between arguments is not an argument itself, but a pair of empty quotes is
+            if (quoted || token.length() > 0) {
+                return token.toString();
+            }
+        }
+    }
+
+    /**
+     * Consumes and returns the next character.
+     *
+     * @return The next character, or -1 at the end of the input
+     */
+    protected abstract int read();
+
+    /**
+     * Returns the next character without consuming it.
+     *
+     * @return The next character, or -1 at the end of the input
+     */
+    protected abstract int peek();
+
+    /**
+     * Creates the exception which is thrown when the input ends inside of a quoted string.
+     *
+     * @param quote The quote character which was not closed
+     * @return The exception to throw
+     */
+    protected ParseException unterminated(char quote) {
+        String message = format("Command line ends inside of a %s", quoteName(quote));
+        return new ParseException(message).withErrorCode(ErrorCode.MALFORMED_COMMAND_LINE);
+    }
+
+    static String quoteName(char quote) {
+        return quote == '"' ? "double quoted string" : "single quoted string";
+    }
+
+    private int skipWhitespaceAndComments() {
+        while (true) {
+            int c = read();
+
+            if (c == '#') {
+                while (c != -1 && c != '\n' && c != '\r') {
+                    c = read();
+                }
+            }
+
+            if (c == -1 || !Character.isWhitespace(c)) {
+                return c;
+            }
+        }
+    }
+
+    private void readSingleQuoted() throws ParseException {
+        for (int c = read(); c != '\''; c = read()) {
+            if (c == -1) {
+                throw unterminated('\'');
+            }
+
+            token.append((char) c);
+        }
+    }
+
+    private void readDoubleQuoted() throws ParseException {
+        for (int c = read(); c != '"'; c = read()) {
+            if (c == -1) {
+                throw unterminated('"');
+            }
+
+            if (c == '\\') {
+                int next = peek();
+
+                if (next == '"' || next == '\\') {
+                    token.append((char) read());
+                    continue;
+                }
+
+                if (skipLineBreak()) {
+                    continue;
+                }
+            }
+
+            token.append((char) c);
+        }
+    }
+
+    private void readEscaped() {
+        if (skipLineBreak()) {
+            return;
+        }
+
+        int c = read();
+
+        // A trailing backslash is kept as it is
+        token.append(c == -1 ? '\\' : (char) c);
+    }
+
+    /**
+     * Consumes the line break which follows a backslash, if there is one.
+     */
+    private boolean skipLineBreak() {
+        int c = peek();
+
+        if (c == '\r') {
+            read();
+
+            if (peek() == '\n') {
+                read();
+            }
+
+            return true;
+        }
+
+        if (c == '\n') {
+            read();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads the characters of a {@link CharSequence} in place.
+     */
+    private static final class CharSequenceTokenizer extends ShellTokenizer {
+        private final CharSequence commandLine;
+        private final int length;
+        private int index;
+
+        private CharSequenceTokenizer(CharSequence commandLine) {
+            this.commandLine = commandLine;
+            this.length = commandLine.length();
+        }
+
+        @Override
+        protected int read() {
+            return index < length ? commandLine.charAt(index++) : -1;
+        }
+
+        @Override
+        protected int peek() {
+            return index < length ? commandLine.charAt(index) : -1;
+        }
+    }
+}
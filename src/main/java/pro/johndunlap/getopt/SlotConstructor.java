@@ -0,0 +1,277 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import pro.johndunlap.getopt.annotation.ArgsConstructor;
+import pro.johndunlap.getopt.exception.ParseException;
+import pro.johndunlap.getopt.exception.RethrownException;
+
+/**
+ * Creates instances of immutable options classes, which are records and classes with an {@link ArgsConstructor}.
+ * While arguments are parsed, the value of each field is kept in a slot of a flat array, at the index of the
+ * constructor parameter which receives it, and the instance is created by a single invocation of a method handle
+ * once parsing has finished. Because the fields of such classes can be final, the JIT is free to treat them as
+ * constants after parsing.
+ *
+ * <p>Records are detected reflectively so that the library still runs on Java versions which predate them.</p>
+ *
+ * @param <T> The type of the class which is created
+ * @author John Dunlap
+ */
+public final class SlotConstructor<T> {
+    private final Constructor<T> constructor;
+    private final String[] parameterNames;
+    private final Object[] initialSlots;
+    private final MethodHandle creator;
+
+    private SlotConstructor(Constructor<T> constructor, String[] parameterNames) throws ParseException {
+        this.constructor = constructor;
+        this.parameterNames = parameterNames;
+        this.initialSlots = new Object[parameterNames.length];
+
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+
+        // Primitive parameters cannot receive null, so their slots start out as zero
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i].isPrimitive()) {
+                initialSlots[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+            }
+        }
+
+        try {
+            constructor.trySetAccessible();
+            this.creator = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, parameterTypes.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            String className = constructor.getDeclaringClass().getName();
+            throw new RethrownException(format("Could not access the constructor of %s", className), e);
+        }
+    }
+
+    /**
+     * Returns the slot constructor of the given class, or null if the class is neither a record nor has a constructor
+     * which is annotated with {@link ArgsConstructor}.
+     *
+     * @param classType The class whose instances will be created
+     * @param <T> The type of the class
+     * @return The slot constructor, or null if the class is bound through its fields
+     * @throws ParseException If the constructor's parameters cannot be matched to fields
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SlotConstructor<T> of(Class<T> classType) throws ParseException {
+        for (Constructor<?> candidate : classType.getDeclaredConstructors()) {
+            ArgsConstructor annotation = candidate.getAnnotation(ArgsConstructor.class);
+
+            if (annotation != null) {
+                Constructor<T> constructor = (Constructor<T>) candidate;
+                return new SlotConstructor<>(constructor, parameterNames(constructor, annotation));
+            }
+        }
+
+        RecordComponents components = RecordComponents.of(classType);
+
+        if (components == null) {
+            return null;
+        }
+
+        try {
+            return new SlotConstructor<>(classType.getDeclaredConstructor(components.types), components.names);
+        } catch (NoSuchMethodException e) {
+            throw new RethrownException("Record " + classType.getName() + " has no canonical constructor", e);
+        }
+    }
+
+    private static String[] parameterNames(Constructor<?> constructor, ArgsConstructor annotation)
+            throws ParseException {
+        String className = constructor.getDeclaringClass().getName();
+
+        if (annotation.value().length > 0) {
+            if (annotation.value().length != constructor.getParameterCount()) {
+                throw new ParseException(format("@ArgsConstructor of %s names %d fields but has %d parameters",
+                        className, annotation.value().length, constructor.getParameterCount()));
+            }
+
+            return annotation.value().clone();
+        }
+
+        // The canonical constructor of a record receives its components in order
+        RecordComponents components = RecordComponents.of(constructor.getDeclaringClass());
+
+        if (components != null && Arrays.equals(components.types, constructor.getParameterTypes())) {
+            return components.names;
+        }
+
+        Parameter[] parameters = constructor.getParameters();
+        String[] names = new String[parameters.length];
+
+        for (int i = 0; i < parameters.length; i++) {
+            if (!parameters[i].isNamePresent()) {
+                throw new ParseException(format("The parameter names of the @ArgsConstructor of %s are not available."
+                        + " List the field names in the annotation or compile with -parameters", className));
+            }
+
+            names[i] = parameters[i].getName();
+        }
+
+        return names;
+    }
+
+    public Constructor<T> getConstructor() {
+        return constructor;
+    }
+
+    /**
+     * Returns the index of the slot which holds the value of the field with the given name.
+     *
+     * @param fieldName The name of the field
+     * @return The index of the slot, or -1 if the field is not one of the constructor's parameters
+     */
+    public int slotOf(String fieldName) {
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i].equals(fieldName)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    public int getSlotCount() {
+        return parameterNames.length;
+    }
+
+    /**
+     * Returns a new array of slots, in which primitive parameters are zero and all others are null.
+     *
+     * @return The slots into which parsed values are collected
+     */
+    public Object[] newSlots() {
+        return initialSlots.clone();
+    }
+
+    /**
+     * Creates an instance from the given slots.
+     *
+     * @param slots The values of the constructor's parameters
+     * @return The new instance
+     * @throws ParseException If the constructor rejects its arguments
+     */
+    @SuppressWarnings("unchecked")
+    public T construct(Object[] slots) throws ParseException {
+        try {
+            return (T) creator.invokeExact(slots);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            String message = format("Failed to create an instance of %s", constructor.getDeclaringClass().getName());
+            throw new RethrownException(message, e);
+        }
+    }
+
+    /**
+     * Returns an accessor which reads and writes a slot, in place of a field.
+     *
+     * @param slot The index of the slot
+     * @return The accessor
+     */
+    public static FieldAccessor slotAccessor(int slot) {
+        return new FieldAccessor() {
+            @Override
+            public Object get(Object slots) {
+                return ((Object[]) slots)[slot];
+            }
+
+            @Override
+            public void set(Object slots, Object value) {
+                ((Object[]) slots)[slot] = value;
+            }
+        };
+    }
+
+    /**
+     * The names and types of the components of a record, which are read reflectively.
+     */
+    private static final class RecordComponents {
+        private static final Method IS_RECORD = method(Class.class, "isRecord");
+        private static final Method GET_RECORD_COMPONENTS = method(Class.class, "getRecordComponents");
+
+        private final String[] names;
+        private final Class<?>[] types;
+
+        private RecordComponents(String[] names, Class<?>[] types) {
+            this.names = names;
+            this.types = types;
+        }
+
+        static RecordComponents of(Class<?> type) throws ParseException {
+            if (IS_RECORD == null || GET_RECORD_COMPONENTS == null) {
+                return null;
+            }
+
+            try {
+                if (!(Boolean) IS_RECORD.invoke(type)) {
+                    return null;
+                }
+
+                Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+                Class<?> componentType = components.getClass().getComponentType();
+                Method getName = componentType.getMethod("getName");
+                Method getType = componentType.getMethod("getType");
+                String[] names = new String[components.length];
+                Class<?>[] types = new Class<?>[components.length];
+
+                for (int i = 0; i < components.length; i++) {
+                    names[i] = (String) getName.invoke(components[i]);
+                    types[i] = (Class<?>) getType.invoke(components[i]);
+                }
+
+                return new RecordComponents(names, types);
+            } catch (ReflectiveOperationException e) {
+                throw new RethrownException("Could not read the components of record " + type.getName(), e);
+            }
+        }
+
+        private static Method method(Class<?> type, String name) {
+            try {
+                return type.getMethod(name);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
+}
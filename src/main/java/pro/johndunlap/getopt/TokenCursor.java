@@ -0,0 +1,345 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import pro.johndunlap.getopt.exception.ArgumentFileException;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * A forward-only cursor over the command line arguments. The cursor reads directly from the array which was passed
+ * in, so arguments are never copied. Short option clusters such as {@code -xvf} are walked in place, one character at
+ * a time, without splitting them into separate tokens.
+ *
+ * <p>A cursor may also read from a {@link ShellTokenizer}, in which case each argument is tokenized as the cursor
+ * reaches it.</p>
+ *
+ * <p>If argument files have been enabled, an argument of the form {@code @path} is replaced by the arguments in the
+ * file, which may name further argument files. Argument files are tokenized as the cursor reaches them, so their
+ * arguments are never collected into an array.</p>
+ *
+ * <p>Cursors are not thread-safe. Each {@link ParseContext} owns its own cursor.</p>
+ *
+ * @author John Dunlap
+ */
+public final class TokenCursor {
+
+    /**
+     * The deepest that argument files may be nested, which also stops a file from including itself forever.
+     */
+    public static final int MAX_ARGUMENT_FILE_DEPTH = 16;
+
+    private static final String[] NO_ARGS = new String[0];
+
+    private String[] args;
+    private ShellTokenizer tokenizer;
+    private int index;
+    private String cluster;
+    private int clusterOffset;
+    private long maxArgumentFileSize = -1;
+    private Deque<ArgumentFile> argumentFiles;
+    private Path argumentFileDirectory;
+    private boolean lookahead;
+    private String next;
+    private int position;
+
+    /**
+     * Creates a cursor which is positioned at the first of the given arguments.
+     *
+     * @param args The arguments to iterate over
+     */
+    public TokenCursor(String[] args) {
+        this.args = args;
+        this.tokenizer = null;
+    }
+
+    /**
+     * Creates a cursor which reads its arguments from the given tokenizer.
+     *
+     * @param tokenizer The tokenizer which splits the command line into arguments
+     */
+    public TokenCursor(ShellTokenizer tokenizer) {
+        this.args = NO_ARGS;
+        this.tokenizer = tokenizer;
+        this.lookahead = true;
+    }
+
+    /**
+     * Repositions this cursor at the first of the given arguments so that it can be reused. Argument file expansion
+     * remains enabled if it was enabled before.
+     *
+     * @param args The arguments to iterate over
+     * @return This cursor
+     */
+    public TokenCursor reset(String[] args) {
+        return reset(args, null);
+    }
+
+    /**
+     * Repositions this cursor so that it reads from the given tokenizer. Argument file expansion remains enabled if it
+     * was enabled before.
+     *
+     * @param tokenizer The tokenizer which splits the command line into arguments
+     * @return This cursor
+     */
+    public TokenCursor reset(ShellTokenizer tokenizer) {
+        return reset(NO_ARGS, tokenizer);
+    }
+
+    private TokenCursor reset(String[] args, ShellTokenizer tokenizer) {
+        this.args = args;
+        this.tokenizer = tokenizer;
+        this.index = 0;
+        this.position = 0;
+        this.cluster = null;
+        this.next = null;
+
+        if (argumentFiles != null) {
+            argumentFiles.clear();
+        }
+
+        this.lookahead = tokenizer != null || argumentFiles != null;
+        return this;
+    }
+
+    /**
+     * Replaces every argument of the form {@code @path} with the arguments in the named file. Files which are larger
+     * than the given size are rejected.
+     *
+     * @param maxSize The largest number of bytes which an argument file may contain
+     * @return This cursor
+     */
+    public TokenCursor expandArgumentFiles(long maxSize) {
+        return expandArgumentFiles(maxSize, null);
+    }
+
+    /**
+     * Same as {@link #expandArgumentFiles(long)}, except that relative paths are resolved against the given directory
+     * instead of the working directory of the process. This includes the paths in argument files.
+     *
+     * @param maxSize The largest number of bytes which an argument file may contain
+     * @param directory The directory which relative paths are resolved against, or null for the working directory of
+     *                  the process
+     * @return This cursor
+     */
+    public TokenCursor expandArgumentFiles(long maxSize, Path directory) {
+        this.maxArgumentFileSize = maxSize;
+        this.argumentFileDirectory = directory;
+        this.argumentFiles = new ArrayDeque<>();
+        this.lookahead = true;
+        return this;
+    }
+
+    /**
+     * Returns true if there is at least one more token, or if a short option cluster has not been fully consumed.
+     *
+     * @return True if there is more input
+     * @throws ParseException If an argument file cannot be read or an argument cannot be tokenized
+     */
+    public boolean hasNext() throws ParseException {
+        if (cluster != null) {
+            return true;
+        }
+
+        if (!lookahead) {
+            return index < args.length;
+        }
+
+        return advance();
+    }
+
+    /**
+     * Returns the number of tokens in the argument array which have not been consumed yet. A partially consumed short
+     * option cluster is not counted, and neither are the contents of argument files.
+     *
+     * @return The number of tokens which have not been consumed yet
+     */
+    public int size() {
+        return args.length - index;
+    }
+
+    /**
+     * Returns the next token without consuming it.
+     *
+     * @return The next token
+     * @throws NoSuchElementException If there are no more tokens
+     * @throws ParseException If an argument file cannot be read or an argument cannot be tokenized
+     */
+    public String peek() throws ParseException {
+        if (lookahead) {
+            if (advance()) {
+                return next;
+            }
+        } else if (index < args.length) {
+            return args[index];
+        }
+
+        throw new NoSuchElementException();
+    }
+
+    /**
+     * Consumes and returns the next token.
+     *
+     * @return The next token
+     * @throws NoSuchElementException If there are no more tokens
+     * @throws ParseException If an argument file cannot be read or an argument cannot be tokenized
+     */
+    public String pop() throws ParseException {
+        if (lookahead) {
+            if (advance()) {
+                String token = next;
+                next = null;
+                position++;
+                return token;
+            }
+        } else if (index < args.length) {
+            position++;
+            return args[index++];
+        }
+
+        throw new NoSuchElementException();
+    }
+
+    /**
+     * Returns the number of tokens which have been consumed, which is also the index of the next token. Tokens which
+     * are read from argument files are counted, while the arguments which name the files are not.
+     *
+     * @return The number of tokens which have been consumed
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Finds the next token, opening argument files as they are named and closing them once they are exhausted.
+     */
+    private boolean advance() throws ParseException {
+        try {
+            return findNext();
+        } catch (ParseException e) {
+            throw e.withTokenIndex(position);
+        }
+    }
+
+    private boolean findNext() throws ParseException {
+        while (next == null) {
+            String token;
+
+            if (argumentFiles != null && !argumentFiles.isEmpty()) {
+                token = argumentFiles.peek().next();
+
+                if (token == null) {
+                    argumentFiles.pop();
+                    continue;
+                }
+            } else if (tokenizer != null) {
+                token = tokenizer.next();
+
+                if (token == null) {
+                    return false;
+                }
+            } else if (index < args.length) {
+                token = args[index++];
+            } else {
+                return false;
+            }
+
+            if (argumentFiles != null && token.length() > 1 && token.charAt(0) == '@') {
+                Path path = Paths.get(token.substring(1));
+
+                if (argumentFileDirectory != null) {
+                    path = argumentFileDirectory.resolve(path);
+                }
+
+                if (argumentFiles.size() >= MAX_ARGUMENT_FILE_DEPTH) {
+                    String message = format("Argument file %s is nested more than %d levels deep", path,
+                            MAX_ARGUMENT_FILE_DEPTH);
+                    throw new ArgumentFileException(path, message);
+                }
+
+                argumentFiles.push(ArgumentFile.open(path, maxArgumentFileSize));
+            } else {
+                next = token;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Consumes the next token as a short option cluster. The characters which follow the leading hyphen are then
+     * returned one at a time by {@link #nextClusterCode()}.
+     *
+     * @throws ParseException If an argument file cannot be read or an argument cannot be tokenized
+     */
+    public void beginCluster() throws ParseException {
+        cluster = pop();
+        clusterOffset = 1;
+    }
+
+    /**
+     * Returns true if a short option cluster is being walked and has characters left.
+     *
+     * @return True if a short option cluster is being walked
+     */
+    public boolean inCluster() {
+        return cluster != null;
+    }
+
+    /**
+     * Consumes and returns the next character of the current short option cluster.
+     *
+     * @return The next single character option code
+     */
+    public char nextClusterCode() {
+        char code = cluster.charAt(clusterOffset++);
+
+        if (clusterOffset == cluster.length()) {
+            cluster = null;
+        }
+
+        return code;
+    }
+
+    /**
+     * Consumes the rest of the current short option cluster and returns it. This is how an option which requires a
+     * value receives it when it is written as {@code -ofile}.
+     *
+     * @return The unconsumed characters of the cluster
+     */
+    public String takeClusterRemainder() {
+        String remainder = cluster.substring(clusterOffset);
+        cluster = null;
+        return remainder;
+    }
+}
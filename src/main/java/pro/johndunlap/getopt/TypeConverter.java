@@ -32,6 +32,10 @@ import pro.johndunlap.getopt.exception.ParseException;
  * Implementations of this interface are used to parse string values into object instances which are not
  * supported by default.
  *
+ * <p>A converter which is declared on an annotation is instantiated once per field, when the binding plan for its class
+ * is compiled, and the same instance is then used for every value and every invocation, possibly from several threads
+ * at once. Implementations must therefore be stateless, or at least thread-safe.</p>
+ *
  * @param <P> The type of object that string values should be parsed into
  */
 public interface TypeConverter<P> {
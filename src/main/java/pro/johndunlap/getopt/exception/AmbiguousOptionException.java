@@ -0,0 +1,55 @@
+package pro.johndunlap.getopt.exception;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when an abbreviated option is the prefix of more than one option.
+ *
+ * @author John Dunlap
+ */
+public class AmbiguousOptionException extends ParseException {
+    private final List<String> candidates;
+
+    /**
+     * Creates a new exception for the given abbreviation.
+     *
+     * @param value The abbreviated option, without leading hyphens
+     * @param candidates The names of the options which start with the abbreviation
+     */
+    public AmbiguousOptionException(String value, List<String> candidates) {
+        super(value, "Option --" + value + " is ambiguous and could be --" + String.join(", --", candidates));
+        this.candidates = Collections.unmodifiableList(candidates);
+        withErrorCode(ErrorCode.AMBIGUOUS_OPTION);
+    }
+
+    public List<String> getCandidates() {
+        return candidates;
+    }
+}
@@ -0,0 +1,67 @@
+package pro.johndunlap.getopt.exception;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.nio.file.Path;
+
+/**
+ * Thrown when an argument file cannot be read or tokenized, or when it exceeds the configured limits.
+ *
+ * @author John Dunlap
+ */
+public class ArgumentFileException extends ParseException {
+    private final Path path;
+
+    /**
+     * Creates a new exception for an argument file which was rejected.
+     *
+     * @param path The path of the argument file
+     * @param message The message to include in the exception
+     */
+    public ArgumentFileException(Path path, String message) {
+        super(path.toString(), message);
+        this.path = path;
+        withErrorCode(ErrorCode.ARGUMENT_FILE);
+    }
+
+    /**
+     * Creates a new exception for an argument file which could not be read.
+     *
+     * @param path The path of the argument file
+     * @param message The message to include in the exception
+     * @param cause The exception which prevented the file from being read
+     */
+    public ArgumentFileException(Path path, String message, Throwable cause) {
+        super(message, cause);
+        this.path = path;
+        withErrorCode(ErrorCode.ARGUMENT_FILE);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
@@ -36,19 +36,41 @@ import java.lang.reflect.Field;
 public class DuplicateOptionException extends ParseException {
     private final Field field;
 
+    /**
+     * Creates a new exception for a field whose option has already been declared.
+     *
+     * @param message The message to include in the exception
+     * @param field The field which declares the duplicate option
+     */
     public DuplicateOptionException(String message, Field field) {
         super(message);
         this.field = field;
+        withErrorCode(ErrorCode.INVALID_DEFINITION);
     }
 
+    /**
+     * Creates a new exception for a field whose option has already been declared.
+     *
+     * @param message The message to include in the exception
+     * @param cause The exception which revealed the duplicate
+     * @param field The field which declares the duplicate option
+     */
     public DuplicateOptionException(String message, Throwable cause, Field field) {
         super(message, cause);
         this.field = field;
+        withErrorCode(ErrorCode.INVALID_DEFINITION);
     }
 
+    /**
+     * Creates a new exception for a field whose option has already been declared.
+     *
+     * @param cause The exception which revealed the duplicate
+     * @param field The field which declares the duplicate option
+     */
     public DuplicateOptionException(Throwable cause, Field field) {
         super(cause);
         this.field = field;
+        withErrorCode(ErrorCode.INVALID_DEFINITION);
     }
 
     public Field getField() {
@@ -0,0 +1,91 @@
+package pro.johndunlap.getopt.exception;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * Identifies why a {@link ParseException} was thrown, so that callers can react to a rejected command line without
+ * inspecting the class or message of the exception.
+ *
+ * @author John Dunlap
+ */
+public enum ErrorCode {
+
+    /**
+     * A value could not be converted into the type of its field.
+     */
+    INVALID_VALUE,
+
+    /**
+     * A required field was not given a value.
+     */
+    MISSING_REQUIRED,
+
+    /**
+     * A positional value was given after every positional field had been filled.
+     */
+    UNEXPECTED_ARGUMENT,
+
+    /**
+     * The first argument did not name a registered command.
+     */
+    UNKNOWN_COMMAND,
+
+    /**
+     * An abbreviated option matched more than one option.
+     */
+    AMBIGUOUS_OPTION,
+
+    /**
+     * A command line ended inside of a quoted string.
+     */
+    MALFORMED_COMMAND_LINE,
+
+    /**
+     * An argument file could not be read.
+     */
+    ARGUMENT_FILE,
+
+    /**
+     * A field has a type which cannot be converted from a string.
+     */
+    UNSUPPORTED_TYPE,
+
+    /**
+     * The options class cannot be bound, such as when two fields share an option or it cannot be instantiated.
+     */
+    INVALID_DEFINITION,
+
+    /**
+     * A field could not be read or written.
+     */
+    INACCESSIBLE_FIELD,
+
+    /**
+     * Any other failure.
+     */
+    OTHER
+}
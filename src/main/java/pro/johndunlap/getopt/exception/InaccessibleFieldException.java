@@ -34,8 +34,16 @@ package pro.johndunlap.getopt.exception;
 public class InaccessibleFieldException extends ParseException {
     Class<?> classType;
 
+    /**
+     * Creates a new exception for a field which could not be read or written.
+     *
+     * @param message The message to include in the exception
+     * @param cause The exception which was thrown when the field was accessed
+     * @param classType The class which declares the field
+     */
     public InaccessibleFieldException(String message, Throwable cause, Class<?> classType) {
         super(message, cause);
         this.classType = classType;
+        withErrorCode(ErrorCode.INACCESSIBLE_FIELD);
     }
 }
@@ -34,8 +34,16 @@ package pro.johndunlap.getopt.exception;
 public class MissingNoArgConstructorException extends ParseException {
     private Class<?> unusableClass;
 
+    /**
+     * Creates a new exception for a class which cannot be instantiated.
+     *
+     * @param message The message to include in the exception
+     * @param cause The exception which was thrown when the class was instantiated
+     * @param unusableClass The class which does not have a usable no-arg constructor
+     */
     public MissingNoArgConstructorException(String message, Throwable cause, Class<?> unusableClass) {
         super(message, cause);
         this.unusableClass = unusableClass;
+        withErrorCode(ErrorCode.INVALID_DEFINITION);
     }
 }
@@ -32,13 +32,22 @@ import pro.johndunlap.getopt.annotation.Arg;
 /**
  * Thrown when a value cannot be parsed.
  *
+ * <p>Exceptions which are thrown while arguments are being bound carry an {@link ErrorCode}, the field and value which
+ * were rejected, and the index of the offending token, so that they can be reported as data. Filling in a stack trace
+ * is usually the most expensive part of rejecting a command line, so stack traces can be disabled for the current
+ * thread with {@link #setStackTraces(boolean)}, which is how {@code GetOpt} rejects invalid input cheaply.</p>
+ *
  * @author John Dunlap
  */
 public class ParseException extends Exception {
     public static final int DEFAULT_ERROR_EXIT_STATUS = 1;
 
+    private static final ThreadLocal<Boolean> STACK_TRACES = ThreadLocal.withInitial(() -> Boolean.TRUE);
+
     private Field field;
     private String value;
+    private ErrorCode errorCode = ErrorCode.OTHER;
+    private int tokenIndex = -1;
 
     /**
      * Constructs a new exception with the specified field, value, and message.
@@ -92,11 +101,91 @@ public class ParseException extends Exception {
         super(cause);
     }
 
+    /**
+     * Enables or disables stack traces for the exceptions which are created by the current thread. Exceptions without
+     * a stack trace cost little more than an ordinary object to create.
+     *
+     * @param enabled True if stack traces should be filled in
+     * @return True if stack traces were enabled before this call, so that the previous setting can be restored
+     */
+    public static boolean setStackTraces(boolean enabled) {
+        boolean previous = STACK_TRACES.get();
+        STACK_TRACES.set(enabled);
+        return previous;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (!STACK_TRACES.get()) {
+            return this;
+        }
+
+        return super.fillInStackTrace();
+    }
+
     public Field getField() {
         return field;
     }
 
+    /**
+     * Sets the field which could not be populated.
+     *
+     * @param field The field
+     * @return This exception
+     */
+    public ParseException withField(Field field) {
+        this.field = field;
+        return this;
+    }
+
     public String getValue() {
         return value;
     }
+
+    /**
+     * Sets the value which could not be parsed.
+     *
+     * @param value The value
+     * @return This exception
+     */
+    public ParseException withValue(String value) {
+        this.value = value;
+        return this;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * Sets the reason for which this exception was thrown.
+     *
+     * @param errorCode The reason
+     * @return This exception
+     */
+    public ParseException withErrorCode(ErrorCode errorCode) {
+        this.errorCode = errorCode;
+        return this;
+    }
+
+    /**
+     * Returns the index of the token which was rejected, counting from zero. Tokens which were read from argument
+     * files are counted where they were expanded.
+     *
+     * @return The index of the token, or -1 if the exception does not concern a single token
+     */
+    public int getTokenIndex() {
+        return tokenIndex;
+    }
+
+    /**
+     * Sets the index of the token which was rejected.
+     *
+     * @param tokenIndex The index of the token
+     * @return This exception
+     */
+    public ParseException withTokenIndex(int tokenIndex) {
+        this.tokenIndex = tokenIndex;
+        return this;
+    }
 }
@@ -34,5 +34,6 @@ package pro.johndunlap.getopt.exception;
 public class UnsupportedTypeConversionException extends ParseException {
     public UnsupportedTypeConversionException(String message) {
         super(message);
+        withErrorCode(ErrorCode.UNSUPPORTED_TYPE);
     }
 }
@@ -0,0 +1,359 @@
+package pro.johndunlap.getopt.processor;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import pro.johndunlap.getopt.Binder;
+import pro.johndunlap.getopt.annotation.ArgsConstructor;
+import pro.johndunlap.getopt.annotation.Ignore;
+
+/**
+ * Generates a {@link Binder} for every class which uses the {@code Arg}, {@code GetOptOrdered} or {@code Help}
+ * annotations, so that instances are created and fields are accessed without reflection. The generated code calls the
+ * same getters, setters and fields which would otherwise be used reflectively, and primitive fields are written
+ * without boxing.
+ *
+ * <p>Binders are generated in the package of the options class, so classes which are private, or nested in a private
+ * class, and non-static inner classes are skipped. Fields which are private and have no accessible getter and setter
+ * are left out of the binder and are still accessed through reflection.</p>
+ *
+ * <p>Records and classes with an {@code ArgsConstructor} are created through their constructors once every value has
+ * been collected, which a binder cannot do, so they are skipped as well and keep being bound reflectively. A note is
+ * reported for every class which is skipped.</p>
+ *
+ * <p>This processor is not registered as a service, so it only runs when it is enabled explicitly, for example with
+ * the {@code -processor pro.johndunlap.getopt.processor.BinderProcessor} compiler option.</p>
+ *
+ * @author John Dunlap
+ */
+@SupportedAnnotationTypes({
+    "pro.johndunlap.getopt.annotation.Arg",
+    "pro.johndunlap.getopt.annotation.ArgsConstructor",
+    "pro.johndunlap.getopt.annotation.GetOptOrdered",
+    "pro.johndunlap.getopt.annotation.Help"
+})
+public class BinderProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+
+        // Collect the classes which declare annotated fields or are annotated themselves
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD || element.getKind() == ElementKind.CONSTRUCTOR) {
+                    types.add((TypeElement) element.getEnclosingElement());
+                } else if (element instanceof TypeElement) {
+                    types.add((TypeElement) element);
+                }
+            }
+        }
+
+        for (TypeElement type : types) {
+            if (isConstructorBound(type)) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.NOTE,
+                        "No binder was generated for " + type + " because it is created through its constructor, "
+                                + "so it is bound through reflection",
+                        type
+                );
+                continue;
+            }
+
+            if (!isBindable(type)) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.NOTE,
+                        "No binder was generated for " + type + " because it is not accessible from its package",
+                        type
+                );
+                continue;
+            }
+
+            try {
+                write(type);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR,
+                        "Failed to generate a binder for " + type + ": " + e.getMessage(),
+                        type
+                );
+            }
+        }
+
+        // The annotations are also read at runtime, so they are not claimed
+        return false;
+    }
+
+    /**
+     * Returns true if the class is a record or has a constructor which is marked with {@code ArgsConstructor}. The kind
+     * of a record is compared by name so that the processor still runs on Java versions which predate records.
+     */
+    private static boolean isConstructorBound(TypeElement type) {
+        if (type.getKind().name().equals("RECORD")) {
+            return true;
+        }
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getAnnotation(ArgsConstructor.class) != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns true if the generated binder, which lives in the same package, can instantiate the class.
+     */
+    private boolean isBindable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !type.getTypeParameters().isEmpty()) {
+            return false;
+        }
+
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+
+            if (element.getEnclosingElement() instanceof TypeElement
+                    && !element.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+        }
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void write(TypeElement type) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                .replace('$', '_') + Binder.SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        String typeName = type.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(simpleName)
+                .append(" implements pro.johndunlap.getopt.Binder<").append(typeName).append("> {\n")
+                .append("    public ").append(simpleName).append("() {\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Class<").append(typeName).append("> getType() {\n")
+                .append("        return ").append(typeName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(typeName).append(" newInstance() {\n")
+                .append("        return new ").append(typeName).append("();\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public pro.johndunlap.getopt.FieldAccessor accessor(String fieldName) {\n")
+                .append("        switch (fieldName) {\n");
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getAnnotation(Ignore.class) != null) {
+                continue;
+            }
+
+            String accessor = accessor(type, field);
+
+            if (accessor != null) {
+                source.append("            case \"").append(field.getSimpleName()).append("\":\n")
+                        .append("                return ").append(accessor).append(";\n");
+            }
+        }
+
+        source.append("            default:\n")
+                .append("                return null;\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    /**
+     * Returns an anonymous accessor for the given field, or null if the field cannot be read and written without
+     * reflection. Getters and setters are chosen with the same precedence as {@code ReflectionUtil.preferredGetter}.
+     */
+    private String accessor(TypeElement type, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        TypeMirror fieldType = processingEnv.getTypeUtils().erasure(field.asType());
+        String typeName = type.getQualifiedName().toString();
+
+        ExecutableElement getter = preferred(findMethod(type, "get" + capitalized, null), field);
+        ExecutableElement setter = preferred(findMethod(type, "set" + capitalized, fieldType), field);
+        String getExpression;
+        String setStatement;
+
+        if (getter != null) {
+            if (getter.getModifiers().contains(Modifier.PRIVATE)) {
+                return null;
+            }
+
+            getExpression = receiver(getter, typeName) + "." + getter.getSimpleName() + "()";
+        } else {
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                return null;
+            }
+
+            getExpression = receiver(field, typeName) + "." + name;
+        }
+
+        if (setter != null) {
+            if (setter.getModifiers().contains(Modifier.PRIVATE)) {
+                return null;
+            }
+
+            setStatement = receiver(setter, typeName) + "." + setter.getSimpleName() + "(%s);";
+        } else {
+            if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)) {
+                return null;
+            }
+
+            setStatement = receiver(field, typeName) + "." + name + " = %s;";
+        }
+
+        String castType = fieldType.getKind().isPrimitive()
+                ? processingEnv.getTypeUtils().boxedClass((PrimitiveType) fieldType).getQualifiedName().toString()
+                : fieldType.toString();
+
+        StringBuilder accessor = new StringBuilder()
+                .append("new pro.johndunlap.getopt.FieldAccessor() {\n")
+                .append("                    @Override\n")
+                .append("                    public Object get(Object instance) {\n")
+                .append("                        return ").append(getExpression).append(";\n")
+                .append("                    }\n\n")
+                .append("                    @Override\n")
+                .append("                    public void set(Object instance, Object value) {\n")
+                .append("                        ").append(String.format(setStatement, "(" + castType + ") value"))
+                .append("\n")
+                .append("                    }\n");
+
+        // Primitive values are written without being boxed
+        if (fieldType.getKind().isPrimitive()) {
+            String primitive = fieldType.toString();
+
+            accessor.append("\n")
+                    .append("                    @Override\n")
+                    .append("                    public void set")
+                    .append(Character.toUpperCase(primitive.charAt(0))).append(primitive.substring(1))
+                    .append("(Object instance, ").append(primitive).append(" value) {\n")
+                    .append("                        ").append(String.format(setStatement, "value")).append("\n")
+                    .append("                    }\n");
+        }
+
+        return accessor.append("                }").toString();
+    }
+
+    /**
+     * Finds a method declared by the given class which takes either no parameters, if the parameter type is null, or a
+     * single parameter of the given type.
+     */
+    private ExecutableElement findMethod(TypeElement type, String name, TypeMirror parameterType) {
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!method.getSimpleName().contentEquals(name)) {
+                continue;
+            }
+
+            if (parameterType == null && method.getParameters().isEmpty()) {
+                return method;
+            }
+
+            if (parameterType != null && method.getParameters().size() == 1) {
+                TypeMirror actual = processingEnv.getTypeUtils().erasure(method.getParameters().get(0).asType());
+
+                if (processingEnv.getTypeUtils().isSameType(actual, parameterType)) {
+                    return method;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Public methods are always preferred, and non-public methods are preferred over non-public fields.
+     */
+    private static ExecutableElement preferred(ExecutableElement method, VariableElement field) {
+        if (method == null) {
+            return null;
+        }
+
+        if (method.getModifiers().contains(Modifier.PUBLIC) || !field.getModifiers().contains(Modifier.PUBLIC)) {
+            return method;
+        }
+
+        return null;
+    }
+
+    private static String receiver(Element member, String typeName) {
+        if (member.getModifiers().contains(Modifier.STATIC)) {
+            return typeName;
+        }
+
+        return "((" + typeName + ") instance)";
+    }
+}
@@ -0,0 +1,184 @@
+package pro.johndunlap.getopt.server;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Sends a command to a {@link CommandServer} and copies its output and exit status back. The client does no binding
+ * of its own, so it is meant to be compiled into a native executable, or replaced by an equivalent client in another
+ * language, which starts much faster than the JVM which runs the server.
+ *
+ * <p>When run as a program, the port and the token are read from the {@code GETOPT_SERVER_PORT} and
+ * {@code GETOPT_SERVER_TOKEN} environment variables, every argument is forwarded, and the client exits with the
+ * command's exit status.</p>
+ *
+ * @author John Dunlap
+ */
+public final class CommandClient {
+
+    /**
+     * The environment variable which holds the port of the server.
+     */
+    public static final String PORT_VARIABLE = "GETOPT_SERVER_PORT";
+
+    /**
+     * The environment variable which holds the token of the server.
+     */
+    public static final String TOKEN_VARIABLE = "GETOPT_SERVER_TOKEN";
+
+    private final int port;
+    private final String token;
+
+    /**
+     * Creates a client of the server which listens on the given port of the loopback interface.
+     *
+     * @param port The port of the server
+     * @param token The server's token, or null if it was started without one
+     */
+    public CommandClient(int port, String token) {
+        this.port = port;
+        this.token = token == null ? "" : token;
+    }
+
+    /**
+     * Runs a command on the server and waits for it to finish.
+     *
+     * @param args The arguments of the command
+     * @param environment The environment of the command
+     * @param workingDirectory The working directory of the command
+     * @param out Receives the command's standard output as it is written
+     * @param err Receives the command's standard error as it is written
+     * @return The exit status of the command
+     * @throws IOException If the server cannot be reached or disconnects before the command finishes
+     */
+    public int execute(String[] args, Map<String, String> environment, String workingDirectory, OutputStream out,
+            OutputStream err) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+
+            DataOutputStream request = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            request.writeInt(Protocol.MAGIC);
+            request.writeInt(Protocol.VERSION);
+            Protocol.writeString(request, token);
+            Protocol.writeString(request, workingDirectory);
+            request.writeInt(environment.size());
+
+            for (Map.Entry<String, String> variable : environment.entrySet()) {
+                Protocol.writeString(request, variable.getKey());
+                Protocol.writeString(request, variable.getValue());
+            }
+
+            request.writeInt(args.length);
+
+            for (String arg : args) {
+                Protocol.writeString(request, arg);
+            }
+
+            request.flush();
+
+            DataInputStream response = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            byte[] buffer = new byte[8192];
+
+            while (true) {
+                byte type;
+
+                try {
+                    type = response.readByte();
+                } catch (EOFException e) {
+                    throw new IOException("The server disconnected before the command finished", e);
+                }
+
+                if (type == Protocol.EXIT) {
+                    out.flush();
+                    err.flush();
+                    return response.readInt();
+                }
+
+                OutputStream target;
+
+                if (type == Protocol.STDOUT) {
+                    target = out;
+                } else if (type == Protocol.STDERR) {
+                    target = err;
+                } else {
+                    throw new IOException("Unknown frame type " + type);
+                }
+
+                int remaining = response.readInt();
+
+                while (remaining > 0) {
+                    int read = response.read(buffer, 0, Math.min(remaining, buffer.length));
+
+                    if (read < 0) {
+                        throw new IOException("The server disconnected before the command finished");
+                    }
+
+                    target.write(buffer, 0, read);
+                    remaining -= read;
+                }
+
+                target.flush();
+            }
+        }
+    }
+
+    /**
+     * Forwards the given arguments, along with this process's environment and working directory, to the server
+     * whose port is in the {@code GETOPT_SERVER_PORT} environment variable.
+     *
+     * @param args The arguments of the command
+     */
+    public static void main(String[] args) {
+        String port = System.getenv(PORT_VARIABLE);
+
+        if (port == null) {
+            System.err.println(PORT_VARIABLE + " is not set");
+            System.exit(1);
+        }
+
+        CommandClient client = new CommandClient(Integer.parseInt(port.trim()), System.getenv(TOKEN_VARIABLE));
+        String workingDirectory = Paths.get("").toAbsolutePath().toString();
+
+        try {
+            System.exit(client.execute(args, System.getenv(), workingDirectory, System.out, System.err));
+        } catch (IOException e) {
+            System.err.println("Could not run the command on port " + port + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
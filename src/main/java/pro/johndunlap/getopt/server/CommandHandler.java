@@ -0,0 +1,45 @@
+package pro.johndunlap.getopt.server;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * Runs the commands which a {@link CommandServer} receives. Handlers are called concurrently, once per request.
+ *
+ * @author John Dunlap
+ */
+@FunctionalInterface
+public interface CommandHandler {
+    /**
+     * Runs a command. The command exits with status 0 if this method returns, with the status given to
+     * {@link CommandRequest#exit(int)} or to the exit mechanism of {@link CommandRequest#getGetOpt()}, or with status
+     * 1 if this method throws.
+     *
+     * @param request The arguments, environment and output streams of the command
+     * @throws Exception If the command fails
+     */
+    void handle(CommandRequest request) throws Exception;
+}
@@ -0,0 +1,145 @@
+package pro.johndunlap.getopt.server;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Map;
+import pro.johndunlap.getopt.Command;
+import pro.johndunlap.getopt.CommandRegistry;
+import pro.johndunlap.getopt.GetOpt;
+
+/**
+ * A command which a {@link CommandServer} received from a client. Its output streams are sent back to the client as
+ * they are written, and its {@link GetOpt} exits by ending the request rather than the server.
+ *
+ * <p>The server's working directory and environment are those of the server process, so commands should resolve
+ * relative paths against {@link #getWorkingDirectory()} and read variables from {@link #getEnvironment()}. The
+ * request's {@link GetOpt} already does both: the relative paths of argument files are resolved against the client's
+ * working directory, and environment {@link pro.johndunlap.getopt.OptionSource option sources} read the client's
+ * environment.</p>
+ *
+ * @author John Dunlap
+ */
+public final class CommandRequest {
+    private final String[] args;
+    private final Map<String, String> environment;
+    private final Path workingDirectory;
+    private final PrintStream out;
+    private final PrintStream err;
+    private final GetOpt getOpt;
+
+    CommandRequest(String[] args, Map<String, String> environment, Path workingDirectory, PrintStream out,
+            PrintStream err, GetOpt getOpt) {
+        this.args = args;
+        this.environment = environment;
+        this.workingDirectory = workingDirectory;
+        this.out = out;
+        this.err = err;
+        this.getOpt = getOpt.redirect(out, err, this::exit, environment, workingDirectory);
+    }
+
+    public String[] getArgs() {
+        return args.clone();
+    }
+
+    public Map<String, String> getEnvironment() {
+        return environment;
+    }
+
+    public Path getWorkingDirectory() {
+        return workingDirectory;
+    }
+
+    public PrintStream getOut() {
+        return out;
+    }
+
+    public PrintStream getErr() {
+        return err;
+    }
+
+    /**
+     * Returns an instance which is configured like the server's, except that it writes to this request's streams and
+     * its exit mechanism ends this request.
+     *
+     * @return The instance which binds this request's arguments
+     */
+    public GetOpt getGetOpt() {
+        return getOpt;
+    }
+
+    /**
+     * Binds this request's arguments as {@link GetOpt#run(Class, String[])} does. Help and errors are written to this
+     * request's streams, and end the request with the appropriate exit status.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param <T> The type of the class to bind the arguments to
+     * @return An instance of the class type with the arguments bound to it
+     */
+    public <T> T run(Class<T> classType) {
+        return getOpt.run(classType, args);
+    }
+
+    /**
+     * Dispatches this request's arguments as {@link CommandRegistry#run(String[])} does. Help and errors are written to
+     * this request's streams, and end the request with the appropriate exit status.
+     *
+     * @param registry The commands which the first argument selects from
+     * @return The command
+     */
+    public Command<?> run(CommandRegistry registry) {
+        return registry.using(getOpt).run(args);
+    }
+
+    /**
+     * Ends this request with the given exit status. This method does not return.
+     *
+     * @param status The exit status which the client exits with
+     */
+    public void exit(int status) {
+        throw new CommandExit(status);
+    }
+
+    /**
+     * Unwinds a handler which exited. It has no stack trace, because it is never reported.
+     */
+    static final class CommandExit extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        CommandExit(int status) {
+            super("Exit " + status, null, false, false);
+            this.status = status;
+        }
+
+        int getStatus() {
+            return status;
+        }
+    }
+}
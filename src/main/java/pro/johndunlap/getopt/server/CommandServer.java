@@ -0,0 +1,475 @@
+package pro.johndunlap.getopt.server;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import pro.johndunlap.getopt.GetOpt;
+
+/**
+ * Keeps a JVM resident so that command line tools do not pay for starting a JVM, loading their options classes and
+ * compiling their binding plans on every invocation. A thin client, such as {@link CommandClient}, sends its
+ * arguments, environment and working directory over a socket, and the server runs the command on an executor and
+ * streams its output and exit status back. Binding plans are compiled once per class and shared by every request, and
+ * converters stay warm in the JIT.
+ *
+ * <p>Each request gets its own {@link GetOpt}, which is configured like the server's but writes to the request's
+ * streams and exits by ending the request, so {@link GetOpt#run(Class, String[])} never stops the server. Commands
+ * must not call {@link System#exit(int)} themselves, and should not write to {@link System#out}, which belongs to the
+ * server.</p>
+ *
+ * <p>The server only listens on the loopback interface, but any local user can connect to it, and a request controls
+ * the environment, the working directory and the argument files which the command reads. Requests must therefore
+ * carry a token, which is generated when the server starts unless one is set with {@link Builder#token(String)}, and
+ * which {@link #getToken()} returns so that it can be handed to clients. {@link Builder#withoutToken()} turns this
+ * off for machines which nobody else uses.</p>
+ *
+ * @author John Dunlap
+ */
+public final class CommandServer implements Closeable {
+
+    /**
+     * The default time, in milliseconds, which a client has to send its request.
+     */
+    public static final int DEFAULT_READ_TIMEOUT = 10_000;
+
+    /**
+     * The shortest and longest times, in milliseconds, which the server waits before accepting again after accepting
+     * a connection has failed.
+     */
+    private static final long MIN_ACCEPT_BACKOFF = 10;
+    private static final long MAX_ACCEPT_BACKOFF = 1_000;
+
+    private static final Logger LOGGER = Logger.getLogger(CommandServer.class.getName());
+
+    private final ServerSocket serverSocket;
+    private final GetOpt getOpt;
+    private final CommandHandler handler;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final String token;
+    private final byte[] tokenBytes;
+    private final int readTimeout;
+    private final Thread acceptor;
+
+    private CommandServer(Builder builder, ServerSocket serverSocket, String token) {
+        this.serverSocket = serverSocket;
+        this.getOpt = builder.getOpt;
+        this.handler = builder.handler;
+        this.token = token;
+        this.tokenBytes = token.getBytes(StandardCharsets.UTF_8);
+        this.readTimeout = builder.readTimeout;
+
+        if (builder.executor != null) {
+            this.executor = builder.executor;
+            this.ownedExecutor = null;
+        } else {
+            this.ownedExecutor = Executors.newCachedThreadPool(new DaemonThreadFactory());
+            this.executor = ownedExecutor;
+        }
+
+        this.acceptor = new Thread(this::accept, "getopt-server-" + serverSocket.getLocalPort());
+    }
+
+    /**
+     * Returns a builder of servers which bind arguments with the given instance and run commands with the given
+     * handler.
+     *
+     * @param getOpt The instance whose configuration every request's {@link GetOpt} copies
+     * @param handler Runs each command
+     * @return A new builder
+     */
+    public static Builder builder(GetOpt getOpt, CommandHandler handler) {
+        return new Builder(getOpt, handler);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the token which clients must send, or an empty string if the server was started
+     * {@link Builder#withoutToken() without one}.
+     *
+     * @return The token
+     */
+    public String getToken() {
+        return token;
+    }
+
+    public boolean isClosed() {
+        return serverSocket.isClosed();
+    }
+
+    /**
+     * Stops accepting connections. Commands which are already running are allowed to finish.
+     *
+     * @throws IOException If the socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private void accept() {
+        long backoff = 0;
+
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+
+            try {
+                socket = serverSocket.accept();
+                backoff = 0;
+            } catch (IOException e) {
+                // Closing the server socket interrupts accept, which ends the loop
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+
+                // Errors such as running out of file descriptors tend to recur, so wait before trying again instead of
+                // spinning, and wait longer each time that the error recurs
+                backoff = backoff == 0 ? MIN_ACCEPT_BACKOFF : Math.min(backoff * 2, MAX_ACCEPT_BACKOFF);
+                LOGGER.log(Level.WARNING, "Failed to accept a connection on port " + getPort() + ", retrying in "
+                        + backoff + "ms", e);
+
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                continue;
+            }
+
+            try {
+                executor.execute(() -> serve(socket));
+            } catch (RejectedExecutionException e) {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+
+            // A client which connects and sends nothing must not hold a thread forever
+            socket.setSoTimeout(readTimeout);
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            CommandRequest request;
+
+            try {
+                request = readRequest(in, out);
+            } catch (IOException e) {
+                writeError(out, "Invalid request: " + e.getMessage());
+                return;
+            }
+
+            if (request == null) {
+                writeError(out, "Invalid token");
+                return;
+            }
+
+            // Commands may take as long as they need once the request has been read
+            socket.setSoTimeout(0);
+
+            int status = execute(request);
+
+            request.getOut().flush();
+            request.getErr().flush();
+
+            synchronized (out) {
+                out.writeByte(Protocol.EXIT);
+                out.writeInt(status);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The client went away, so there is no one to report to
+        }
+    }
+
+    private int execute(CommandRequest request) {
+        try {
+            handler.handle(request);
+            return 0;
+        } catch (CommandRequest.CommandExit e) {
+            return e.getStatus();
+        } catch (Exception e) {
+            e.printStackTrace(request.getErr());
+            return 1;
+        }
+    }
+
+    /**
+     * Reads a request, or returns null if its token does not match this server's.
+     */
+    private CommandRequest readRequest(DataInputStream in, DataOutputStream out) throws IOException {
+        if (in.readInt() != Protocol.MAGIC) {
+            throw new IOException("Not a getopt request");
+        }
+
+        int version = in.readInt();
+
+        if (version != Protocol.VERSION) {
+            throw new IOException("Unsupported protocol version " + version);
+        }
+
+        byte[] requestToken = Protocol.readString(in).getBytes(StandardCharsets.UTF_8);
+
+        if (!MessageDigest.isEqual(tokenBytes, requestToken)) {
+            return null;
+        }
+
+        Path workingDirectory = workingDirectory(Protocol.readString(in));
+        Map<String, String> environment = new HashMap<>();
+
+        for (int i = Protocol.readCount(in); i > 0; i--) {
+            environment.put(Protocol.readString(in), Protocol.readString(in));
+        }
+
+        String[] args = new String[Protocol.readCount(in)];
+
+        for (int i = 0; i < args.length; i++) {
+            args[i] = Protocol.readString(in);
+        }
+
+        PrintStream stdout = stream(out, Protocol.STDOUT);
+        PrintStream stderr = stream(out, Protocol.STDERR);
+
+        return new CommandRequest(args, Collections.unmodifiableMap(environment), workingDirectory, stdout, stderr,
+                getOpt);
+    }
+
+    /**
+     * Parses the working directory of a request. It must be absolute, because relative paths in the request, such as
+     * those of argument files, are resolved against it rather than against the server's working directory.
+     */
+    private static Path workingDirectory(String value) throws IOException {
+        Path path;
+
+        try {
+            path = Paths.get(value);
+        } catch (InvalidPathException e) {
+            throw new IOException("Invalid working directory " + value, e);
+        }
+
+        if (!path.isAbsolute()) {
+            throw new IOException("Working directory " + value + " is not absolute");
+        }
+
+        return path;
+    }
+
+    private static PrintStream stream(DataOutputStream out, byte type) {
+        try {
+            return new PrintStream(new BufferedOutputStream(new Protocol.FrameOutputStream(out, type)), true,
+                    StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeError(DataOutputStream out, String message) throws IOException {
+        byte[] bytes = (message + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+
+        out.writeByte(Protocol.STDERR);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.writeByte(Protocol.EXIT);
+        out.writeInt(1);
+        out.flush();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing else can be done with it
+        }
+    }
+
+    private static String generateToken() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Collects the configuration of a server.
+     */
+    public static final class Builder {
+        private final GetOpt getOpt;
+        private final CommandHandler handler;
+        private int port;
+        private int backlog = 50;
+        private Executor executor;
+        private String token;
+        private boolean tokenRequired = true;
+        private int readTimeout = DEFAULT_READ_TIMEOUT;
+
+        private Builder(GetOpt getOpt, CommandHandler handler) {
+            this.getOpt = getOpt;
+            this.handler = handler;
+        }
+
+        /**
+         * Sets the port to listen on. By default, a free port is chosen, which {@link CommandServer#getPort()}
+         * returns.
+         *
+         * @param port The port, or 0 to choose a free one
+         * @return This builder
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        /**
+         * Sets the executor which runs commands, such as one which starts a virtual thread per task. By default,
+         * commands run on a cached pool of daemon threads, which is shut down when the server is closed. An executor
+         * which is set here is not shut down by the server.
+         *
+         * @param executor The executor
+         * @return This builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the secret which clients must send with each request. By default, a random token is generated when the
+         * server starts.
+         *
+         * @param token The secret, which must not be empty
+         * @return This builder
+         * @throws IllegalArgumentException If the token is null or empty
+         */
+        public Builder token(String token) {
+            if (token == null || token.isEmpty()) {
+                throw new IllegalArgumentException("The token must not be empty, use withoutToken() to disable it");
+            }
+
+            this.token = token;
+            this.tokenRequired = true;
+            return this;
+        }
+
+        /**
+         * Accepts requests which carry no token. Any local user can then run commands as the user who runs the
+         * server, so this should only be used on machines which nobody else can log in to.
+         *
+         * @return This builder
+         */
+        public Builder withoutToken() {
+            this.token = null;
+            this.tokenRequired = false;
+            return this;
+        }
+
+        /**
+         * Sets how long the server waits for a client to send its request before closing the connection.
+         *
+         * @param readTimeout The timeout, which must be positive
+         * @return This builder
+         * @throws IllegalArgumentException If the timeout is not positive or does not fit in an int of milliseconds
+         */
+        public Builder readTimeout(Duration readTimeout) {
+            if (readTimeout.isNegative() || readTimeout.isZero() || readTimeout.toMillis() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid read timeout " + readTimeout);
+            }
+
+            this.readTimeout = (int) readTimeout.toMillis();
+            return this;
+        }
+
+        /**
+         * Binds the server's socket and starts accepting connections on a new thread. The thread is not a daemon, so
+         * the JVM keeps running until the server is closed.
+         *
+         * @return The running server
+         * @throws IOException If the socket cannot be bound
+         */
+        public CommandServer start() throws IOException {
+            String serverToken = tokenRequired ? (token != null ? token : generateToken()) : "";
+            ServerSocket serverSocket = new ServerSocket(port, backlog, InetAddress.getLoopbackAddress());
+            CommandServer server = new CommandServer(this, serverSocket, serverToken);
+            server.acceptor.start();
+            return server;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "getopt-command-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
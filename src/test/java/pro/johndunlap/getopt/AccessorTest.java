@@ -31,10 +31,16 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
 
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Ignore;
+import pro.johndunlap.getopt.exception.ParseException;
 
 /**
  * Tests that getting and setting values in Java objects via reflection works as expected.
@@ -159,6 +165,123 @@ public class AccessorTest {
         assertEquals("test", instance.getPublicField());
     }
 
+    @Test
+    public void testMethodHandleAccessorPrefersPublicGetter() throws NoSuchFieldException, IllegalAccessException {
+        assertAccessorPrefersPublicGetter(MethodHandleAccessorStrategy.INSTANCE);
+    }
+
+    @Test
+    public void testReflectiveAccessorPrefersPublicGetter() throws NoSuchFieldException, IllegalAccessException {
+        assertAccessorPrefersPublicGetter(ReflectiveAccessorStrategy.INSTANCE);
+    }
+
+    @Test
+    public void testMethodHandleAccessorPrefersPublicField() throws NoSuchFieldException, IllegalAccessException {
+        assertAccessorPrefersPublicField(MethodHandleAccessorStrategy.INSTANCE);
+    }
+
+    @Test
+    public void testReflectiveAccessorPrefersPublicField() throws NoSuchFieldException, IllegalAccessException {
+        assertAccessorPrefersPublicField(ReflectiveAccessorStrategy.INSTANCE);
+    }
+
+    @Test
+    public void testMethodHandleAccessorUsesPrivateSetter() throws NoSuchFieldException, IllegalAccessException {
+        PrivateSetterPrivateField instance = new PrivateSetterPrivateField();
+        Field field = instance.getClass().getDeclaredField("privateField");
+
+        MethodHandleAccessorStrategy.INSTANCE.resolve(field).set(instance, "test");
+        assertTrue(instance.wasSetterCalled());
+        assertEquals("test", instance.getPrivateField());
+    }
+
+    @Test
+    public void testMethodHandleAccessorFallsBackToReflection() throws NoSuchFieldException {
+        PrivateSetterPrivateField instance = new PrivateSetterPrivateField();
+        Field field = instance.getClass().getDeclaredField("privateField");
+
+        // A public lookup cannot reach the private setter, so the field is resolved reflectively instead
+        FieldAccessor accessor = MethodHandleAccessorStrategy.INSTANCE.resolve(field, MethodHandles.publicLookup());
+        accessor.set(instance, "test");
+        assertTrue(instance.wasSetterCalled());
+        assertEquals("test", accessor.get(instance));
+    }
+
+    @Test
+    public void testInaccessibleFieldFailsWhenUsed() throws NoSuchFieldException, IllegalAccessException {
+        Field field = ArrayList.class.getDeclaredField("size");
+        assumeFalse("java.util is open to this module", field.trySetAccessible());
+
+        FieldAccessor accessor = MethodHandleAccessorStrategy.INSTANCE.resolve(field);
+
+        try {
+            accessor.set(new ArrayList<>(), 1);
+            fail("Expected the inaccessible field to be rejected");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("size"));
+        }
+    }
+
+    @Test
+    public void testBindWithReflectiveAccessorStrategy() throws ParseException {
+        SetterConfig instance = new GetOpt()
+                .setAccessorStrategy(ReflectiveAccessorStrategy.INSTANCE)
+                .read(SetterConfig.class, new String[]{"--value", "test"});
+
+        assertTrue(instance.wasSetterCalled());
+        assertEquals("test", instance.getValue());
+    }
+
+    @Test
+    public void testMethodHandleAccessorPrimitiveSetters() throws NoSuchFieldException, IllegalAccessException {
+        assertPrimitiveSetters(MethodHandleAccessorStrategy.INSTANCE);
+    }
+
+    @Test
+    public void testReflectiveAccessorPrimitiveSetters() throws NoSuchFieldException, IllegalAccessException {
+        assertPrimitiveSetters(ReflectiveAccessorStrategy.INSTANCE);
+    }
+
+    private static void assertPrimitiveSetters(AccessorStrategy strategy)
+            throws NoSuchFieldException, IllegalAccessException {
+        PrimitiveConfig instance = new PrimitiveConfig();
+
+        strategy.resolve(PrimitiveConfig.class.getDeclaredField("intValue")).setInt(instance, 1);
+        strategy.resolve(PrimitiveConfig.class.getDeclaredField("longValue")).setLong(instance, 2L);
+        strategy.resolve(PrimitiveConfig.class.getDeclaredField("doubleValue")).setDouble(instance, 3.5);
+        strategy.resolve(PrimitiveConfig.class.getDeclaredField("charValue")).setChar(instance, 'c');
+        strategy.resolve(PrimitiveConfig.class.getDeclaredField("booleanValue")).setBoolean(instance, true);
+        strategy.resolve(PrimitiveConfig.class.getDeclaredField("boxedValue")).setInt(instance, 4);
+        strategy.resolve(PrimitiveConfig.class.getDeclaredField("setterValue")).setInt(instance, 5);
+
+        assertEquals(1, instance.intValue);
+        assertEquals(2L, instance.longValue);
+        assertEquals(3.5, instance.doubleValue, 0);
+        assertEquals('c', instance.charValue);
+        assertTrue(instance.booleanValue);
+        assertEquals(Integer.valueOf(4), instance.boxedValue);
+        assertEquals(10, instance.setterValue);
+    }
+
+    private static void assertAccessorPrefersPublicGetter(AccessorStrategy strategy)
+            throws NoSuchFieldException, IllegalAccessException {
+        PublicGetterPrivateField instance = new PublicGetterPrivateField("test");
+        FieldAccessor accessor = strategy.resolve(instance.getClass().getDeclaredField("privateField"));
+
+        assertEquals("test", accessor.get(instance));
+        assertTrue(instance.wasGetterCalled());
+    }
+
+    private static void assertAccessorPrefersPublicField(AccessorStrategy strategy)
+            throws NoSuchFieldException, IllegalAccessException {
+        PrivateSetterPublicField instance = new PrivateSetterPublicField();
+        FieldAccessor accessor = strategy.resolve(instance.getClass().getDeclaredField("publicField"));
+
+        accessor.set(instance, "test");
+        assertFalse(instance.wasSetterCalled());
+        assertEquals("test", instance.getPublicField());
+    }
+
     private static class NamedConfig {
         private Boolean booleanValue;
 
@@ -175,6 +298,47 @@ public class AccessorTest {
         }
     }
 
+    private static class PrimitiveConfig {
+        private int intValue;
+        private long longValue;
+        private double doubleValue;
+        private char charValue;
+        private boolean booleanValue;
+        private Integer boxedValue;
+        private int setterValue;
+
+        public PrimitiveConfig() {
+        }
+
+        public void setSetterValue(int setterValue) {
+            this.setterValue = setterValue * 2;
+        }
+    }
+
+    private static class SetterConfig {
+        private String value;
+
+        @Ignore
+        private boolean setterCalled = false;
+
+        public SetterConfig() {
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public SetterConfig setValue(String value) {
+            this.value = value;
+            setterCalled = true;
+            return this;
+        }
+
+        public boolean wasSetterCalled() {
+            return setterCalled;
+        }
+    }
+
     private static class PrivateGetterPrivateField {
         private String privateField;
         private boolean getterCalled = false;
@@ -242,6 +242,24 @@ public class ArgTest {
         assertEquals(Double.valueOf(3.14159265), config.getDoubleValue());
     }
 
+    @Test
+    public void testShortNameInClusterTakesRemainderAsValue() throws ParseException {
+        String[] args = {"-HBs1234"};
+        TwoBooleanAndShort config = new GetOpt().read(TwoBooleanAndShort.class, args);
+        assertNotNull(config);
+        assertTrue(config.getHelp());
+        assertTrue(config.getBooleanValue());
+        assertEquals(Short.valueOf((short) 1234), config.getShortValue());
+    }
+
+    @Test
+    public void testHelpCodeInCluster() throws ParseException {
+        String[] args = {"-Bh"};
+        ParseContext<BooleanConfigNotRequired> context = new GetOpt().readContext(BooleanConfigNotRequired.class, args);
+        assertTrue(context.isHelpRequested());
+        assertTrue(context.getInstance().getBooleanValue());
+    }
+
     @Test
     public void testSuccessfullyParseNumericOptionsWithMaximumValues() throws ParseException {
         String[] args = {
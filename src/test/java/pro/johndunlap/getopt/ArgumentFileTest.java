@@ -0,0 +1,224 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.After;
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.exception.ArgumentFileException;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link ArgumentFile} and the expansion of argument files.
+ *
+ * @author John Dunlap
+ */
+public class ArgumentFileTest {
+    private final List<Path> files = new ArrayList<>();
+
+    /**
+     * Deletes the argument files which the test created.
+     *
+     * @throws IOException If a file cannot be deleted
+     */
+    @After
+    public void deleteFiles() throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testQuotingAndEscaping() throws Exception {
+        Path file = write("plain 'single \"quoted\"' \"double \\\"quoted\\\" \\\\ \\n\"\n"
+                + "escaped\\ space jo'in'ed '' \\\n"
+                + "  # a comment 'with quotes\n"
+                + "not#comment cont\\\r\ninued \"multi\\\nline\"\n");
+
+        assertEquals(Arrays.asList("plain", "single \"quoted\"", "double \"quoted\" \\ \\n", "escaped space",
+                "joined", "", "not#comment", "continued", "multiline"), tokens(file));
+    }
+
+    @Test
+    public void testEmptyFile() throws Exception {
+        assertNull(ArgumentFile.open(write("  # nothing here\n\n"), Long.MAX_VALUE).next());
+        assertNull(ArgumentFile.open(write(""), Long.MAX_VALUE).next());
+    }
+
+    @Test(expected = ArgumentFileException.class)
+    public void testUnterminatedQuote() throws Exception {
+        tokens(write("'never closed"));
+    }
+
+    @Test(expected = ArgumentFileException.class)
+    public void testMissingFile() throws Exception {
+        ArgumentFile.open(write("").resolveSibling("missing-argument-file"), Long.MAX_VALUE);
+    }
+
+    @Test(expected = ArgumentFileException.class)
+    public void testSizeLimit() throws Exception {
+        ArgumentFile.open(write("0123456789"), 9);
+    }
+
+    @Test
+    public void testLargeFileIsMapped() throws Exception {
+        Path file = temporaryFile();
+        int count = 0;
+
+        // Multi-byte characters make sure that sequences which straddle decoding chunks are reassembled
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (Files.size(file) <= ArgumentFile.MAPPING_THRESHOLD * 2L) {
+                writer.write("élève-" + count++ + "\n");
+                writer.flush();
+            }
+        }
+
+        ArgumentFile argumentFile = ArgumentFile.open(file, Long.MAX_VALUE);
+        int read = 0;
+
+        for (String token = argumentFile.next(); token != null; token = argumentFile.next()) {
+            assertEquals("élève-" + read++, token);
+        }
+
+        assertEquals(count, read);
+    }
+
+    @Test
+    public void testNestedArgumentFiles() throws Exception {
+        Path inner = write("-v --name \"two words\"");
+        Path outer = write("first @" + inner + " second");
+
+        TokenCursor cursor = new TokenCursor(new String[]{"@" + outer, "last"}).expandArgumentFiles(Long.MAX_VALUE);
+        List<String> tokens = new ArrayList<>();
+
+        while (cursor.hasNext()) {
+            tokens.add(cursor.pop());
+        }
+
+        assertEquals(Arrays.asList("first", "-v", "--name", "two words", "second", "last"), tokens);
+    }
+
+    @Test
+    public void testArgumentFilesAreOptIn() throws Exception {
+        TokenCursor cursor = new TokenCursor(new String[]{"@does-not-exist"});
+
+        assertEquals("@does-not-exist", cursor.pop());
+    }
+
+    @Test(expected = ArgumentFileException.class)
+    public void testRecursiveArgumentFile() throws Exception {
+        Path file = temporaryFile();
+        Files.write(file, ("@" + file).getBytes(StandardCharsets.UTF_8));
+
+        new TokenCursor(new String[]{"@" + file}).expandArgumentFiles(Long.MAX_VALUE).hasNext();
+    }
+
+    @Test
+    public void testReadWithArgumentFile() throws Exception {
+        Path file = write("--verbose --name 'John Dunlap'\none two\nthree\n");
+
+        ArgumentFileConfig config = GetOpt.builder().argumentFiles(true).build()
+                .read(ArgumentFileConfig.class, new String[]{"@" + file, "four"});
+
+        assertEquals(true, config.verbose);
+        assertEquals("John Dunlap", config.name);
+        assertEquals(Arrays.asList("one", "two", "three", "four"), config.received);
+    }
+
+    @Test
+    public void testRelativePathsResolveAgainstArgumentFileDirectory() throws Exception {
+        Path inner = write("--name inner");
+        Path outer = write("--verbose @" + inner.getFileName());
+
+        ArgumentFileConfig config = GetOpt.builder().argumentFiles(true).argumentFileDirectory(outer.getParent())
+                .build()
+                .read(ArgumentFileConfig.class, new String[]{"@" + outer.getFileName()});
+
+        assertEquals(true, config.verbose);
+        assertEquals("inner", config.name);
+    }
+
+    @Test(expected = ArgumentFileException.class)
+    public void testReadRespectsSizeLimit() throws Exception {
+        Path file = write("--verbose");
+
+        new GetOpt().setArgumentFiles(true).setMaxArgumentFileSize(4)
+                .read(ArgumentFileConfig.class, new String[]{"@" + file});
+    }
+
+    private static List<String> tokens(Path file) throws ParseException {
+        ArgumentFile argumentFile = ArgumentFile.open(file, Long.MAX_VALUE);
+        List<String> tokens = new ArrayList<>();
+
+        for (String token = argumentFile.next(); token != null; token = argumentFile.next()) {
+            tokens.add(token);
+        }
+
+        return tokens;
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = temporaryFile();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private Path temporaryFile() throws IOException {
+        Path file = Files.createTempFile("getopt", ".args");
+        files.add(file);
+        return file;
+    }
+
+    private static class ArgumentFileConfig {
+        private final List<String> received = new ArrayList<>();
+
+        @Arg
+        private boolean verbose;
+
+        @Arg
+        private String name;
+
+        @GetOptOrdered(order = 0)
+        private Consumer<String> values = received::add;
+
+        public ArgumentFileConfig() {
+        }
+    }
+}
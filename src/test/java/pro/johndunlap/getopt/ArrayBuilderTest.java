@@ -0,0 +1,96 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link ArrayBuilder}.
+ *
+ * @author John Dunlap
+ */
+public class ArrayBuilderTest {
+
+    @Test
+    public void testGrowsPastInitialCapacity() {
+        ArrayBuilder builder = new ArrayBuilder(String.class, null);
+
+        for (int i = 0; i < 100; i++) {
+            builder.add(String.valueOf(i));
+        }
+
+        String[] array = (String[]) builder.build();
+        assertEquals(100, array.length);
+        assertEquals("0", array[0]);
+        assertEquals("99", array[99]);
+    }
+
+    @Test
+    public void testBuildsPrimitiveArray() {
+        int[] array = (int[]) new ArrayBuilder(int.class, null).add(1).add(2).build();
+        assertArrayEquals(new int[]{1, 2}, array);
+    }
+
+    @Test
+    public void testSeededWithInitialArray() {
+        long[] array = (long[]) new ArrayBuilder(long.class, new long[]{1L}).add(2L).build();
+        assertArrayEquals(new long[]{1L, 2L}, array);
+    }
+
+    @Test
+    public void testBindPrimitiveArrays() throws ParseException {
+        String[] args = {"-i", "1", "-i", "2", "-d", "0.5", "-b", "7", "-l", "3"};
+        ArrayConfig config = new GetOpt().read(ArrayConfig.class, args);
+
+        assertArrayEquals(new int[]{1, 2}, config.ints);
+        assertArrayEquals(new double[]{0.5}, config.doubles, 0);
+        assertArrayEquals(new byte[]{7}, config.bytes);
+        assertArrayEquals(new long[]{0L, 3L}, config.longs);
+    }
+
+    private static class ArrayConfig {
+        @Arg(code = 'i')
+        private int[] ints;
+
+        @Arg(code = 'd')
+        private double[] doubles;
+
+        @Arg(code = 'b')
+        private byte[] bytes;
+
+        @Arg(code = 'l')
+        private long[] longs = {0L};
+
+        public ArrayConfig() {
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.annotation.Ignore;
+import pro.johndunlap.getopt.exception.DuplicateOptionException;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link BindingPlan}.
+ *
+ * @author John Dunlap
+ */
+public class BindingPlanTest {
+
+    @Test
+    public void testPlanIsCompiledOnce() throws ParseException {
+        assertSame(BindingPlan.of(PlanConfig.class), BindingPlan.of(PlanConfig.class));
+    }
+
+    @Test
+    public void testPlanContents() throws ParseException {
+        BindingPlan<PlanConfig> plan = BindingPlan.of(PlanConfig.class);
+
+        assertEquals(PlanConfig.class, plan.getClassType());
+        assertEquals("verbose", plan.getNamedBindings().get("v").getField().getName());
+        assertEquals("verbose", plan.getNamedBindings().get("verbose").getField().getName());
+        assertEquals("outputFile", plan.getNamedBindings().get("output-file").getField().getName());
+        assertEquals(2, plan.getOrderedBindings().size());
+        assertEquals("first", plan.getOrderedBindings().get(0).getField().getName());
+        assertEquals("second", plan.getOrderedBindings().get(1).getField().getName());
+        assertEquals(1, plan.getRequiredFields().size());
+        assertEquals(1, plan.getBooleanBindings().size());
+        assertTrue(plan.getHelpTokens().contains("--help"));
+    }
+
+    @Test
+    public void testPrecompiledPlanIsShared() throws ParseException {
+        BindingPlan<ConverterConfig> plan = BindingPlan.precompile(ConverterConfig.class);
+
+        assertSame(plan, BindingPlan.of(ConverterConfig.class));
+        assertSame(plan, BindingPlan.precompile(ConverterConfig.class));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testPlanIsImmutable() throws ParseException {
+        BindingPlan.of(PlanConfig.class).getNamedBindings().clear();
+    }
+
+    @Test
+    public void testFailedCompilationIsReportedEveryTime() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                BindingPlan.of(DuplicateConfig.class);
+            } catch (ParseException e) {
+                assertTrue(e instanceof DuplicateOptionException);
+                continue;
+            }
+
+            throw new AssertionError("Expected a DuplicateOptionException");
+        }
+    }
+
+    @Test
+    public void testConverterIsInstantiatedOncePerField() throws ParseException {
+        int before = CountingConverter.instances.get();
+
+        for (int i = 0; i < 3; i++) {
+            ConverterConfig config = new GetOpt().read(ConverterConfig.class, new String[]{"--value", "a", "b"});
+            assertEquals("a", config.value.value);
+            assertEquals("b", config.values.get(0).value);
+        }
+
+        // One converter for the named field and one for the ordered field, no matter how many values were converted
+        assertTrue(CountingConverter.instances.get() - before <= 2);
+        assertSame(
+                BindingPlan.of(ConverterConfig.class).getNamedBindings().get("value").getConverter(),
+                BindingPlan.of(ConverterConfig.class).getNamedBindings().get("value").getConverter()
+        );
+    }
+
+    @Test
+    public void testResetSkipsFinalStaticAndConsumerFields() throws ParseException {
+        BindingPlan<ResetConfig> plan = BindingPlan.of(ResetConfig.class);
+        ResetConfig config = new ResetConfig();
+        config.count = 3;
+        ResetConfig.shared = "shared";
+
+        plan.reset(config);
+
+        assertEquals(1, plan.getResettableBindings().size());
+        assertEquals(0, config.count);
+        assertEquals("fixed", config.fixed);
+        assertEquals("shared", ResetConfig.shared);
+        assertNotNull(config.sink);
+    }
+
+    private static class ResetConfig {
+        private static String shared;
+
+        @Arg
+        private final String fixed = "fixed";
+
+        @Arg
+        private int count;
+
+        @GetOptOrdered(order = 0)
+        private Consumer<String> sink = value -> { };
+
+        public ResetConfig() {
+        }
+    }
+
+    private static class PlanConfig {
+        @Arg(code = 'v')
+        private boolean verbose;
+
+        @Arg(required = true)
+        private String outputFile;
+
+        @GetOptOrdered(order = 1)
+        private String second;
+
+        @GetOptOrdered(order = 0)
+        private String first;
+
+        @Ignore
+        private String ignored;
+
+        public PlanConfig() {
+        }
+    }
+
+    private static class ConverterConfig {
+        @Arg(converter = CountingConverter.class)
+        private Name value;
+
+        @GetOptOrdered(order = 0, collectionType = Name.class, converter = CountingConverter.class)
+        private List<Name> values;
+
+        public ConverterConfig() {
+        }
+    }
+
+    private static class Name {
+        private final String value;
+
+        private Name(String value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Counts how many times it is instantiated, so that tests can check that converters are shared.
+     */
+    public static class CountingConverter implements TypeConverter<Name> {
+        private static final AtomicInteger instances = new AtomicInteger();
+
+        public CountingConverter() {
+            instances.incrementAndGet();
+        }
+
+        @Override
+        public Class<Name> getType() {
+            return Name.class;
+        }
+
+        @Override
+        public Name read(String value) {
+            return new Name(value);
+        }
+
+        @Override
+        public String write(Name value) {
+            return value.value;
+        }
+    }
+
+    private static class DuplicateConfig {
+        @Arg(code = 'd')
+        private String first;
+
+        @Arg(code = 'd')
+        private String second;
+
+        public DuplicateConfig() {
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.exception.ErrorCode;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link CommandRegistry}.
+ *
+ * @author John Dunlap
+ */
+public class CommandRegistryTest {
+    private static final AtomicInteger LAZY_INITIALIZATIONS = new AtomicInteger();
+
+    @Test
+    public void testDispatchesToCommandClass() throws ParseException {
+        CommandRegistry registry = CommandRegistry.builder(new GetOpt())
+                .command("commit", CommitOptions.class)
+                .command("push", PushOptions.class)
+                .build();
+
+        Command<?> command = registry.read(new String[]{"commit", "-m", "Fix the build", "--amend"});
+
+        assertEquals("commit", command.getName());
+        assertSame(CommitOptions.class, command.getOptionsClass());
+
+        CommitOptions options = (CommitOptions) command.getOptions();
+        assertEquals("Fix the build", options.message);
+        assertTrue(options.amend);
+
+        PushOptions push = (PushOptions) registry.read("push origin --force").getOptions();
+        assertEquals("origin", push.remote);
+        assertTrue(push.force);
+    }
+
+    @Test
+    public void testClassesAreLoadedWhenInvoked() throws ParseException {
+        AtomicInteger supplied = new AtomicInteger();
+        CommandRegistry registry = CommandRegistry.builder(new GetOpt())
+                .command("lazy", CommandRegistryTest.class.getName() + "$LazilyLoadedOptions")
+                .command("push", () -> {
+                    supplied.incrementAndGet();
+                    return PushOptions.class;
+                })
+                .build();
+
+        assertFalse(registry.isLoaded("lazy"));
+        assertFalse(registry.isLoaded("push"));
+        assertEquals(0, LAZY_INITIALIZATIONS.get());
+        assertEquals(0, supplied.get());
+
+        LazilyLoadedOptions options = (LazilyLoadedOptions) registry.read(new String[]{"lazy", "--level", "3"})
+                .getOptions();
+
+        assertEquals(3, options.level);
+        assertTrue(registry.isLoaded("lazy"));
+        assertEquals(1, LAZY_INITIALIZATIONS.get());
+        assertFalse(registry.isLoaded("push"));
+
+        registry.read(new String[]{"push", "origin"});
+        registry.read(new String[]{"push", "upstream"});
+        assertEquals(1, supplied.get());
+    }
+
+    @Test
+    public void testUnknownCommand() {
+        CommandRegistry registry = CommandRegistry.builder(new GetOpt())
+                .command("commit", CommitOptions.class)
+                .command("push", PushOptions.class)
+                .build();
+
+        try {
+            registry.read(new String[]{"pull", "--rebase"});
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals(ErrorCode.UNKNOWN_COMMAND, e.getErrorCode());
+            assertEquals("pull", e.getValue());
+            assertEquals(0, e.getTokenIndex());
+            assertEquals("Unknown command pull. Commands are: commit, push", e.getMessage());
+        }
+
+        try {
+            registry.read(new String[0]);
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals(ErrorCode.MISSING_REQUIRED, e.getErrorCode());
+        }
+    }
+
+    @Test
+    public void testTokenIndexCountsCommandName() {
+        CommandRegistry registry = CommandRegistry.builder(new GetOpt())
+                .command("push", PushOptions.class)
+                .build();
+
+        try {
+            registry.read(new String[]{"push", "--depth", "deep"});
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals(ErrorCode.INVALID_VALUE, e.getErrorCode());
+            assertEquals(2, e.getTokenIndex());
+        }
+    }
+
+    @Test
+    public void testMissingClassIsReportedWhenInvoked() throws ParseException {
+        CommandRegistry registry = CommandRegistry.builder(new GetOpt())
+                .command("missing", "com.example.DoesNotExist")
+                .command("push", PushOptions.class)
+                .build();
+
+        assertEquals("origin", ((PushOptions) registry.read(new String[]{"push", "origin"}).getOptions()).remote);
+
+        try {
+            registry.read(new String[]{"missing"});
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals(ErrorCode.INVALID_DEFINITION, e.getErrorCode());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateCommand() {
+        CommandRegistry.builder(new GetOpt())
+                .command("push", PushOptions.class)
+                .command("push", CommitOptions.class);
+    }
+
+    @Test
+    public void testHelp() throws ParseException {
+        CommandRegistry registry = CommandRegistry.builder(new GetOpt())
+                .command("push", PushOptions.class)
+                .command("commit", CommitOptions.class)
+                .build();
+
+        assertEquals(Arrays.asList("commit", "push"), registry.getCommandNames());
+        assertEquals(String.join(System.lineSeparator(), "Commands:", "  commit", "  push"), registry.help());
+        assertEquals(new GetOpt().help(CommitOptions.class), registry.help("commit"));
+
+        Command<?> command = registry.read(new String[]{"commit", "--help"});
+        assertTrue(command.isHelpRequested());
+    }
+
+    @Test
+    public void testRun() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        AtomicInteger status = new AtomicInteger(-1);
+        GetOpt getOpt = new GetOpt()
+                .setOut(new PrintStream(out, true))
+                .setErr(new PrintStream(err, true))
+                .setExitMechanism(status::set);
+        CommandRegistry registry = CommandRegistry.builder(getOpt)
+                .command("push", PushOptions.class)
+                .build();
+
+        Command<?> command = registry.run(new String[]{"push", "origin"});
+        assertEquals("origin", ((PushOptions) command.getOptions()).remote);
+        assertEquals(-1, status.get());
+
+        assertNull(registry.run(new String[0]));
+        assertEquals(0, status.get());
+        assertTrue(out.toString().contains("push"));
+
+        status.set(-1);
+        assertNull(registry.run(new String[]{"pull"}));
+        assertEquals(1, status.get());
+        assertTrue(err.toString().startsWith("Unknown command pull"));
+    }
+
+    /**
+     * The options of the commit command.
+     */
+    public static class CommitOptions {
+        @Arg(code = 'm')
+        private String message;
+
+        private boolean amend;
+    }
+
+    /**
+     * The options of the push command, which takes a positional argument.
+     */
+    public static class PushOptions {
+        @GetOptOrdered(order = 1)
+        private String remote;
+
+        private boolean force;
+
+        private int depth;
+    }
+
+    /**
+     * Counts how many times it is initialized, so that tests can check that it is loaded lazily.
+     */
+    public static class LazilyLoadedOptions {
+        static {
+            LAZY_INITIALIZATIONS.incrementAndGet();
+        }
+
+        private int level;
+    }
+}
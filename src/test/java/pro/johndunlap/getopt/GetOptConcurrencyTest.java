@@ -0,0 +1,168 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for the thread-safety of {@link GetOpt}.
+ *
+ * @author John Dunlap
+ */
+public class GetOptConcurrencyTest {
+    private static final int THREADS = 64;
+    private static final int ITERATIONS = 500;
+
+    @Test(expected = IllegalStateException.class)
+    public void testFrozenInstanceRejectsRegistration() {
+        GetOpt.builder().build().register(Version.class, new VersionConverter());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFrozenInstanceRejectsStreams() {
+        GetOpt.builder().build().setOut(System.out);
+    }
+
+    @Test
+    public void testBuilderCopiesConfiguration() throws ParseException {
+        GetOpt.Builder builder = GetOpt.builder().register(Version.class, new VersionConverter());
+        GetOpt getOpt = builder.build();
+        builder.register(Version.class, null);
+
+        assertTrue(getOpt.isFrozen());
+        assertEquals(2, getOpt.read(Job.class, new String[]{"--version", "1.2", "a"}).version.minor);
+    }
+
+    @Test
+    public void testConcurrentReads() throws Exception {
+        GetOpt getOpt = GetOpt.builder()
+                .register(Version.class, new VersionConverter())
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                final int id = thread;
+
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int verified = 0;
+
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        String[] args = {
+                            "-t", String.valueOf(id), "--version", id + "." + i, "-v", "job" + id, "file" + i
+                        };
+                        Job job = getOpt.read(Job.class, args);
+
+                        assertEquals(id, job.threads);
+                        assertEquals(id, job.version.major);
+                        assertEquals(i, job.version.minor);
+                        assertTrue(job.verbose);
+                        assertEquals("job" + id, job.name);
+                        assertEquals("file" + i, job.files.get(0));
+                        verified++;
+                    }
+
+                    return verified;
+                }));
+            }
+
+            // Release every thread at once to maximize contention
+            start.countDown();
+
+            for (Future<Integer> future : futures) {
+                assertEquals(ITERATIONS, (int) future.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class Job {
+        @Arg(code = 't')
+        private int threads;
+
+        @Arg(code = 'v')
+        private boolean verbose;
+
+        @Arg
+        private Version version;
+
+        @GetOptOrdered(order = 0)
+        private String name;
+
+        @GetOptOrdered(order = 1, collectionType = String.class)
+        private List<String> files;
+
+        public Job() {
+        }
+    }
+
+    private static class Version {
+        private final int major;
+        private final int minor;
+
+        private Version(int major, int minor) {
+            this.major = major;
+            this.minor = minor;
+        }
+    }
+
+    private static class VersionConverter implements TypeConverter<Version> {
+        @Override
+        public Class<Version> getType() {
+            return Version.class;
+        }
+
+        @Override
+        public Version read(String value) {
+            int dot = value.indexOf('.');
+            return new Version(Integer.parseInt(value.substring(0, dot)), Integer.parseInt(value.substring(dot + 1)));
+        }
+
+        @Override
+        public String write(Version value) {
+            return value.major + "." + value.minor;
+        }
+    }
+}
@@ -28,10 +28,13 @@ package pro.johndunlap.getopt;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.Test;
 import pro.johndunlap.getopt.annotation.GetOptOrdered;
 import pro.johndunlap.getopt.annotation.Help;
+import pro.johndunlap.getopt.exception.InaccessibleFieldException;
 import pro.johndunlap.getopt.exception.ParseException;
 
 /**
@@ -51,6 +54,51 @@ public class GetOptOrderedTest {
         assertEquals(1, orderedConfig.getArray().length);
     }
 
+    @Test
+    public void testTrailingArrayCollectsRemainingValues() throws ParseException {
+        String[] args = new String[100_000];
+        args[0] = "zero";
+        args[1] = "one";
+        args[2] = "two";
+
+        for (int i = 3; i < args.length; i++) {
+            args[i] = "file" + i;
+        }
+
+        OrderedConfig orderedConfig = new GetOpt().read(OrderedConfig.class, args);
+        assertEquals(args.length - 3, orderedConfig.getArray().length);
+        assertEquals("file3", orderedConfig.getArray()[0]);
+        assertEquals("file99999", orderedConfig.getArray()[args.length - 4]);
+    }
+
+    @Test
+    public void testTrailingConsumerReceivesEachValue() throws ParseException {
+        String[] args = new String[100_001];
+        args[0] = "sum";
+        long expected = 0;
+
+        for (int i = 1; i < args.length; i++) {
+            args[i] = String.valueOf(i);
+            expected += i;
+        }
+
+        StreamingConfig config = new GetOpt().read(StreamingConfig.class, args);
+        assertEquals("sum", config.command);
+        assertEquals(args.length - 1, config.count);
+        assertEquals(expected, config.sum);
+    }
+
+    @Test
+    public void testConsumerReceivesStringsByDefault() throws ParseException {
+        UntypedStreamingConfig config = new GetOpt().read(UntypedStreamingConfig.class, new String[]{"a", "b"});
+        assertEquals(List.of("a", "b"), config.received);
+    }
+
+    @Test(expected = InaccessibleFieldException.class)
+    public void testUninitializedConsumer() throws ParseException {
+        new GetOpt().read(UninitializedStreamingConfig.class, new String[]{"a"});
+    }
+
     @Test(expected = ParseException.class)
     public void testRequiredOrderedMissingMissing() throws ParseException {
         String[] args = new String[]{};
@@ -133,4 +181,41 @@ public class GetOptOrderedTest {
                     + '}';
         }
     }
+
+    private static class StreamingConfig {
+        @GetOptOrdered(order = 0)
+        private String command;
+
+        @GetOptOrdered(order = 1, collectionType = Integer.class)
+        private Consumer<Integer> numbers = this::add;
+
+        private long sum;
+        private int count;
+
+        public StreamingConfig() {
+        }
+
+        private void add(Integer value) {
+            sum += value;
+            count++;
+        }
+    }
+
+    private static class UntypedStreamingConfig {
+        private final List<Object> received = new ArrayList<>();
+
+        @GetOptOrdered(order = 0)
+        private Consumer<Object> values = received::add;
+
+        public UntypedStreamingConfig() {
+        }
+    }
+
+    private static class UninitializedStreamingConfig {
+        @GetOptOrdered(order = 0)
+        private Consumer<String> values;
+
+        public UninitializedStreamingConfig() {
+        }
+    }
 }
@@ -27,11 +27,18 @@ package pro.johndunlap.getopt;
  */
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.exception.ParseException;
 
 /**
  * Verify the functionality of the {@link GetOpt} class.
@@ -67,4 +74,53 @@ public class GetOptTest {
         printStream.write(message.getBytes());
         assertEquals(message, outputStream.toString());
     }
+
+    @Test
+    public void testReadIntoOverlaysDefaults() throws ParseException {
+        Defaults defaults = new Defaults();
+        defaults.host = "example.com";
+        defaults.port = 8080;
+        defaults.secure = Boolean.TRUE;
+        defaults.tags.add("default");
+
+        Defaults result = new GetOpt().readInto(defaults, new String[]{"--port", "9090", "--tags", "extra"});
+
+        assertSame(defaults, result);
+        assertEquals("example.com", defaults.host);
+        assertEquals(9090, defaults.port);
+        assertEquals(Boolean.TRUE, defaults.secure);
+        assertEquals(Arrays.asList("default", "extra"), defaults.tags);
+    }
+
+    @Test
+    public void testReadIntoWithReset() throws ParseException {
+        Defaults defaults = new Defaults();
+        defaults.host = "example.com";
+        defaults.port = 8080;
+        defaults.secure = Boolean.TRUE;
+
+        new GetOpt().readInto(defaults, new String[]{"--tags", "only"}, true);
+
+        assertEquals(null, defaults.host);
+        assertEquals(0, defaults.port);
+        assertFalse(defaults.secure);
+        assertEquals(Arrays.asList("only"), defaults.tags);
+    }
+
+    private static class Defaults {
+        @Arg
+        private String host;
+
+        @Arg
+        private int port;
+
+        @Arg
+        private Boolean secure;
+
+        @Arg(collectionType = String.class)
+        private List<String> tags = new ArrayList<>();
+
+        public Defaults() {
+        }
+    }
 }
@@ -0,0 +1,147 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.Help;
+
+/**
+ * Tests for {@link HelpText}.
+ *
+ * @author John Dunlap
+ */
+public class HelpTextTest {
+
+    @Test
+    public void testHelpIsRenderedOnce() {
+        assertSame(new GetOpt().help(HelpConfig.class), new GetOpt().help(HelpConfig.class));
+    }
+
+    @Test
+    public void testHelpIsStreamed() throws IOException {
+        StringWriter writer = new StringWriter();
+        new GetOpt().help(HelpConfig.class, writer);
+
+        assertEquals(new GetOpt().help(HelpConfig.class), writer.toString());
+    }
+
+    @Test
+    public void testCategoriesAreSorted() {
+        String expected = "Options:"
+                + "\n  -v  --verbose  Print more"
+                + "\n\nalpha:"
+                + "\n  -a  --all      Everything"
+                + "\n\nbeta:"
+                + "\n     --name     Accepts a string value (required)"
+                + "\nDone";
+
+        assertEquals(expected, HelpText.of(HelpConfig.class));
+    }
+
+    @Test
+    public void testOnlyCategorizedOptions() {
+        String expected = "The following options are accepted: "
+                + "\n\nbeta:"
+                + "\n     --name  Accepts a string value";
+
+        assertEquals(expected, HelpText.of(CategorizedConfig.class));
+    }
+
+    @Test
+    public void testOverriddenExtractIsUsed() {
+        GetOpt getOpt = new GetOpt() {
+            @Override
+            protected <T> List<OptionInfo> extract(Class<T> classType) {
+                return HelpText.options(classType).stream()
+                        .filter(option -> !option.getCategory().equals("alpha"))
+                        .collect(Collectors.toList());
+            }
+        };
+
+        String expected = "Options:"
+                + "\n  -v  --verbose  Print more"
+                + "\n\nbeta:"
+                + "\n     --name     Accepts a string value (required)"
+                + "\nDone";
+
+        assertEquals(expected, getOpt.help(HelpConfig.class));
+        assertSame(getOpt.help(HelpConfig.class), getOpt.help(HelpConfig.class));
+        assertEquals(HelpText.of(HelpConfig.class), new GetOpt().help(HelpConfig.class));
+    }
+
+    @Test
+    public void testRedirectKeepsOverriddenExtract() {
+        GetOpt getOpt = new GetOpt() {
+            @Override
+            protected <T> List<OptionInfo> extract(Class<T> classType) {
+                return Collections.emptyList();
+            }
+        };
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GetOpt redirected = getOpt.redirect(new PrintStream(out, true), System.err, status -> { });
+
+        assertSame(getOpt.help(HelpConfig.class), redirected.help(HelpConfig.class));
+
+        redirected.run(HelpConfig.class, new String[]{"--help"});
+        assertEquals("Options:\nDone" + System.lineSeparator(), out.toString());
+    }
+
+    @Help(openingText = "Options:", closingText = "Done")
+    private static class HelpConfig {
+        @Arg(category = "beta", required = true)
+        private String name;
+
+        @Arg(code = 'a', category = "alpha", description = "Everything")
+        private boolean all;
+
+        @Arg(code = 'v', description = "Print more")
+        private boolean verbose;
+
+        public HelpConfig() {
+        }
+    }
+
+    private static class CategorizedConfig {
+        @Arg(category = "beta")
+        private String name;
+
+        public CategorizedConfig() {
+        }
+    }
+}
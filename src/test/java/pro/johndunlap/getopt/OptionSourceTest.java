@@ -0,0 +1,334 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.exception.ErrorCode;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link OptionSource}.
+ *
+ * @author John Dunlap
+ */
+public class OptionSourceTest {
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("getopt-sources");
+    }
+
+    /**
+     * Deletes the files which the test wrote.
+     *
+     * @throws IOException If a file cannot be deleted
+     */
+    @After
+    public void tearDown() throws IOException {
+        for (Path file : Files.list(directory).toArray(Path[]::new)) {
+            Files.delete(file);
+        }
+
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testPrecedence() throws IOException, ParseException {
+        Path defaults = write("defaults.properties", "host=example.com\nport=80\nmax-size=10\nverbose=true\n");
+        Map<String, String> environment = Map.of("APP_PORT", "8080", "APP_MAX_SIZE", "20", "OTHER_PORT", "1");
+        GetOpt getOpt = GetOpt.builder()
+                .optionSources(Arrays.asList(
+                        OptionSource.environment("APP_", environment),
+                        OptionSource.properties(defaults)))
+                .build();
+
+        ServiceOptions options = getOpt.read(ServiceOptions.class, new String[]{"--max-size", "30"});
+
+        assertEquals("example.com", options.host);
+        assertEquals(8080, options.port);
+        assertEquals(30, options.maxSize);
+        assertTrue(options.verbose);
+        assertNull(options.name);
+    }
+
+    @Test
+    public void testEachFieldIsConvertedOnce() throws ParseException {
+        CountingConverter.COUNT.set(0);
+        GetOpt getOpt = new GetOpt().setOptionSources(Arrays.asList(
+                OptionSource.of("first", Collections.singletonMap("label", "a")),
+                OptionSource.of("second", Collections.singletonMap("label", "b"))));
+
+        assertEquals("A", getOpt.read(Labelled.class, new String[0]).label.text);
+        assertEquals(1, CountingConverter.COUNT.get());
+
+        assertEquals("C", getOpt.read(Labelled.class, new String[]{"--label", "c"}).label.text);
+        assertEquals(2, CountingConverter.COUNT.get());
+    }
+
+    @Test
+    public void testCollectionsFromArgumentsAreNotExtended() throws ParseException {
+        GetOpt getOpt = new GetOpt().setOptionSources(Collections.singletonList(
+                OptionSource.of("defaults", Collections.singletonMap("tag", "default"))));
+
+        assertArrayEquals(new String[]{"default"}, getOpt.read(Tagged.class, new String[0]).tag);
+        assertArrayEquals(new String[]{"a", "b"},
+                getOpt.read(Tagged.class, new String[]{"--tag", "a", "--tag", "b"}).tag);
+    }
+
+    @Test
+    public void testExistingInstanceTakesPrecedenceOverSources() throws ParseException {
+        Map<String, String> values = new HashMap<>();
+        values.put("host", "source");
+        values.put("tag", "source");
+        GetOpt getOpt = new GetOpt().setOptionSources(Collections.singletonList(OptionSource.of("defaults", values)));
+
+        ServiceOptions options = new ServiceOptions();
+        options.host = "keep";
+        getOpt.readInto(options, new String[]{"--port", "80"});
+
+        assertEquals("keep", options.host);
+        assertEquals(80, options.port);
+
+        Tagged tagged = new Tagged();
+        getOpt.readInto(tagged, new String[0]);
+        getOpt.readInto(tagged, new String[0], true);
+        assertNull(tagged.tag);
+
+        getOpt.session(ServiceOptions.class).readInto(options, new String[0], true);
+        assertNull(options.host);
+    }
+
+    @Test
+    public void testRequiredFieldsMayComeFromSources() throws ParseException {
+        GetOpt getOpt = new GetOpt();
+
+        try {
+            getOpt.read(RequiredOptions.class, new String[0]);
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals(ErrorCode.MISSING_REQUIRED, e.getErrorCode());
+        }
+
+        getOpt.setOptionSources(Collections.singletonList(
+                OptionSource.environment("APP_", Collections.singletonMap("APP_TOKEN", "secret"))));
+
+        assertEquals("secret", getOpt.read(RequiredOptions.class, new String[0]).token);
+    }
+
+    @Test
+    public void testInvalidValueNamesItsSource() {
+        GetOpt getOpt = new GetOpt().setOptionSources(Collections.singletonList(
+                OptionSource.environment("APP_", Collections.singletonMap("APP_PORT", "eighty"))));
+
+        try {
+            getOpt.read(ServiceOptions.class, new String[0]);
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals(ErrorCode.INVALID_VALUE, e.getErrorCode());
+            assertEquals("eighty", e.getValue());
+            assertEquals("port", e.getField().getName());
+            assertEquals(-1, e.getTokenIndex());
+            assertTrue(e.getMessage(), e.getMessage().contains("environment variable APP_PORT"));
+        }
+    }
+
+    @Test
+    public void testPropertiesFileIsCachedUntilModified() throws IOException, ParseException {
+        Path file = write("cached.properties", "host=first\n");
+        OptionSource source = OptionSource.properties(file);
+
+        Map<String, String> values = source.values();
+        assertEquals("first", values.get("host"));
+        assertSame(values, source.values());
+
+        // Each source keeps its own copy, so nothing is cached beyond the life of the source
+        assertNotSame(values, OptionSource.properties(file).values());
+
+        Files.write(file, "host=second\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+
+        assertEquals("second", source.values().get("host"));
+    }
+
+    @Test
+    public void testMissingPropertiesFileSuppliesNothing() throws ParseException {
+        assertTrue(OptionSource.properties(directory.resolve("missing.properties")).values().isEmpty());
+    }
+
+    @Test
+    public void testSourcesAreIgnoredWhenHelpIsRequested() throws ParseException {
+        GetOpt getOpt = new GetOpt().setOptionSources(Collections.singletonList(
+                OptionSource.of("defaults", Collections.singletonMap("port", "eighty"))));
+
+        ParseContext<ServiceOptions> context = getOpt.readContext(ServiceOptions.class, new String[]{"--help"});
+
+        assertTrue(context.isHelpRequested());
+        assertEquals(0, context.getInstance().port);
+    }
+
+    @Test
+    public void testSessionsForgetWhichFieldsWereSet() throws ParseException {
+        GetOpt getOpt = new GetOpt().setOptionSources(Collections.singletonList(
+                OptionSource.of("defaults", Collections.singletonMap("host", "default"))));
+        ParseSession<ServiceOptions> session = getOpt.session(ServiceOptions.class);
+
+        assertEquals("given", session.read(new String[]{"--host", "given"}).host);
+        assertEquals("default", session.read(new String[0]).host);
+        assertFalse(session.read(new String[0]).verbose);
+    }
+
+    @Test
+    public void testSourcesAreKeyedByLongNames() throws ParseException {
+        Map<String, String> values = new HashMap<>();
+        values.put("n", "code");
+        values.put("name", "long");
+        GetOpt getOpt = new GetOpt().setOptionSources(Collections.singletonList(OptionSource.of("defaults", values)));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("long", getOpt.read(CodedOptions.class, new String[0]).name);
+        }
+
+        getOpt.setOptionSources(Collections.singletonList(
+                OptionSource.environment("APP_", Collections.singletonMap("APP_N", "code"))));
+
+        assertNull(getOpt.read(CodedOptions.class, new String[0]).name);
+    }
+
+    @Test
+    public void testEnvironmentCanBeReplaced() throws ParseException {
+        OptionSource server = OptionSource.environment("APP_", Map.of("APP_HOST", "server"));
+        OptionSource client = server.withEnvironment(Map.of("APP_HOST", "client"));
+        OptionSource fixed = OptionSource.of("defaults", Map.of("host", "fixed"));
+
+        assertEquals("server", server.values().get("host"));
+        assertEquals("client", client.values().get("host"));
+        assertSame(fixed, fixed.withEnvironment(Map.of("APP_HOST", "client")));
+    }
+
+    private Path write(String name, String contents) throws IOException {
+        return Files.write(directory.resolve(name), contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Options which are supplied by every kind of source.
+     */
+    public static class ServiceOptions {
+        private String host;
+        private int port;
+        private int maxSize;
+        private boolean verbose;
+        private String name;
+    }
+
+    /**
+     * Options with a field which must be supplied.
+     */
+    public static class RequiredOptions {
+        @Arg(required = true)
+        private String token;
+    }
+
+    /**
+     * Options with an array field.
+     */
+    public static class Tagged {
+        private String[] tag;
+    }
+
+    /**
+     * Options with a field whose converter counts its conversions.
+     */
+    public static class Labelled {
+        @Arg(converter = CountingConverter.class)
+        private Label label;
+    }
+
+    /**
+     * A value which is only created by {@link CountingConverter}.
+     */
+    public static class Label {
+        private final String text;
+
+        Label(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * Counts how many values it converts.
+     */
+    public static class CountingConverter implements TypeConverter<Label> {
+        static final AtomicInteger COUNT = new AtomicInteger();
+
+        @Override
+        public Class<Label> getType() {
+            return Label.class;
+        }
+
+        @Override
+        public Label read(String value) {
+            COUNT.incrementAndGet();
+            return new Label(value.toUpperCase());
+        }
+
+        @Override
+        public String write(Label value) {
+            return value.text;
+        }
+    }
+
+    /**
+     * Options whose names include single character codes.
+     */
+    public static class CodedOptions {
+        @Arg(code = 'n')
+        private String name;
+    }
+}
@@ -0,0 +1,114 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.exception.AmbiguousOptionException;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link OptionTrie}.
+ *
+ * @author John Dunlap
+ */
+public class OptionTrieTest {
+
+    @Test
+    public void testFindFromRawToken() throws ParseException {
+        BindingPlan<TrieConfig> plan = BindingPlan.of(TrieConfig.class);
+        OptionTrie trie = plan.getOptionTrie();
+
+        assertSame(plan.getNamedBindings().get("verbose"), trie.find("--verbose", 2));
+        assertSame(plan.getNamedBindings().get("version"), trie.find("--version", 2));
+        assertSame(plan.getNamedBindings().get("v"), trie.find("-v", 1));
+        assertNull(trie.find("--verb", 2));
+        assertNull(trie.find("--verbosely", 2));
+    }
+
+    @Test
+    public void testFindAbbreviated() throws ParseException {
+        BindingPlan<TrieConfig> plan = BindingPlan.of(TrieConfig.class);
+        OptionTrie trie = plan.getOptionTrie();
+
+        assertSame(plan.getNamedBindings().get("verbose"), trie.findAbbreviated("--verb", 2));
+        assertSame(plan.getNamedBindings().get("version"), trie.findAbbreviated("--vers", 2));
+        assertSame(plan.getNamedBindings().get("output-file"), trie.findAbbreviated("--o", 2));
+        assertNull(trie.findAbbreviated("--x", 2));
+        assertNull(trie.findAbbreviated("--", 2));
+    }
+
+    @Test
+    public void testAmbiguousAbbreviation() throws ParseException {
+        try {
+            BindingPlan.of(TrieConfig.class).getOptionTrie().findAbbreviated("--ver", 2);
+        } catch (AmbiguousOptionException e) {
+            assertEquals(Arrays.asList("verbose", "version"), e.getCandidates());
+            assertEquals("Option --ver is ambiguous and could be --verbose, --version", e.getMessage());
+            return;
+        }
+
+        throw new AssertionError("Expected an AmbiguousOptionException");
+    }
+
+    @Test
+    public void testAbbreviationsAreOptIn() throws ParseException {
+        TrieConfig strict = new GetOpt().read(TrieConfig.class, new String[]{"--verb"});
+        assertFalse(strict.verbose);
+
+        String[] args = {"--verb", "--output", "out.txt"};
+        TrieConfig abbreviated = new GetOpt().setAbbreviations(true).read(TrieConfig.class, args);
+        assertTrue(abbreviated.verbose);
+        assertEquals("out.txt", abbreviated.outputFile);
+    }
+
+    @Test(expected = AmbiguousOptionException.class)
+    public void testAmbiguousAbbreviationFailsRead() throws ParseException {
+        GetOpt.builder().abbreviations(true).build().read(TrieConfig.class, new String[]{"--ver"});
+    }
+
+    private static class TrieConfig {
+        @Arg(code = 'v')
+        private boolean verbose;
+
+        @Arg
+        private boolean version;
+
+        @Arg
+        private String outputFile;
+
+        public TrieConfig() {
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.exception.DuplicateOptionException;
+import pro.johndunlap.getopt.exception.ErrorCode;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link ParseResult}, {@link GetOpt#tryRead(Class, String[])} and
+ * {@link GetOpt#readAll(Class, Iterable, java.util.concurrent.Executor)}.
+ *
+ * @author John Dunlap
+ */
+public class ParseResultTest {
+
+    @Test
+    public void testReadAllKeepsInputOrder() throws ParseException {
+        List<String[]> commandLines = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            commandLines.add(new String[]{"--id", String.valueOf(i), "--name", "job" + i});
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(8);
+
+        try {
+            List<ParseResult<Job>> results = GetOpt.builder().build().readAll(Job.class, commandLines, pool);
+
+            assertEquals(commandLines.size(), results.size());
+
+            for (int i = 0; i < results.size(); i++) {
+                assertTrue(results.get(i).isSuccess());
+                assertEquals(i, results.get(i).getValue().id);
+                assertEquals("job" + i, results.get(i).get().name);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailureDoesNotAbortBatch() throws ParseException {
+        List<String[]> commandLines = new ArrayList<>();
+        commandLines.add(new String[]{"--id", "1"});
+        commandLines.add(new String[]{"--id", "not-a-number"});
+        commandLines.add(new String[]{"--id", "3"});
+
+        List<ParseResult<Job>> results = new GetOpt().readAll(Job.class, commandLines);
+
+        assertEquals(1, results.get(0).getValue().id);
+        assertFalse(results.get(1).isSuccess());
+        assertNull(results.get(1).getValue());
+        assertEquals("not-a-number", results.get(1).getException().getValue());
+        assertEquals(3, results.get(2).getValue().id);
+    }
+
+    @Test(expected = ParseException.class)
+    public void testGetRethrowsFailure() throws ParseException {
+        new GetOpt().readAll(Job.class, Collections.singletonList(new String[]{"--id", "x"})).get(0).get();
+    }
+
+    @Test(expected = DuplicateOptionException.class)
+    public void testInvalidClassFailsWholeBatch() throws ParseException {
+        new GetOpt().readAll(Duplicate.class, Collections.singletonList(new String[0]));
+    }
+
+    @Test
+    public void testTryReadSuccess() throws ParseException {
+        ParseResult<Job> result = new GetOpt().tryRead(Job.class, new String[]{"--id", "7"});
+
+        assertTrue(result.isSuccess());
+        assertEquals(7, result.getValue().id);
+        assertNull(result.getErrorCode());
+        assertEquals(-1, result.getTokenIndex());
+    }
+
+    @Test
+    public void testTryReadDescribesInvalidValue() throws ParseException, NoSuchFieldException {
+        ParseResult<Job> result = new GetOpt().tryRead(Job.class, new String[]{"--name", "x", "--id", "seven"});
+
+        assertFalse(result.isSuccess());
+        assertSame(ErrorCode.INVALID_VALUE, result.getErrorCode());
+        assertEquals(Job.class.getDeclaredField("id"), result.getField());
+        assertEquals("seven", result.getRejectedValue());
+        assertEquals(3, result.getTokenIndex());
+        assertEquals(0, result.getException().getStackTrace().length);
+    }
+
+    @Test
+    public void testTryReadDescribesUnexpectedArgument() throws ParseException {
+        ParseResult<Job> result = new GetOpt().tryRead(Job.class, "--id 1 extra");
+
+        assertSame(ErrorCode.UNEXPECTED_ARGUMENT, result.getErrorCode());
+        assertEquals("extra", result.getRejectedValue());
+        assertEquals(2, result.getTokenIndex());
+    }
+
+    @Test
+    public void testTryReadDescribesMissingRequired() throws ParseException, NoSuchFieldException {
+        ParseResult<Task> result = new GetOpt().tryRead(Task.class, new String[0]);
+
+        assertSame(ErrorCode.MISSING_REQUIRED, result.getErrorCode());
+        assertEquals(Task.class.getDeclaredField("owner"), result.getField());
+    }
+
+    @Test
+    public void testTryReadDescribesMalformedCommandLine() throws ParseException {
+        ParseResult<Job> result = new GetOpt().tryRead(Job.class, "--name 'unterminated");
+
+        assertSame(ErrorCode.MALFORMED_COMMAND_LINE, result.getErrorCode());
+        assertEquals(1, result.getTokenIndex());
+    }
+
+    @Test
+    public void testTryReadDescribesConverterFailure() throws ParseException, NoSuchFieldException {
+        GetOpt getOpt = new GetOpt().register(Task.Priority.class, new TypeConverter<Task.Priority>() {
+            @Override
+            public Class<Task.Priority> getType() {
+                return Task.Priority.class;
+            }
+
+            @Override
+            public Task.Priority read(String value) {
+                throw new IllegalArgumentException(value);
+            }
+
+            @Override
+            public String write(Task.Priority value) {
+                return value.toString();
+            }
+        });
+
+        ParseResult<Task> result = getOpt.tryRead(Task.class, new String[]{"--owner", "me", "--priority", "urgent"});
+
+        assertSame(ErrorCode.INVALID_VALUE, result.getErrorCode());
+        assertEquals(Task.class.getDeclaredField("priority"), result.getField());
+        assertEquals("urgent", result.getRejectedValue());
+        assertEquals(3, result.getTokenIndex());
+    }
+
+    @Test
+    public void testStackTracesCanBeDisabled() throws ParseException {
+        String[] args = {"--id", "x"};
+
+        try {
+            new GetOpt().read(Job.class, args);
+            throw new AssertionError("Expected a ParseException");
+        } catch (ParseException e) {
+            assertTrue(e.getStackTrace().length > 0);
+        }
+
+        try {
+            GetOpt.builder().stackTraces(false).build().read(Job.class, args);
+            throw new AssertionError("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals(0, e.getStackTrace().length);
+            assertEquals(1, e.getTokenIndex());
+        }
+
+        // The setting is restored once parsing has finished
+        assertTrue(new ParseException("after").getStackTrace().length > 0);
+    }
+
+    @Test
+    public void testSessionTryRead() throws ParseException {
+        ParseSession<Job> session = new GetOpt().session(Job.class);
+
+        assertSame(ErrorCode.INVALID_VALUE, session.tryRead("--id x").getErrorCode());
+        assertEquals(2, session.tryRead(new String[]{"--id", "2"}).getValue().id);
+    }
+
+    private static class Job {
+        @Arg
+        private int id;
+
+        @Arg
+        private String name;
+
+        public Job() {
+        }
+    }
+
+    private static class Task {
+        @Arg(required = true)
+        private String owner;
+
+        @Arg
+        private Priority priority;
+
+        public Task() {
+        }
+
+        private static class Priority {
+        }
+    }
+
+    private static class Duplicate {
+        @Arg(code = 'a')
+        private String first;
+
+        @Arg(code = 'a')
+        private String second;
+
+        public Duplicate() {
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link ParseSession}.
+ *
+ * @author John Dunlap
+ */
+public class ParseSessionTest {
+
+    @Test
+    public void testReadsAreIndependent() throws ParseException {
+        ParseSession<Command> session = new GetOpt().session(Command.class);
+
+        Command first = session.read(new String[]{"copy", "-v", "--tags", "a", "--tags", "b", "--name", "one"});
+        Command second = session.read(new String[]{"move", "--tags", "c"});
+
+        assertNotSame(first, second);
+
+        assertEquals("copy", first.action);
+        assertTrue(first.verbose);
+        assertArrayEquals(new String[]{"a", "b"}, first.tags);
+        assertEquals("one", first.name);
+
+        assertEquals("move", second.action);
+        assertFalse(second.verbose);
+        assertArrayEquals(new String[]{"c"}, second.tags);
+        assertNull(second.name);
+    }
+
+    @Test
+    public void testFailedReadDoesNotAffectNextRead() throws ParseException {
+        ParseSession<Command> session = new GetOpt().session(Command.class);
+
+        try {
+            session.read(new String[]{"copy", "--tags", "a", "--count", "many"});
+            throw new AssertionError("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals("many", e.getValue());
+        }
+
+        Command command = session.read("list --count 2");
+        assertEquals("list", command.action);
+        assertEquals(2, command.count);
+        assertNull(command.tags);
+    }
+
+    @Test
+    public void testSessionKeepsConfiguration() throws ParseException {
+        ParseSession<Command> session = GetOpt.builder().abbreviations(true).build().session(Command.class);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, session.read(new String[]{"count", "--cou", String.valueOf(i)}).count);
+        }
+    }
+
+    @Test
+    public void testReadIntoReusesInstance() throws ParseException {
+        ParseSession<Command> session = new GetOpt().session(Command.class);
+        Command target = new Command();
+
+        assertSame(target, session.readInto(target, new String[]{"copy", "-v", "--tags", "a"}, true));
+        assertArrayEquals(new String[]{"a"}, target.tags);
+
+        session.readInto(target, new String[]{"move", "--count", "4"}, true);
+        assertEquals("move", target.action);
+        assertFalse(target.verbose);
+        assertNull(target.tags);
+        assertEquals(4, target.count);
+
+        session.readInto(target, new String[]{"--name", "kept"}, false);
+        assertEquals("move", target.action);
+        assertEquals("kept", target.name);
+        assertEquals(4, target.count);
+    }
+
+    private static class Command {
+        @GetOptOrdered(order = 0)
+        private String action;
+
+        @Arg(code = 'v')
+        private boolean verbose;
+
+        @Arg
+        private String[] tags;
+
+        @Arg
+        private String name;
+
+        @Arg
+        private int count;
+
+        public Command() {
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.annotation.Help;
+import pro.johndunlap.getopt.annotation.Ignore;
+import pro.johndunlap.getopt.exception.ParseException;
+import pro.johndunlap.getopt.exception.RethrownException;
+
+/**
+ * Tests for {@link PlanDescriptor}.
+ *
+ * @author John Dunlap
+ */
+public class PlanDescriptorTest {
+
+    @Test
+    public void testDescribe() throws ParseException {
+        PlanDescriptor descriptor = PlanDescriptor.of(DescribedConfig.class);
+
+        assertEquals(DescribedConfig.class.getName(), descriptor.getClassName());
+        assertEquals(Arrays.asList("-?", "--usage"), descriptor.getHelpTokens());
+        assertEquals(HelpText.of(DescribedConfig.class), descriptor.getHelpText());
+        assertEquals(4, descriptor.getFields().size());
+
+        PlanDescriptor.FieldDescriptor count = descriptor.getFields().get(0);
+        assertEquals("count", count.getFieldName());
+        assertEquals(Arrays.asList("count", "c"), count.getNames());
+        assertEquals("count", count.getLongName());
+        assertTrue(count.isRequired());
+        assertNull(count.getConverter());
+
+        PlanDescriptor.FieldDescriptor files = descriptor.getFields().get(2);
+        assertTrue(files.isOrdered());
+        assertEquals(2, files.getOrder());
+        assertEquals(String.class.getName(), files.getCollectionType());
+        assertNull(files.getLongName());
+    }
+
+    @Test
+    public void testRoundTrip() throws ParseException, IOException {
+        PlanDescriptor descriptor = PlanDescriptor.of(DescribedConfig.class);
+        PlanDescriptor copy = roundTrip(descriptor);
+
+        assertEquals(descriptor.getClassName(), copy.getClassName());
+        assertEquals(descriptor.getHelpTokens(), copy.getHelpTokens());
+        assertEquals(descriptor.getHelpText(), copy.getHelpText());
+        assertEquals(descriptor.getFields().size(), copy.getFields().size());
+
+        for (int i = 0; i < descriptor.getFields().size(); i++) {
+            PlanDescriptor.FieldDescriptor expected = descriptor.getFields().get(i);
+            PlanDescriptor.FieldDescriptor actual = copy.getFields().get(i);
+
+            assertEquals(expected.getFieldName(), actual.getFieldName());
+            assertEquals(expected.getNames(), actual.getNames());
+            assertEquals(expected.getLongName(), actual.getLongName());
+            assertEquals(expected.isOrdered(), actual.isOrdered());
+            assertEquals(expected.getOrder(), actual.getOrder());
+            assertEquals(expected.isRequired(), actual.isRequired());
+            assertEquals(expected.getCollectionType(), actual.getCollectionType());
+            assertEquals(expected.getConverter(), actual.getConverter());
+        }
+    }
+
+    @Test
+    public void testPlanLinkedFromDescriptorBindsLikeAnnotations() throws ParseException, IOException {
+        PlanDescriptor descriptor = roundTrip(PlanDescriptor.of(DescribedConfig.class));
+        BindingPlan<DescribedConfig> plan = new BindingPlan<>(DescribedConfig.class,
+                MethodHandleAccessorStrategy.INSTANCE, descriptor);
+        BindingPlan<DescribedConfig> annotated = BindingPlan.of(DescribedConfig.class);
+
+        assertEquals(annotated.getNamedBindings().keySet(), plan.getNamedBindings().keySet());
+        assertEquals(Arrays.asList("count", "verbose"), Arrays.asList(plan.getLongNameBindings().keySet().toArray()));
+        assertEquals(annotated.getRequiredFields(), plan.getRequiredFields());
+        assertEquals(fieldNames(annotated.getOrderedBindings()), fieldNames(plan.getOrderedBindings()));
+
+        String[] args = {"-c", "3", "out", "a", "b"};
+        ParseContext<DescribedConfig> context = new ParseContext<>(plan, args, null);
+        GetOpt.parse(context);
+
+        assertEquals(3, context.getInstance().count);
+        assertEquals("out", context.getInstance().target);
+        assertEquals(Arrays.asList("a", "b"), context.getInstance().files);
+    }
+
+    @Test(expected = RethrownException.class)
+    public void testOutOfDateDescriptorIsRejected() throws ParseException, IOException {
+        PlanDescriptor descriptor = roundTrip(PlanDescriptor.of(DescribedConfig.class));
+        new BindingPlan<>(OtherConfig.class, MethodHandleAccessorStrategy.INSTANCE, descriptor);
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadRejectsOtherData() throws IOException {
+        PlanDescriptor.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 0, 1}));
+    }
+
+    @Test
+    public void testClassesWithoutResourceHaveNoLoadedDescriptor() {
+        assertNull(PlanDescriptor.load(DescribedConfig.class));
+        assertEquals("META-INF/getopt/" + DescribedConfig.class.getName() + ".bin",
+                PlanDescriptor.resourceName(DescribedConfig.class));
+    }
+
+    @Test
+    public void testIsOptionsClass() {
+        assertTrue(PlanDescriptor.isOptionsClass(DescribedConfig.class));
+        assertTrue(PlanDescriptor.isOptionsClass(OtherConfig.class));
+        assertFalse(PlanDescriptor.isOptionsClass(String.class));
+        assertFalse(PlanDescriptor.isOptionsClass(Help.class));
+    }
+
+    private static PlanDescriptor roundTrip(PlanDescriptor descriptor) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        descriptor.write(out);
+        return PlanDescriptor.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static List<String> fieldNames(List<FieldBinding> bindings) {
+        return Arrays.asList(bindings.stream().map(binding -> binding.getField().getName()).toArray(String[]::new));
+    }
+
+    @Help(helpTokens = {"-?", "--usage"}, openingText = "Usage:")
+    private static class DescribedConfig {
+        @Arg(code = 'c', required = true, description = "How many")
+        private int count;
+
+        @GetOptOrdered(order = 1)
+        private String target;
+
+        @GetOptOrdered(order = 2, collectionType = String.class)
+        private List<String> files;
+
+        @Ignore
+        private String ignored;
+
+        private boolean verbose;
+
+        public DescribedConfig() {
+        }
+    }
+
+    @Help
+    private static class OtherConfig {
+        private String name;
+
+        public OtherConfig() {
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import org.junit.Test;
+import pro.johndunlap.getopt.exception.ErrorCode;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link ScalarType}.
+ *
+ * @author John Dunlap
+ */
+public class ScalarTypeTest {
+
+    @Test
+    public void testPrimitiveAndBoxedTypesShareScalarType() {
+        assertSame(ScalarType.INT, ScalarType.of(int.class));
+        assertSame(ScalarType.INT, ScalarType.of(Integer.class));
+        assertSame(ScalarType.CHAR, ScalarType.of(char.class));
+        assertSame(ScalarType.CHAR, ScalarType.of(Character.class));
+        assertSame(ScalarType.BIG_DECIMAL, ScalarType.of(BigDecimal.class));
+    }
+
+    @Test
+    public void testUnknownTypesRequireConverter() {
+        assertSame(ScalarType.OTHER, ScalarType.of(Date.class));
+        assertSame(ScalarType.OTHER, ScalarType.of(null));
+    }
+
+    @Test
+    public void testConvert() throws ParseException {
+        assertEquals(42, ScalarType.INT.convert("42", int.class));
+        assertEquals(42L, ScalarType.LONG.convert("42", long.class));
+        assertEquals('x', ScalarType.CHAR.convert("x", char.class));
+        assertEquals(false, ScalarType.BOOLEAN.convert(null, boolean.class));
+        assertEquals(new BigDecimal("1.5"), ScalarType.BIG_DECIMAL.convert("1.5", BigDecimal.class));
+    }
+
+    @Test
+    public void testConvertFailureMessage() {
+        try {
+            ScalarType.INT.convert("abc", int.class);
+        } catch (ParseException e) {
+            assertEquals("Failed to parse string abc into an instance of class int", e.getMessage());
+            return;
+        }
+
+        throw new AssertionError("Expected a ParseException");
+    }
+
+    @Test
+    public void testIntegersAreCheckedBeforeParsing() throws ParseException {
+        assertTrue(ScalarType.INT.isWellFormed("-42"));
+        assertTrue(ScalarType.LONG.isWellFormed("+42"));
+        assertFalse(ScalarType.INT.isWellFormed("4x2"));
+        assertFalse(ScalarType.SHORT.isWellFormed("-"));
+        assertFalse(ScalarType.BYTE.isWellFormed(""));
+        assertFalse(ScalarType.BIG_INTEGER.isWellFormed(null));
+        assertTrue(ScalarType.DOUBLE.isWellFormed("1e5"));
+
+        // Digits from other scripts are left to the parse method, which accepts them
+        assertEquals(12, ScalarType.INT.convert("١٢", int.class));
+    }
+
+    @Test
+    public void testFailuresHaveErrorCode() {
+        try {
+            ScalarType.LONG.convert("12ab", long.class);
+        } catch (ParseException e) {
+            assertSame(ErrorCode.INVALID_VALUE, e.getErrorCode());
+            assertEquals("12ab", e.getValue());
+            return;
+        }
+
+        throw new AssertionError("Expected a ParseException");
+    }
+
+    @Test
+    public void testStoreChecksRangeOfIntegralTypes() throws ParseException, NoSuchFieldException,
+            IllegalAccessException {
+        IntegralConfig instance = new IntegralConfig();
+        FieldAccessor accessor = MethodHandleAccessorStrategy.INSTANCE.resolve(
+                IntegralConfig.class.getDeclaredField("shortValue")
+        );
+
+        ScalarType.SHORT.store(accessor, instance, "-32768", short.class);
+        assertEquals(Short.MIN_VALUE, instance.shortValue);
+
+        try {
+            ScalarType.SHORT.store(accessor, instance, "32768", short.class);
+        } catch (ParseException e) {
+            assertSame(ErrorCode.INVALID_VALUE, e.getErrorCode());
+            assertEquals(Short.MIN_VALUE, instance.shortValue);
+            return;
+        }
+
+        throw new AssertionError("Expected a ParseException");
+    }
+
+    @Test
+    public void testOtherIsUnsupported() {
+        try {
+            ScalarType.OTHER.convert("value", Date.class);
+        } catch (ParseException e) {
+            assertSame(ErrorCode.UNSUPPORTED_TYPE, e.getErrorCode());
+            assertEquals("Unsupported type: java.util.Date", e.getMessage());
+            return;
+        }
+
+        throw new AssertionError("Expected a ParseException");
+    }
+
+    @Test(expected = ParseException.class)
+    public void testStoreRejectsMultipleCharacters() throws ParseException, NoSuchFieldException,
+            IllegalAccessException {
+        CharConfig instance = new CharConfig();
+        FieldAccessor accessor = MethodHandleAccessorStrategy.INSTANCE.resolve(
+                CharConfig.class.getDeclaredField("value")
+        );
+
+        ScalarType.CHAR.store(accessor, instance, "xy", char.class);
+    }
+
+    private static class IntegralConfig {
+        private short shortValue;
+    }
+
+    private static class CharConfig {
+        private char value;
+    }
+}
@@ -0,0 +1,120 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.exception.ArgumentFileException;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link ShellTokenizer}.
+ *
+ * @author John Dunlap
+ */
+public class ShellTokenizerTest {
+
+    @Test
+    public void testQuotingAndEscaping() throws ParseException {
+        List<String> tokens = tokens(ShellTokenizer.of(
+                "  cp -v 'my file' \"your \\\"file\\\"\" back\\ slash \\\n'' # trailing comment"));
+
+        assertEquals(Arrays.asList("cp", "-v", "my file", "your \"file\"", "back slash", ""), tokens);
+    }
+
+    @Test
+    public void testCharBufferIsReadFromItsPosition() throws ParseException {
+        CharBuffer buffer = CharBuffer.wrap("skipped one two");
+        buffer.position(8);
+
+        assertEquals(Arrays.asList("one", "two"), tokens(ShellTokenizer.of(buffer)));
+    }
+
+    @Test
+    public void testUnterminatedQuote() {
+        try {
+            tokens(ShellTokenizer.of("echo \"unterminated"));
+        } catch (ParseException e) {
+            assertFalse(e instanceof ArgumentFileException);
+            assertEquals("Command line ends inside of a double quoted string", e.getMessage());
+            return;
+        }
+
+        throw new AssertionError("Expected a ParseException");
+    }
+
+    @Test
+    public void testReadCommandLine() throws ParseException {
+        Command command = new GetOpt().read(Command.class, "copy -vn 'John Dunlap' --count 3");
+
+        assertEquals("copy", command.action);
+        assertTrue(command.verbose);
+        assertEquals("John Dunlap", command.name);
+        assertEquals(3, command.count);
+    }
+
+    @Test(expected = ParseException.class)
+    public void testReadMalformedCommandLine() throws ParseException {
+        new GetOpt().read(Command.class, "copy --name 'John");
+    }
+
+    private static List<String> tokens(ShellTokenizer tokenizer) throws ParseException {
+        List<String> tokens = new ArrayList<>();
+
+        for (String token = tokenizer.next(); token != null; token = tokenizer.next()) {
+            tokens.add(token);
+        }
+
+        return tokens;
+    }
+
+    private static class Command {
+        @GetOptOrdered(order = 0)
+        private String action;
+
+        @Arg(code = 'v')
+        private boolean verbose;
+
+        @Arg(code = 'n')
+        private String name;
+
+        @Arg
+        private int count;
+
+        public Command() {
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.Test;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.ArgsConstructor;
+import pro.johndunlap.getopt.annotation.GetOptOrdered;
+import pro.johndunlap.getopt.annotation.Ignore;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link SlotConstructor}, which binds immutable classes and records through their constructors.
+ *
+ * @author John Dunlap
+ */
+public class SlotConstructorTest {
+
+    @Test
+    public void testArgsConstructor() throws ParseException {
+        Server server = new GetOpt().read(Server.class, new String[]{
+            "start", "--host", "example.com", "-p", "8080", "-v", "--tags", "a", "--tags", "b"
+        });
+
+        assertEquals("start", server.command);
+        assertEquals("example.com", server.host);
+        assertEquals(8080, server.port);
+        assertTrue(server.verbose);
+        assertArrayEquals(new String[]{"a", "b"}, server.tags);
+        assertEquals(1, server.constructions);
+    }
+
+    @Test
+    public void testUnsetParametersAreZero() throws ParseException {
+        Server server = new GetOpt().read(Server.class, new String[0]);
+
+        assertNull(server.command);
+        assertNull(server.host);
+        assertEquals(0, server.port);
+        assertFalse(server.verbose);
+        assertNull(server.tags);
+    }
+
+    @Test
+    public void testSessionCreatesNewInstances() throws ParseException {
+        ParseSession<Server> session = new GetOpt().session(Server.class);
+
+        assertEquals(1, session.read(new String[]{"-p", "1"}).port);
+        assertEquals(2, session.read(new String[]{"-p", "2"}).port);
+        assertFalse(session.read(new String[0]).verbose);
+    }
+
+    @Test(expected = ParseException.class)
+    public void testConstructorFailureIsReported() throws ParseException {
+        new GetOpt().read(Server.class, new String[]{"-p", "-1"});
+    }
+
+    @Test(expected = ParseException.class)
+    public void testImmutableInstanceCannotBeReadInto() throws ParseException {
+        new GetOpt().readInto(new Server(null, "host", 1, false, null), new String[0]);
+    }
+
+    @Test(expected = ParseException.class)
+    public void testFieldsMustBeParameters() throws ParseException {
+        BindingPlan.of(Incomplete.class);
+    }
+
+    @Test
+    public void testRecord() throws Exception {
+        // Records cannot be declared in sources which target Java 11, so one is compiled when the runtime supports them
+        if (Runtime.version().feature() < 16) {
+            return;
+        }
+
+        Path directory = Files.createTempDirectory("record");
+
+        try {
+            Class<?> type = compileRecord(directory);
+            Object options = new GetOpt().read(type, new String[]{"deploy", "--name", "api", "-r", "3"});
+
+            assertEquals("deploy", type.getMethod("command").invoke(options));
+            assertEquals("api", type.getMethod("name").invoke(options));
+            assertEquals(3, type.getMethod("replicas").invoke(options));
+            assertEquals(false, type.getMethod("dryRun").invoke(options));
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private Class<?> compileRecord(Path directory) throws IOException, ClassNotFoundException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path source = directory.resolve("sample/Deployment.java");
+        Path classes = directory.resolve("classes");
+
+        Files.createDirectories(source.getParent());
+        Files.createDirectories(classes);
+        Files.write(source, String.join("\n",
+                "package sample;",
+                "",
+                "import pro.johndunlap.getopt.annotation.Arg;",
+                "import pro.johndunlap.getopt.annotation.GetOptOrdered;",
+                "",
+                "public record Deployment(",
+                "        @GetOptOrdered(order = 0) String command,",
+                "        @Arg String name,",
+                "        @Arg(code = 'r') int replicas,",
+                "        @Arg boolean dryRun) {",
+                "}",
+                ""
+        ).getBytes(StandardCharsets.UTF_8));
+
+        int status = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+                "-d", classes.toString(), source.toString());
+        assertEquals(0, status);
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader());
+        return loader.loadClass("sample.Deployment");
+    }
+
+    private static class Server {
+        @GetOptOrdered(order = 0)
+        private final String command;
+
+        @Arg
+        private final String host;
+
+        @Arg(code = 'p')
+        private final int port;
+
+        @Arg(code = 'v')
+        private final boolean verbose;
+
+        @Arg(collectionType = String.class)
+        private final String[] tags;
+
+        @Ignore
+        private final int constructions;
+
+        @ArgsConstructor({"command", "host", "port", "verbose", "tags"})
+        Server(String command, String host, int port, boolean verbose, String[] tags) {
+            if (port < 0) {
+                throw new IllegalArgumentException("The port must not be negative");
+            }
+
+            this.command = command;
+            this.host = host;
+            this.port = port;
+            this.verbose = verbose;
+            this.tags = tags == null ? null : Arrays.copyOf(tags, tags.length);
+            this.constructions = 1;
+        }
+    }
+
+    private static class Incomplete {
+        @Arg
+        private final String host;
+
+        @Arg
+        private final int port;
+
+        @ArgsConstructor("host")
+        Incomplete(String host) {
+            this.host = host;
+            this.port = 0;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package pro.johndunlap.getopt;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.NoSuchElementException;
+import org.junit.Test;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link TokenCursor}.
+ *
+ * @author John Dunlap
+ */
+public class TokenCursorTest {
+
+    @Test
+    public void testTokensAreReturnedInOrder() throws ParseException {
+        TokenCursor cursor = new TokenCursor(new String[]{"one", "two"});
+
+        assertEquals(2, cursor.size());
+        assertEquals("one", cursor.peek());
+        assertEquals("one", cursor.pop());
+        assertEquals("two", cursor.pop());
+        assertFalse(cursor.hasNext());
+        assertEquals(0, cursor.size());
+    }
+
+    @Test
+    public void testClusterIsWalkedInPlace() throws ParseException {
+        TokenCursor cursor = new TokenCursor(new String[]{"-abc", "value"});
+
+        cursor.beginCluster();
+
+        assertTrue(cursor.inCluster());
+        assertEquals('a', cursor.nextClusterCode());
+        assertEquals('b', cursor.nextClusterCode());
+        assertEquals('c', cursor.nextClusterCode());
+        assertFalse(cursor.inCluster());
+        assertEquals("value", cursor.pop());
+    }
+
+    @Test
+    public void testClusterRemainder() throws ParseException {
+        TokenCursor cursor = new TokenCursor(new String[]{"-vofile"});
+
+        cursor.beginCluster();
+
+        assertEquals('v', cursor.nextClusterCode());
+        assertEquals('o', cursor.nextClusterCode());
+        assertEquals("file", cursor.takeClusterRemainder());
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void testArgumentsAreNotCopied() throws ParseException {
+        String[] args = new String[]{"one", "two"};
+        TokenCursor cursor = new TokenCursor(args);
+
+        args[1] = "changed";
+        cursor.pop();
+
+        assertEquals("changed", cursor.pop());
+    }
+
+    @Test
+    public void testReset() throws ParseException {
+        TokenCursor cursor = new TokenCursor(new String[]{"-abc", "unused"});
+
+        cursor.beginCluster();
+        cursor.nextClusterCode();
+        cursor.reset(new String[]{"next"});
+
+        assertFalse(cursor.inCluster());
+        assertEquals("next", cursor.pop());
+        assertFalse(cursor.hasNext());
+
+        cursor.reset(ShellTokenizer.of("'quoted value'"));
+        assertEquals("quoted value", cursor.pop());
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPopPastEnd() throws ParseException {
+        new TokenCursor(new String[0]).pop();
+    }
+}
@@ -0,0 +1,252 @@
+package pro.johndunlap.getopt.processor;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import pro.johndunlap.getopt.BindingPlan;
+import pro.johndunlap.getopt.GetOpt;
+import pro.johndunlap.getopt.exception.ParseException;
+
+/**
+ * Tests for {@link BinderProcessor}.
+ *
+ * @author John Dunlap
+ */
+public class BinderProcessorTest {
+    private static final String OPTIONS = String.join("\n",
+            "package sample;",
+            "",
+            "import pro.johndunlap.getopt.annotation.Arg;",
+            "import pro.johndunlap.getopt.annotation.GetOptOrdered;",
+            "import pro.johndunlap.getopt.annotation.Ignore;",
+            "",
+            "public class Options {",
+            "    @Arg(code = 'p')",
+            "    private int port;",
+            "",
+            "    @Arg",
+            "    String host;",
+            "",
+            "    @Arg(code = 'v')",
+            "    boolean verbose;",
+            "",
+            "    @GetOptOrdered(order = 0)",
+            "    private String command;",
+            "",
+            "    @Ignore",
+            "    int setterCalls;",
+            "",
+            "    public int getPort() {",
+            "        return port;",
+            "    }",
+            "",
+            "    public void setPort(int port) {",
+            "        this.port = port;",
+            "        setterCalls++;",
+            "    }",
+            "",
+            "    public String getCommand() {",
+            "        return command;",
+            "    }",
+            "",
+            "    private static class Hidden {",
+            "        @Arg",
+            "        private String value;",
+            "    }",
+            "}",
+            ""
+    );
+
+    private static final String IMMUTABLE_OPTIONS = String.join("\n",
+            "package sample;",
+            "",
+            "import pro.johndunlap.getopt.annotation.Arg;",
+            "import pro.johndunlap.getopt.annotation.ArgsConstructor;",
+            "",
+            "public class ImmutableOptions {",
+            "    @Arg",
+            "    final String host;",
+            "",
+            "    @ArgsConstructor({\"host\"})",
+            "    public ImmutableOptions(String host) {",
+            "        this.host = host;",
+            "    }",
+            "}",
+            ""
+    );
+
+    private static final String RECORD_OPTIONS = String.join("\n",
+            "package sample;",
+            "",
+            "import pro.johndunlap.getopt.annotation.Arg;",
+            "",
+            "public record RecordOptions(@Arg String host) {",
+            "}",
+            ""
+    );
+
+    private Path directory;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("binder");
+    }
+
+    /**
+     * Removes the sources and classes which were compiled by the test.
+     */
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testGeneratedBinderIsUsed() throws Exception {
+        Class<?> options = compile().loadClass("sample.Options");
+        BindingPlan<?> plan = BindingPlan.of(options);
+
+        assertNotNull(plan.getBinder());
+        assertEquals("sample.Options_GetOptBinder", plan.getBinder().getClass().getName());
+
+        // Fields which the binder can reach are accessed through it, the private command falls back to reflection
+        assertNotNull(plan.getBinder().accessor("port"));
+        assertNotNull(plan.getBinder().accessor("host"));
+        assertNull(plan.getBinder().accessor("command"));
+        assertNull(plan.getBinder().accessor("setterCalls"));
+
+        Object instance = read(options, "-p", "8080", "--host", "localhost", "-v", "start");
+        assertEquals(8080, options.getMethod("getPort").invoke(instance));
+        assertEquals(1, field(instance, "setterCalls"));
+        assertEquals("localhost", field(instance, "host"));
+        assertEquals(true, field(instance, "verbose"));
+        assertEquals("start", options.getMethod("getCommand").invoke(instance));
+    }
+
+    @Test
+    public void testInaccessibleClassIsSkipped() throws Exception {
+        compile();
+
+        assertTrue(Files.exists(directory.resolve("classes/sample/Options_GetOptBinder.class")));
+        assertFalse(Files.exists(directory.resolve("classes/sample/Options_Hidden_GetOptBinder.class")));
+    }
+
+    @Test
+    public void testConstructorBoundClassFallsBackToReflection() throws Exception {
+        Class<?> options = compile("ImmutableOptions", IMMUTABLE_OPTIONS).loadClass("sample.ImmutableOptions");
+
+        assertFalse(Files.exists(directory.resolve("classes/sample/ImmutableOptions_GetOptBinder.class")));
+        assertTrue(hasNote("sample.ImmutableOptions"));
+        assertNull(BindingPlan.of(options).getBinder());
+        assertEquals("localhost", field(read(options, "--host", "localhost"), "host"));
+    }
+
+    @Test
+    public void testRecordFallsBackToReflection() throws Exception {
+        // Records cannot be declared in sources which target Java 11, so one is compiled when the runtime supports them
+        if (Runtime.version().feature() < 16) {
+            return;
+        }
+
+        Class<?> options = compile("RecordOptions", RECORD_OPTIONS).loadClass("sample.RecordOptions");
+
+        assertFalse(Files.exists(directory.resolve("classes/sample/RecordOptions_GetOptBinder.class")));
+        assertTrue(hasNote("sample.RecordOptions"));
+        assertNull(BindingPlan.of(options).getBinder());
+        assertEquals("localhost", options.getMethod("host").invoke(read(options, "--host", "localhost")));
+    }
+
+    private boolean hasNote(String typeName) {
+        return diagnostics.getDiagnostics().stream().anyMatch(diagnostic ->
+                diagnostic.getKind() == Diagnostic.Kind.NOTE
+                        && diagnostic.getMessage(null).startsWith("No binder was generated for " + typeName + " "));
+    }
+
+    private static <T> T read(Class<T> type, String... args) throws ParseException {
+        return new GetOpt().read(type, args);
+    }
+
+    private static Object field(Object instance, String name) throws ReflectiveOperationException {
+        Field field = instance.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(instance);
+    }
+
+    private ClassLoader compile() throws IOException {
+        return compile("Options", OPTIONS);
+    }
+
+    private ClassLoader compile(String className, String code) throws IOException {
+        Path source = directory.resolve("src/sample/" + className + ".java");
+        Path classes = directory.resolve("classes");
+
+        Files.createDirectories(source.getParent());
+        Files.createDirectories(classes);
+        Files.write(source, code.getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        diagnostics = new DiagnosticCollector<>();
+        JavaCompiler.CompilationTask task = compiler.getTask(
+                null,
+                null,
+                diagnostics,
+                Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", classes.toString()),
+                null,
+                compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8).getJavaFileObjects(source.toFile())
+        );
+        task.setProcessors(Collections.singletonList(new BinderProcessor()));
+        assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+
+        return new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader());
+    }
+}
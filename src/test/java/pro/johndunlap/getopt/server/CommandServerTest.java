@@ -0,0 +1,272 @@
+package pro.johndunlap.getopt.server;
+
+/*-
+ * #%L
+ * getopt-databind
+ * %%
+ * Copyright (C) 2023 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Test;
+import pro.johndunlap.getopt.CommandRegistry;
+import pro.johndunlap.getopt.GetOpt;
+import pro.johndunlap.getopt.OptionSource;
+import pro.johndunlap.getopt.annotation.Arg;
+import pro.johndunlap.getopt.annotation.Help;
+
+/**
+ * Tests for {@link CommandServer} and {@link CommandClient}.
+ *
+ * @author John Dunlap
+ */
+public class CommandServerTest {
+    private CommandServer server;
+
+    /**
+     * Stops the server which the test started.
+     *
+     * @throws IOException If the server cannot be stopped
+     */
+    @After
+    public void tearDown() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testRunsCommand() throws IOException {
+        server = CommandServer.builder(new GetOpt(), request -> {
+            Greeting greeting = request.run(Greeting.class);
+            request.getOut().println("Hello, " + greeting.name + " from " + request.getWorkingDirectory());
+            request.getErr().println(request.getEnvironment().get("LANG"));
+            request.exit(greeting.status);
+        }).start();
+
+        Output output = execute(client(), Collections.singletonMap("LANG", "C"), "--name", "world", "--status", "3");
+
+        assertEquals(3, output.status);
+        assertEquals("Hello, world from /tmp" + System.lineSeparator(), output.out);
+        assertEquals("C" + System.lineSeparator(), output.err);
+    }
+
+    @Test
+    public void testExitEndsRequestRatherThanServer() throws IOException {
+        server = CommandServer.builder(new GetOpt(), request -> request.run(Greeting.class)).start();
+        CommandClient client = client();
+
+        Output help = execute(client, Collections.emptyMap(), "--help");
+        assertEquals(0, help.status);
+        assertTrue(help.out.contains("Greets"));
+
+        Output error = execute(client, Collections.emptyMap(), "--status", "many");
+        assertEquals(2, error.status);
+        assertTrue(error.err.contains("many"));
+
+        assertEquals(0, execute(client, Collections.emptyMap(), "--name", "again").status);
+    }
+
+    @Test
+    public void testDispatchesThroughRegistry() throws IOException {
+        GetOpt getOpt = new GetOpt();
+        CommandRegistry registry = CommandRegistry.builder(getOpt)
+                .command("greet", Greeting.class)
+                .build();
+        server = CommandServer.builder(getOpt, request -> {
+            Greeting greeting = (Greeting) request.run(registry).getOptions();
+            request.getOut().print(greeting.name);
+        }).start();
+        CommandClient client = client();
+
+        Output output = execute(client, Collections.emptyMap(), "greet", "--name", "registry");
+        assertEquals(0, output.status);
+        assertEquals("registry", output.out);
+
+        Output unknown = execute(client, Collections.emptyMap(), "wave");
+        assertEquals(1, unknown.status);
+        assertTrue(unknown.err.startsWith("Unknown command wave"));
+    }
+
+    @Test
+    public void testFailingHandlerReportsException() throws IOException {
+        server = CommandServer.builder(new GetOpt(), request -> {
+            throw new IllegalStateException("Broken");
+        }).start();
+
+        Output output = execute(client(), Collections.emptyMap());
+
+        assertEquals(1, output.status);
+        assertTrue(output.err.contains("IllegalStateException: Broken"));
+    }
+
+    @Test
+    public void testTokenIsRequired() throws IOException {
+        server = CommandServer.builder(new GetOpt(), request -> request.getOut().print("ran"))
+                .token("secret")
+                .start();
+
+        Output rejected = execute(new CommandClient(server.getPort(), "guess"), Collections.emptyMap());
+        assertEquals(1, rejected.status);
+        assertEquals("", rejected.out);
+
+        Output accepted = execute(new CommandClient(server.getPort(), "secret"), Collections.emptyMap());
+        assertEquals(0, accepted.status);
+        assertEquals("ran", accepted.out);
+    }
+
+    @Test
+    public void testTokenIsGeneratedByDefault() throws IOException {
+        server = CommandServer.builder(new GetOpt(), request -> request.getOut().print("ran")).start();
+
+        assertTrue(server.getToken().length() >= 32);
+        assertEquals(1, execute(new CommandClient(server.getPort(), null), Collections.emptyMap()).status);
+        assertEquals("ran", execute(client(), Collections.emptyMap()).out);
+    }
+
+    @Test
+    public void testTokenCanBeDisabled() throws IOException {
+        server = CommandServer.builder(new GetOpt(), request -> request.getOut().print("ran"))
+                .withoutToken()
+                .start();
+
+        assertEquals("", server.getToken());
+        assertEquals("ran", execute(new CommandClient(server.getPort(), null), Collections.emptyMap()).out);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyTokenIsRejected() {
+        CommandServer.builder(new GetOpt(), request -> { }).token("");
+    }
+
+    @Test
+    public void testSilentClientIsDisconnected() throws IOException {
+        server = CommandServer.builder(new GetOpt(), request -> request.getOut().print("ran"))
+                .readTimeout(Duration.ofMillis(100))
+                .start();
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.setSoTimeout(5000);
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertEquals(Protocol.STDERR, in.readByte());
+            assertTrue(Protocol.readString(in).startsWith("Invalid request"));
+            assertEquals(Protocol.EXIT, in.readByte());
+            assertEquals(1, in.readInt());
+        }
+    }
+
+    @Test
+    public void testEnvironmentSourcesReadClientEnvironment() throws IOException {
+        OptionSource environment = OptionSource.environment("APP_", Map.of("APP_NAME", "server"));
+        GetOpt getOpt = GetOpt.builder().optionSources(Collections.singletonList(environment)).build();
+        server = CommandServer.builder(getOpt, request -> request.getOut().print(request.run(Greeting.class).name))
+                .start();
+
+        assertEquals("client", execute(client(), Map.of("APP_NAME", "client")).out);
+        assertEquals("argument", execute(client(), Map.of("APP_NAME", "client"), "--name", "argument").out);
+        assertEquals("null", execute(client(), Collections.emptyMap()).out);
+    }
+
+    @Test
+    public void testArgumentFilesAreReadFromClientDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("client");
+
+        try {
+            Files.write(directory.resolve("args"), "--name file".getBytes(StandardCharsets.UTF_8));
+
+            GetOpt getOpt = GetOpt.builder().argumentFiles(true).build();
+            server = CommandServer.builder(getOpt, request -> request.getOut().print(request.run(Greeting.class).name))
+                    .start();
+
+            assertEquals("file", execute(client(), directory.toString(), Collections.emptyMap(), "@args").out);
+        } finally {
+            Files.deleteIfExists(directory.resolve("args"));
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testRelativeWorkingDirectoryIsRejected() throws IOException {
+        server = CommandServer.builder(GetOpt.builder().build(), request -> request.getOut().print("ran")).start();
+
+        Output output = execute(client(), "relative", Collections.emptyMap());
+        assertEquals(1, output.status);
+        assertEquals("", output.out);
+        assertTrue(output.err.contains("Working directory relative is not absolute"));
+    }
+
+    private CommandClient client() {
+        return new CommandClient(server.getPort(), server.getToken());
+    }
+
+    private static Output execute(CommandClient client, Map<String, String> environment, String... args)
+            throws IOException {
+        return execute(client, System.getProperty("java.io.tmpdir"), environment, args);
+    }
+
+    private static Output execute(CommandClient client, String workingDirectory, Map<String, String> environment,
+            String... args) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int status = client.execute(args, environment, workingDirectory, out, err);
+        return new Output(status, out.toString(StandardCharsets.UTF_8), err.toString(StandardCharsets.UTF_8));
+    }
+
+    private static final class Output {
+        private final int status;
+        private final String out;
+        private final String err;
+
+        Output(int status, String out, String err) {
+            this.status = status;
+            this.out = out;
+            this.err = err;
+        }
+    }
+
+    /**
+     * The options of the command which the tests run.
+     */
+    @Help(openingText = "Greets someone")
+    public static class Greeting {
+        @Arg
+        private String name;
+
+        @Arg(exitStatus = 2)
+        private int status;
+    }
+}